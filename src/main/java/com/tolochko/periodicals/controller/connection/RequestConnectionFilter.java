@@ -0,0 +1,40 @@
+package com.tolochko.periodicals.controller.connection;
+
+import com.tolochko.periodicals.model.TransactionHelper;
+import com.tolochko.periodicals.model.connection.RequestConnectionStatistics;
+import com.tolochko.periodicals.model.connection.TransactionStatistics;
+import org.apache.log4j.Logger;
+
+import javax.servlet.*;
+import java.io.IOException;
+
+/**
+ * Pins one db connection to the current request, so all dao calls and transactions of the request
+ * share it instead of borrowing a new connection from the pool each time.
+ */
+public class RequestConnectionFilter implements Filter {
+    private static final Logger logger = Logger.getLogger(RequestConnectionFilter.class);
+
+    @Override
+    public void init(FilterConfig filterConfig) throws ServletException {
+        // nothing to init
+    }
+
+    @Override
+    public void doFilter(ServletRequest request, ServletResponse response, FilterChain chain)
+            throws IOException, ServletException {
+        TransactionHelper.bindRequestConnection();
+
+        try {
+            chain.doFilter(request, response);
+        } finally {
+            TransactionHelper.releaseRequestConnection();
+        }
+    }
+
+    @Override
+    public void destroy() {
+        logger.info(RequestConnectionStatistics.getInstance());
+        logger.info(TransactionStatistics.getInstance());
+    }
+}
@@ -0,0 +1,27 @@
+package com.tolochko.periodicals.controller.listener;
+
+import com.tolochko.periodicals.model.dao.pool.ConnectionPoolProvider;
+import org.apache.log4j.Logger;
+
+import javax.servlet.ServletContextEvent;
+import javax.servlet.ServletContextListener;
+
+/**
+ * Closes the connection pool with its background threads when the application is undeployed.
+ * Declared before the other listeners, so it is destroyed after them and they can still
+ * use the pool while stopping.
+ */
+public class ConnectionPoolShutdownListener implements ServletContextListener {
+    private static final Logger logger = Logger.getLogger(ConnectionPoolShutdownListener.class);
+
+    @Override
+    public void contextInitialized(ServletContextEvent event) {
+        // the pool is created on the first use
+    }
+
+    @Override
+    public void contextDestroyed(ServletContextEvent event) {
+        ConnectionPoolProvider.getInstance().getPool().close();
+        logger.info("Connection pool closed");
+    }
+}
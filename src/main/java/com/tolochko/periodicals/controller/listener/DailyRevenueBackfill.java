@@ -0,0 +1,46 @@
+package com.tolochko.periodicals.controller.listener;
+
+import com.tolochko.periodicals.model.service.InvoiceService;
+import com.tolochko.periodicals.model.service.impl.ServiceFactoryImpl;
+import org.apache.log4j.Logger;
+
+import javax.servlet.ServletContextEvent;
+import javax.servlet.ServletContextListener;
+
+/**
+ * Rebuilds the daily revenue rollup from all invoices once on startup in a background thread,
+ * if the context parameter {@code dailyRevenueBackfillOnStartup} is {@code true}. Is needed
+ * after invoices were written bypassing {@link InvoiceService}, e.g. by a data import.
+ */
+public class DailyRevenueBackfill implements ServletContextListener {
+    private static final Logger logger = Logger.getLogger(DailyRevenueBackfill.class);
+    private static final String ENABLED_PARAMETER = "dailyRevenueBackfillOnStartup";
+
+    private InvoiceService invoiceService = ServiceFactoryImpl.getServiceFactoryInstance().getInvoiceService();
+
+    @Override
+    public void contextInitialized(ServletContextEvent event) {
+        String enabled = event.getServletContext().getInitParameter(ENABLED_PARAMETER);
+
+        if (!Boolean.parseBoolean(enabled)) {
+            return;
+        }
+
+        Thread thread = new Thread(this::backfill, "daily-revenue-backfill");
+        thread.setDaemon(true);
+        thread.start();
+    }
+
+    private void backfill() {
+        try {
+            invoiceService.rebuildDailyRevenue();
+        } catch (RuntimeException e) {
+            logger.error("Exception during backfilling daily revenue", e);
+        }
+    }
+
+    @Override
+    public void contextDestroyed(ServletContextEvent event) {
+        // the backfill thread is a daemon
+    }
+}
@@ -0,0 +1,39 @@
+package com.tolochko.periodicals.controller.listener;
+
+import com.tolochko.periodicals.model.dao.migration.MigrationRunner;
+import com.tolochko.periodicals.model.dao.pool.ConnectionPoolProvider;
+import org.apache.log4j.Logger;
+
+import javax.servlet.ServletContextEvent;
+import javax.servlet.ServletContextListener;
+
+/**
+ * Applies the pending schema migrations on startup before the other listeners run,
+ * unless the context parameter {@code schemaMigrationOnStartup} is {@code false}.
+ * A failed migration fails the deployment.
+ */
+public class SchemaMigrationListener implements ServletContextListener {
+    private static final Logger logger = Logger.getLogger(SchemaMigrationListener.class);
+    private static final String ENABLED_PARAMETER = "schemaMigrationOnStartup";
+
+    @Override
+    public void contextInitialized(ServletContextEvent event) {
+        String enabled = event.getServletContext().getInitParameter(ENABLED_PARAMETER);
+
+        if (enabled != null && !Boolean.parseBoolean(enabled.trim())) {
+            logger.info("Schema migration on startup is disabled");
+            return;
+        }
+
+        MigrationRunner runner = new MigrationRunner(ConnectionPoolProvider.getInstance().getPool(),
+                MigrationRunner.loadMigrations());
+        int applied = runner.migrate();
+
+        logger.info(String.format("Applied %d schema migrations", applied));
+    }
+
+    @Override
+    public void contextDestroyed(ServletContextEvent event) {
+        // nothing to release
+    }
+}
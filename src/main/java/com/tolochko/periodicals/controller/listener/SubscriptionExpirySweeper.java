@@ -0,0 +1,90 @@
+package com.tolochko.periodicals.controller.listener;
+
+import com.tolochko.periodicals.model.service.SubscriptionService;
+import com.tolochko.periodicals.model.service.impl.ServiceFactoryImpl;
+import org.apache.log4j.Logger;
+
+import javax.servlet.ServletContextEvent;
+import javax.servlet.ServletContextListener;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Deactivates expired subscriptions in a background thread every
+ * {@code subscriptionExpirySweepIntervalSeconds} (a context parameter, 60 by default),
+ * so read requests never have to write expired statuses.
+ */
+public class SubscriptionExpirySweeper implements ServletContextListener {
+    private static final Logger logger = Logger.getLogger(SubscriptionExpirySweeper.class);
+    private static final String INTERVAL_PARAMETER = "subscriptionExpirySweepIntervalSeconds";
+    private static final long DEFAULT_INTERVAL_SECONDS = 60;
+    private static final long SHUTDOWN_TIMEOUT_SECONDS = 10;
+
+    private SubscriptionService subscriptionService =
+            ServiceFactoryImpl.getServiceFactoryInstance().getSubscriptionService();
+    private ScheduledExecutorService scheduler;
+
+    @Override
+    public void contextInitialized(ServletContextEvent event) {
+        long interval = getInterval(event.getServletContext().getInitParameter(INTERVAL_PARAMETER));
+
+        scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "subscription-expiry-sweeper");
+            thread.setDaemon(true);
+            return thread;
+        });
+        scheduler.scheduleWithFixedDelay(this::sweep, 0, interval, TimeUnit.SECONDS);
+
+        logger.info(String.format("Sweeping expired subscriptions every %d s", interval));
+    }
+
+    /**
+     * Deactivates expired subscriptions. Exceptions are logged, so the next run still happens.
+     */
+    private void sweep() {
+        try {
+            int deactivated = subscriptionService.deactivateExpired();
+
+            if (deactivated > 0) {
+                logger.info(String.format("Deactivated %d expired subscriptions", deactivated));
+            }
+        } catch (RuntimeException e) {
+            logger.error("Exception during deactivating expired subscriptions", e);
+        }
+    }
+
+    private long getInterval(String value) {
+        if (value == null) {
+            return DEFAULT_INTERVAL_SECONDS;
+        }
+
+        try {
+            long interval = Long.parseLong(value.trim());
+
+            if (interval > 0) {
+                return interval;
+            }
+        } catch (NumberFormatException e) {
+            // falls through to the default
+        }
+
+        logger.warn(String.format("Invalid %s '%s', using %d s", INTERVAL_PARAMETER, value,
+                DEFAULT_INTERVAL_SECONDS));
+        return DEFAULT_INTERVAL_SECONDS;
+    }
+
+    @Override
+    public void contextDestroyed(ServletContextEvent event) {
+        scheduler.shutdown();
+
+        try {
+            if (!scheduler.awaitTermination(SHUTDOWN_TIMEOUT_SECONDS, TimeUnit.SECONDS)) {
+                scheduler.shutdownNow();
+            }
+        } catch (InterruptedException e) {
+            scheduler.shutdownNow();
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,122 @@
+package com.tolochko.periodicals.controller.request;
+
+import com.tolochko.periodicals.controller.util.HttpUtil;
+import com.tolochko.periodicals.model.cache.ExpiringCache;
+import org.apache.log4j.Logger;
+
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+import static java.util.Objects.isNull;
+
+/**
+ * Makes a POST request processor idempotent. A request carrying an idempotency key, as the
+ * {@value #KEY_PARAMETER} form parameter (see the {@code idempotency-key} tag) or
+ * the {@value #KEY_HEADER} header, is processed once per user and key during
+ * {@value #TTL_MINUTES} minutes. A repeated request, e.g. a double submit or a browser retry,
+ * gets the view name and the messages of the first one without being processed again.
+ * If the first one is still processed, the repeated one waits for it up to
+ * {@value #REPLAY_TIMEOUT_SECONDS} seconds and fails after that. Requests without a key are
+ * always processed.
+ */
+public class IdempotentRequestProcessor implements RequestProcessor {
+    public static final String KEY_PARAMETER = "idempotencyKey";
+    public static final String KEY_HEADER = "Idempotency-Key";
+    private static final Logger logger = Logger.getLogger(IdempotentRequestProcessor.class);
+    private static final String MESSAGES_ATTRIBUTE = "messages";
+    private static final int MAX_KEY_LENGTH = 64;
+    private static final int MAX_SIZE = 10_000;
+    private static final long TTL_MINUTES = 10;
+    private static final long REPLAY_TIMEOUT_SECONDS = 30;
+
+    private final RequestProcessor processor;
+    // an outcome still in progress is never evicted, or a repeated request would be processed again
+    private final ExpiringCache<String, CompletableFuture<Outcome>> outcomes =
+            new ExpiringCache<>(MAX_SIZE, TTL_MINUTES, TimeUnit.MINUTES, CompletableFuture::isDone);
+
+    public IdempotentRequestProcessor(RequestProcessor processor) {
+        this.processor = processor;
+    }
+
+    @Override
+    public String process(HttpServletRequest request, HttpServletResponse response) {
+        String key = getKey(request);
+
+        if (isNull(key)) {
+            return processor.process(request, response);
+        }
+
+        CompletableFuture<Outcome> outcome = new CompletableFuture<>();
+        CompletableFuture<Outcome> existingOutcome = outcomes.putIfAbsent(key, outcome);
+
+        if (existingOutcome != null) {
+            logger.debug("Replaying the outcome of a request with the idempotency key " + key);
+            return awaitOutcome(existingOutcome, key).replay(request);
+        }
+
+        try {
+            String viewName = processor.process(request, response);
+            outcome.complete(new Outcome(viewName, request.getSession().getAttribute(MESSAGES_ATTRIBUTE)));
+
+            return viewName;
+        } catch (RuntimeException e) {
+            // a failed request may be retried with the same key
+            outcomes.invalidate(key);
+            outcome.completeExceptionally(e);
+            throw e;
+        }
+    }
+
+    private Outcome awaitOutcome(CompletableFuture<Outcome> outcome, String key) {
+        try {
+            return outcome.get(REPLAY_TIMEOUT_SECONDS, TimeUnit.SECONDS);
+        } catch (TimeoutException e) {
+            throw new DispatchException("The request with the idempotency key " + key + " is still processed", e);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new DispatchException(e);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException) {
+                throw (RuntimeException) e.getCause();
+            }
+
+            throw new DispatchException(e.getCause());
+        }
+    }
+
+    /**
+     * @return the key of the current user or {@code null} if the request has no valid key
+     */
+    private String getKey(HttpServletRequest request) {
+        String key = request.getParameter(KEY_PARAMETER);
+
+        if (isNull(key)) {
+            key = request.getHeader(KEY_HEADER);
+        }
+
+        if (isNull(key) || key.isEmpty() || key.length() > MAX_KEY_LENGTH) {
+            return null;
+        }
+
+        return HttpUtil.getUserIdFromSession(request) + ":" + key;
+    }
+
+    private static final class Outcome {
+        private final String viewName;
+        private final Object messages;
+
+        private Outcome(String viewName, Object messages) {
+            this.viewName = viewName;
+            this.messages = messages;
+        }
+
+        private String replay(HttpServletRequest request) {
+            request.getSession().setAttribute(MESSAGES_ATTRIBUTE, messages);
+            return viewName;
+        }
+    }
+}
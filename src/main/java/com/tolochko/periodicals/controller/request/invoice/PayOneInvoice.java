@@ -4,6 +4,7 @@ import com.tolochko.periodicals.controller.message.FrontMessage;
 import com.tolochko.periodicals.controller.message.FrontMessageFactory;
 import com.tolochko.periodicals.controller.request.RequestProcessor;
 import com.tolochko.periodicals.controller.util.HttpUtil;
+import com.tolochko.periodicals.controller.util.PathVariables;
 import com.tolochko.periodicals.model.domain.invoice.Invoice;
 import com.tolochko.periodicals.model.domain.periodical.Periodical;
 import com.tolochko.periodicals.model.service.InvoiceService;
@@ -35,7 +36,7 @@ public class PayOneInvoice implements RequestProcessor {
     @Override
     public String process(HttpServletRequest request, HttpServletResponse response) {
         List<FrontMessage> generalMessages = new ArrayList<>();
-        Invoice invoiceInDb = invoiceService.findOneById((long) getInvoiceIdFromRequest(request));
+        Invoice invoiceInDb = invoiceService.findOneById(PathVariables.of(request).getLong("invoiceId"));
 
         if (isInvoiceValid(invoiceInDb, generalMessages)) {
             tryToPayInvoice(invoiceInDb, generalMessages);
@@ -46,12 +47,6 @@ public class PayOneInvoice implements RequestProcessor {
         return "/app/users/currentUser";
     }
 
-    private int getInvoiceIdFromRequest(HttpServletRequest request) {
-
-        return HttpUtil.getFirstIdFromUri(request.getRequestURI()
-                .replaceFirst("/app/users/\\d+/", ""));
-    }
-
     private boolean isInvoiceValid(Invoice invoiceInDb, List<FrontMessage> generalMessages) {
         return invoiceExistsInDb(invoiceInDb, generalMessages)
                 && isInvoiceNew(invoiceInDb, generalMessages)
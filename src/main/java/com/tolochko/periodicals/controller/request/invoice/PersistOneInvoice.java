@@ -4,6 +4,7 @@ import com.tolochko.periodicals.controller.message.FrontMessage;
 import com.tolochko.periodicals.controller.message.FrontMessageFactory;
 import com.tolochko.periodicals.controller.request.RequestProcessor;
 import com.tolochko.periodicals.controller.util.HttpUtil;
+import com.tolochko.periodicals.controller.util.PathVariables;
 import com.tolochko.periodicals.model.domain.invoice.Invoice;
 import com.tolochko.periodicals.model.domain.periodical.Periodical;
 import com.tolochko.periodicals.model.domain.user.User;
@@ -112,7 +113,7 @@ public class PersistOneInvoice implements RequestProcessor {
         int subscriptionPeriod = Integer.parseInt(request.getParameter("subscriptionPeriod"));
 
         long totalSum = subscriptionPeriod * periodicalInDb.getOneMonthCost();
-        long userIdFromUri = HttpUtil.getFirstIdFromUri(request.getRequestURI());
+        long userIdFromUri = PathVariables.of(request).getLong("userId");
         User.Builder userBuilder = new User.Builder();
         userBuilder.setId(userIdFromUri);
         User user = userBuilder.build();
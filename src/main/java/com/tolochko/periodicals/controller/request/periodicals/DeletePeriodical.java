@@ -4,6 +4,7 @@ import com.tolochko.periodicals.controller.message.FrontMessage;
 import com.tolochko.periodicals.controller.message.FrontMessageFactory;
 import com.tolochko.periodicals.controller.request.RequestProcessor;
 import com.tolochko.periodicals.controller.util.HttpUtil;
+import com.tolochko.periodicals.controller.util.PathVariables;
 import com.tolochko.periodicals.model.service.PeriodicalService;
 import com.tolochko.periodicals.model.service.ServiceFactory;
 import com.tolochko.periodicals.model.service.impl.ServiceFactoryImpl;
@@ -22,7 +23,7 @@ public class DeletePeriodical implements RequestProcessor {
     public String process(HttpServletRequest request, HttpServletResponse response) {
         List<FrontMessage> generalMessages = new ArrayList<>();
 
-        periodicalService.deleteOnePeriodical(HttpUtil.getFirstIdFromUri(request.getRequestURI()));
+        periodicalService.deleteOnePeriodical(PathVariables.of(request).getLong("periodicalId"));
 
         generalMessages.add(messageFactory.getSuccess("periodicalDeleted.successful"));
         HttpUtil.addGeneralMessagesToSession(request, generalMessages);
@@ -2,6 +2,10 @@ package com.tolochko.periodicals.controller.request.periodicals;
 
 
 import com.tolochko.periodicals.controller.request.RequestProcessor;
+import com.tolochko.periodicals.controller.util.HttpUtil;
+import com.tolochko.periodicals.model.domain.Page;
+import com.tolochko.periodicals.model.domain.periodical.Periodical;
+import com.tolochko.periodicals.model.domain.user.User;
 import com.tolochko.periodicals.model.service.PeriodicalService;
 import com.tolochko.periodicals.model.service.ServiceFactory;
 import com.tolochko.periodicals.model.service.impl.ServiceFactoryImpl;
@@ -12,7 +16,8 @@ import javax.servlet.http.HttpServletResponse;
 /**
  * Processes a GET request to a page displaying a list of periodicals.<br/>
  * A user with role = 'subscriber' will see only those that have status = 'active'. <br/>
- * A user with role = 'admin' will see all periodicals in the system.
+ * A user with role = 'admin' will see all periodicals in the system.<br/>
+ * The list is paginated by the 'after' and 'before' cursors (ids of periodicals).
  */
 public class DisplayAllPeriodicals implements RequestProcessor {
     private ServiceFactory serviceFactory = ServiceFactoryImpl.getServiceFactoryInstance();
@@ -20,7 +25,18 @@ public class DisplayAllPeriodicals implements RequestProcessor {
 
     @Override
     public String process(HttpServletRequest request, HttpServletResponse response) {
-        request.setAttribute("allPeriodicals", periodicalService.findAll());
+        User currentUser = (User) request.getSession().getAttribute("currentUser");
+        Periodical.Status status = currentUser.hasRole(User.Role.ADMIN) ? null : Periodical.Status.ACTIVE;
+
+        int size = (int) HttpUtil.getLongParameter(request, "size", Page.DEFAULT_SIZE);
+        long beforeId = HttpUtil.getLongParameter(request, "before", 0);
+
+        Page<Periodical> page = (beforeId > 0)
+                ? periodicalService.findPageBefore(beforeId, size, status)
+                : periodicalService.findPageAfter(HttpUtil.getLongParameter(request, "after", 0), size, status);
+
+        request.setAttribute("allPeriodicals", page.getItems());
+        request.setAttribute("page", page);
 
         return "periodicals/periodicalList";
     }
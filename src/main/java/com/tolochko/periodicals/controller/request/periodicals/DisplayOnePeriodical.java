@@ -4,6 +4,7 @@ package com.tolochko.periodicals.controller.request.periodicals;
 import com.tolochko.periodicals.controller.request.RequestProcessor;
 import com.tolochko.periodicals.controller.security.AccessDeniedException;
 import com.tolochko.periodicals.controller.util.HttpUtil;
+import com.tolochko.periodicals.controller.util.PathVariables;
 import com.tolochko.periodicals.model.domain.periodical.Periodical;
 import com.tolochko.periodicals.model.domain.user.User;
 import com.tolochko.periodicals.model.service.PeriodicalService;
@@ -29,7 +30,7 @@ public class DisplayOnePeriodical implements RequestProcessor {
     @Override
     public String process(HttpServletRequest request, HttpServletResponse response) {
         User currentUser = HttpUtil.getCurrentUserFromFromDb(request);
-        long periodicalId = HttpUtil.getFirstIdFromUri(request.getRequestURI());
+        long periodicalId = PathVariables.of(request).getLong("periodicalId");
         Periodical periodicalInDb = periodicalService.findOneById(periodicalId);
 
         checkPeriodicalExists(periodicalId, periodicalInDb);
@@ -1,7 +1,7 @@
 package com.tolochko.periodicals.controller.request.periodicals;
 
 import com.tolochko.periodicals.controller.request.RequestProcessor;
-import com.tolochko.periodicals.controller.util.HttpUtil;
+import com.tolochko.periodicals.controller.util.PathVariables;
 import com.tolochko.periodicals.model.domain.periodical.Periodical;
 import com.tolochko.periodicals.model.domain.periodical.PeriodicalCategory;
 import com.tolochko.periodicals.model.service.PeriodicalService;
@@ -25,7 +25,7 @@ public class DisplayUpdatePeriodicalPage implements RequestProcessor {
 
     @Override
     public String process(HttpServletRequest request, HttpServletResponse response) {
-        long periodicalId = HttpUtil.getFirstIdFromUri(request.getRequestURI());
+        long periodicalId = PathVariables.of(request).getLong("periodicalId");
         Periodical periodical = periodicalService.findOneById(periodicalId);
 
         if (isNull(periodical)) {
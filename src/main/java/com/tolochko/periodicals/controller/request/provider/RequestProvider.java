@@ -2,6 +2,7 @@ package com.tolochko.periodicals.controller.request.provider;
 
 import com.tolochko.periodicals.controller.FrontController;
 import com.tolochko.periodicals.controller.request.RequestProcessor;
+import com.tolochko.periodicals.controller.util.PathVariables;
 
 import javax.servlet.http.HttpServletRequest;
 
@@ -11,4 +12,12 @@ import javax.servlet.http.HttpServletRequest;
 public interface RequestProvider {
 
     RequestProcessor getRequestProcessor(HttpServletRequest request);
+
+    /**
+     * Returns the variables captured from the uri by the mapping of the request and binds them
+     * to the request, see {@link PathVariables#of(HttpServletRequest)}.
+     *
+     * @return the variables or {@link PathVariables#EMPTY} if there is no mapping for the request
+     */
+    PathVariables getPathVariables(HttpServletRequest request);
 }
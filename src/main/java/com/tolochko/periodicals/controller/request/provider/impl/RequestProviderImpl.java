@@ -2,6 +2,7 @@ package com.tolochko.periodicals.controller.request.provider.impl;
 
 
 import com.tolochko.periodicals.controller.DisplayBackendHomePage;
+import com.tolochko.periodicals.controller.request.IdempotentRequestProcessor;
 import com.tolochko.periodicals.controller.request.RequestProcessor;
 import com.tolochko.periodicals.controller.request.admin.panel.DisplayAdminPanel;
 import com.tolochko.periodicals.controller.request.invoice.PayOneInvoice;
@@ -12,54 +13,54 @@ import com.tolochko.periodicals.controller.request.sign.DisplaySignUpPage;
 import com.tolochko.periodicals.controller.request.sign.SignIn;
 import com.tolochko.periodicals.controller.request.sign.SignOut;
 import com.tolochko.periodicals.controller.request.user.*;
-import com.tolochko.periodicals.controller.util.HttpUtil;
+import com.tolochko.periodicals.controller.util.PathVariables;
+import com.tolochko.periodicals.controller.util.Router;
 import com.tolochko.periodicals.controller.validation.AjaxFormValidation;
 import org.apache.log4j.Logger;
 
 import javax.servlet.http.HttpServletRequest;
 import java.io.Serializable;
-import java.util.HashMap;
-import java.util.Map;
 import java.util.NoSuchElementException;
-import java.util.Optional;
 
 /**
- * Provides mapping request uri to classes which work with user data
+ * Provides mapping request uri to classes which work with user data. The mappings are compiled
+ * into a {@link Router} once, see it for the mapping syntax.
  */
 public final class RequestProviderImpl implements RequestProvider, Serializable {
     private static final long serialVersionUID = 121213111888L;
     private static final Logger logger = Logger.getLogger(RequestProviderImpl.class);
-    private transient Map<String, RequestProcessor> requestMapping = new HashMap<>();
+    private static final String MATCH_ATTRIBUTE = "requestMapping";
+    private transient Router<RequestProcessor> requestMapping = new Router<>();
     private static final RequestProviderImpl instance = new RequestProviderImpl();
 
     private RequestProviderImpl() {
-        requestMapping.put("GET:/app/?", new DisplayBackendHomePage());
-        requestMapping.put("POST:/app/signIn/?", new SignIn());
-        requestMapping.put("GET:/app/signOut/?", new SignOut());
-        requestMapping.put("GET:/app/signUp/?", new DisplaySignUpPage());
+        requestMapping.add("GET:/app/?", new DisplayBackendHomePage());
+        requestMapping.add("POST:/app/signIn/?", new SignIn());
+        requestMapping.add("GET:/app/signOut/?", new SignOut());
+        requestMapping.add("GET:/app/signUp/?", new DisplaySignUpPage());
 
-        requestMapping.put("POST:/app/signUp/?", new CreateUser());
-        requestMapping.put("GET:/app/users/currentUser/?", new DisplayCurrentUser());
-        requestMapping.put("GET:/app/users/?", new DisplayAllUsers());
-        requestMapping.put("GET:/app/users/\\d+/update/?", new DisplayUpdateUserPage());
-        requestMapping.put("POST:/app/users/?", new UpdateUser());
-        requestMapping.put("POST:/app/users/changeStatus/\\d+/?", new ChangeStatus());
+        requestMapping.add("POST:/app/signUp/?", new CreateUser());
+        requestMapping.add("GET:/app/users/currentUser/?", new DisplayCurrentUser());
+        requestMapping.add("GET:/app/users/?", new DisplayAllUsers());
+        requestMapping.add("GET:/app/users/{userId:long}/update/?", new DisplayUpdateUserPage());
+        requestMapping.add("POST:/app/users/?", new UpdateUser());
+        requestMapping.add("POST:/app/users/changeStatus/{targetUserId:long}/?", new ChangeStatus());
 
-        requestMapping.put("POST:/app/periodicals/\\d+/delete/?", new DeletePeriodical());
+        requestMapping.add("POST:/app/periodicals/{periodicalId:long}/delete/?", new DeletePeriodical());
 
-        requestMapping.put("GET:/app/adminPanel/?", new DisplayAdminPanel());
+        requestMapping.add("GET:/app/adminPanel/?", new DisplayAdminPanel());
 
-        requestMapping.put("GET:/app/periodicals/?", new DisplayAllPeriodicals());
-        requestMapping.put("GET:/app/periodicals/\\d+", new DisplayOnePeriodical());
-        requestMapping.put("GET:/app/periodicals/createNew/?", new DisplayNewPeriodicalPage());
-        requestMapping.put("GET:/app/periodicals/\\d+/update/?", new DisplayUpdatePeriodicalPage());
-        requestMapping.put("POST:/app/periodicals/?", new PersistOnePeriodical());
-        requestMapping.put("POST:/app/periodicals/discarded/?", new DeleteDiscardedPeriodicals());
+        requestMapping.add("GET:/app/periodicals/?", new DisplayAllPeriodicals());
+        requestMapping.add("GET:/app/periodicals/{periodicalId:long}", new DisplayOnePeriodical());
+        requestMapping.add("GET:/app/periodicals/createNew/?", new DisplayNewPeriodicalPage());
+        requestMapping.add("GET:/app/periodicals/{periodicalId:long}/update/?", new DisplayUpdatePeriodicalPage());
+        requestMapping.add("POST:/app/periodicals/?", new PersistOnePeriodical());
+        requestMapping.add("POST:/app/periodicals/discarded/?", new DeleteDiscardedPeriodicals());
 
-        requestMapping.put("POST:/app/users/\\d+/invoices/?", new PersistOneInvoice());
-        requestMapping.put("POST:/app/users/\\d+/invoices/\\d+/pay/?", new PayOneInvoice());
+        requestMapping.add("POST:/app/users/{userId:long}/invoices/?", new IdempotentRequestProcessor(new PersistOneInvoice()));
+        requestMapping.add("POST:/app/users/{userId:long}/invoices/{invoiceId:long}/pay/?", new IdempotentRequestProcessor(new PayOneInvoice()));
 
-        requestMapping.put("POST:/app/validation", new AjaxFormValidation());
+        requestMapping.add("POST:/app/validation", new AjaxFormValidation());
     }
 
     public static RequestProviderImpl getInstance() {
@@ -75,21 +76,41 @@ public final class RequestProviderImpl implements RequestProvider, Serializable
      */
     @Override
     public RequestProcessor getRequestProcessor(HttpServletRequest request) {
-        Optional<Map.Entry<String, RequestProcessor>> currentMapping =
-                requestMapping.entrySet().stream()
-                        .filter(entry ->
-                                HttpUtil.filterRequestByHttpMethod(request, entry.getKey()))
-                        .filter(entry ->
-                                HttpUtil.filterRequestByUri(request, entry.getKey()))
-                        .findFirst();
+        Router.Match<RequestProcessor> match = match(request);
 
         // if mapping was found
-        if (currentMapping.isPresent()) {
-            return currentMapping.get().getValue();
+        if (match != null) {
+            return match.getHandler();
         }
 
         // if wrong request
         logger.error("There no mapping for such a request: " + request.getRequestURI());
         throw new NoSuchElementException("no mapping for " + request.getRequestURI());
     }
+
+    @Override
+    public PathVariables getPathVariables(HttpServletRequest request) {
+        Router.Match<RequestProcessor> match = match(request);
+
+        return (match == null) ? PathVariables.EMPTY : match.getVariables();
+    }
+
+    /**
+     * Finds the mapping of the request once and keeps it in a request attribute.
+     */
+    @SuppressWarnings("unchecked")
+    private Router.Match<RequestProcessor> match(HttpServletRequest request) {
+        Router.Match<RequestProcessor> match = (Router.Match<RequestProcessor>) request.getAttribute(MATCH_ATTRIBUTE);
+
+        if (match == null) {
+            match = requestMapping.find(request.getMethod().toUpperCase(), request.getRequestURI());
+
+            if (match != null) {
+                request.setAttribute(MATCH_ATTRIBUTE, match);
+                match.getVariables().bindTo(request);
+            }
+        }
+
+        return match;
+    }
 }
@@ -3,7 +3,9 @@ package com.tolochko.periodicals.controller.request.user;
 import com.tolochko.periodicals.controller.message.FrontMessage;
 import com.tolochko.periodicals.controller.message.FrontMessageFactory;
 import com.tolochko.periodicals.controller.request.RequestProcessor;
+import com.tolochko.periodicals.controller.security.PrincipalCache;
 import com.tolochko.periodicals.controller.util.HttpUtil;
+import com.tolochko.periodicals.controller.util.PathVariables;
 import com.tolochko.periodicals.model.domain.user.User;
 import com.tolochko.periodicals.model.service.ServiceFactory;
 import com.tolochko.periodicals.model.service.UserService;
@@ -25,7 +27,7 @@ public class ChangeStatus implements RequestProcessor {
     public String process(HttpServletRequest request, HttpServletResponse response) {
         List<FrontMessage> generalMessages = new ArrayList<>();
 
-        User user = userService.findOneById(HttpUtil.getFirstIdFromUri(request.getRequestURI()));
+        User user = userService.findOneById(PathVariables.of(request).getLong("targetUserId"));
 
         logger.debug(user);
 
@@ -48,6 +50,7 @@ public class ChangeStatus implements RequestProcessor {
             user.setStatus(User.Status.ACTIVE);
             userService.update(user);
         }
+        PrincipalCache.getInstance().invalidate(user.getId());
     }
 
 
@@ -1,6 +1,8 @@
 package com.tolochko.periodicals.controller.request.user;
 
 import com.tolochko.periodicals.controller.request.RequestProcessor;
+import com.tolochko.periodicals.controller.util.HttpUtil;
+import com.tolochko.periodicals.model.domain.Page;
 import com.tolochko.periodicals.model.domain.user.User;
 import com.tolochko.periodicals.model.service.ServiceFactory;
 import com.tolochko.periodicals.model.service.UserService;
@@ -9,10 +11,10 @@ import org.apache.log4j.Logger;
 
 import javax.servlet.http.HttpServletRequest;
 import javax.servlet.http.HttpServletResponse;
-import java.util.List;
 
 /**
  * Processes a GET request to a page with a list of all users in the system.
+ * The list is paginated by the 'after' and 'before' cursors (ids of users).
  */
 public class DisplayAllUsers implements RequestProcessor {
     private static final Logger logger = Logger.getLogger(DisplayAllUsers.class);
@@ -21,9 +23,16 @@ public class DisplayAllUsers implements RequestProcessor {
 
     @Override
     public String process(HttpServletRequest request, HttpServletResponse response) {
-        List<User> list = userService.findAll();
-        logger.debug("find: " + list.size() + " users");
-        request.setAttribute("allUsers", userService.findAll());
+        int size = (int) HttpUtil.getLongParameter(request, "size", Page.DEFAULT_SIZE);
+        long beforeId = HttpUtil.getLongParameter(request, "before", 0);
+
+        Page<User> page = (beforeId > 0)
+                ? userService.findPageBefore(beforeId, size, null)
+                : userService.findPageAfter(HttpUtil.getLongParameter(request, "after", 0), size, null);
+
+        logger.debug("find: " + page);
+        request.setAttribute("allUsers", page.getItems());
+        request.setAttribute("page", page);
         return "users/userList";
     }
 }
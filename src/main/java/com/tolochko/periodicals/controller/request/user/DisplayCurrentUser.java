@@ -5,7 +5,6 @@ import com.tolochko.periodicals.controller.util.HttpUtil;
 import com.tolochko.periodicals.model.domain.invoice.Invoice;
 import com.tolochko.periodicals.model.domain.subscription.Subscription;
 import com.tolochko.periodicals.model.service.InvoiceService;
-import com.tolochko.periodicals.model.service.PeriodicalService;
 import com.tolochko.periodicals.model.service.ServiceFactory;
 import com.tolochko.periodicals.model.service.SubscriptionService;
 import com.tolochko.periodicals.model.service.impl.ServiceFactoryImpl;
@@ -22,20 +21,14 @@ public class DisplayCurrentUser implements RequestProcessor {
     private ServiceFactory serviceFactory = ServiceFactoryImpl.getServiceFactoryInstance();
     private InvoiceService invoiceService = serviceFactory.getInvoiceService();
     private SubscriptionService subscriptionService = serviceFactory.getSubscriptionService();
-    private PeriodicalService periodicalService = serviceFactory.getPeriodicalService();
 
     @Override
     public String process(HttpServletRequest request, HttpServletResponse response) {
         Long currentUserId = HttpUtil.getUserIdFromSession(request);
-        List<Invoice> invoices = invoiceService.findAllByUserId(currentUserId);
+        List<Invoice> invoices = invoiceService.findAllByUserIdWithPeriodicals(currentUserId);
         List<Subscription> subscriptions = subscriptionService.findAllByUserId(currentUserId);
 
         if (areThereInvoicesToDisplay(invoices)) {
-            invoices.forEach(invoice -> {
-                long periodicalId = invoice.getPeriodical().getId();
-                invoice.setPeriodical(periodicalService.findOneById(periodicalId));
-            });
-
             sortInvoices(invoices);
             request.setAttribute("userInvoices", invoices);
         }
@@ -3,6 +3,7 @@ package com.tolochko.periodicals.controller.request.user;
 import com.tolochko.periodicals.controller.message.FrontMessage;
 import com.tolochko.periodicals.controller.message.FrontMessageFactory;
 import com.tolochko.periodicals.controller.request.RequestProcessor;
+import com.tolochko.periodicals.controller.security.PrincipalCache;
 import com.tolochko.periodicals.controller.util.HttpUtil;
 import com.tolochko.periodicals.model.domain.user.User;
 import com.tolochko.periodicals.model.service.ServiceFactory;
@@ -32,6 +33,7 @@ public class UpdateUser implements RequestProcessor {
         request.getSession().setAttribute("currentUser", userToSave);
 
         userService.update(userToSave);
+        PrincipalCache.getInstance().invalidate(userToSave.getId());
 
         generalMessages.add(messageFactory.getSuccess("userUpdated.success"));
 
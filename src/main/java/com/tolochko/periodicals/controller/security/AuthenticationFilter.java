@@ -14,6 +14,7 @@ import static java.util.Objects.isNull;
 
 /**
  * Makes sure that this request comes from a signed in user and the session has not expired.
+ * The status of the user is checked against {@link PrincipalCache}, not the db.
  */
 public class AuthenticationFilter implements Filter {
 
@@ -37,7 +38,7 @@ public class AuthenticationFilter implements Filter {
         }
 
         String requestUri = request.getRequestURI();
-        User currentUser = HttpUtil.getCurrentUserFromFromDb(request);
+        User currentUser = getCurrentUser(request);
 
         if (isNull(currentUser)) {
             request.getSession().setAttribute("originalUri", requestUri);
@@ -51,6 +52,12 @@ public class AuthenticationFilter implements Filter {
         }
     }
 
+    private User getCurrentUser(HttpServletRequest request) {
+        long userId = HttpUtil.getUserIdFromSession(request);
+
+        return (userId == 0) ? null : PrincipalCache.getInstance().getUser(userId);
+    }
+
     private boolean requestNotRequiresAuthentication(HttpServletRequest request) {
         return unProtectedUris.contains(request.getRequestURI());
     }
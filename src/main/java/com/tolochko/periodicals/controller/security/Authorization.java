@@ -1,38 +1,52 @@
 package com.tolochko.periodicals.controller.security;
 
+import com.tolochko.periodicals.controller.request.provider.impl.RequestProviderImpl;
 import com.tolochko.periodicals.controller.util.HttpUtil;
+import com.tolochko.periodicals.controller.util.PathVariables;
+import com.tolochko.periodicals.controller.util.Router;
 import com.tolochko.periodicals.model.domain.user.User;
 
 import javax.servlet.http.HttpServletRequest;
-import java.util.HashMap;
-import java.util.Map;
-import java.util.Optional;
-import java.util.regex.Matcher;
-import java.util.regex.Pattern;
 
+/**
+ * Checks the permissions of the current user. The restricted mappings are compiled into
+ * a {@link Router} once, each with a bitmask of the roles allowed to use it, so a check is one
+ * lookup and a bit test. The mappings missing here are allowed to every signed in user.
+ */
 public final class Authorization {
+    private static final String USER_ID_VARIABLE = "userId";
     private static Authorization authorization = new Authorization();
-    private static final Map<String, User.Role> permissionMapping = new HashMap<>();
-
-    static {
-        User.Role admin = User.Role.ADMIN;
-
-        permissionMapping.put("GET:/app/users/?", admin);
-        permissionMapping.put("GET:/app/periodicals/createNew/?", admin);
-        permissionMapping.put("GET:/app/periodicals/\\d+/update/?", admin);
-        permissionMapping.put("POST:/app/periodicals/?", admin);
-        permissionMapping.put("POST:/app/periodicals/discarded/?", admin);
-        permissionMapping.put("GET:/app/adminPanel/?", admin);
-        permissionMapping.put("POST:/app/users/changeStatus/\\d+/?", admin);
-    }
+    private final Router<Integer> permissionMapping = new Router<>();
 
     private Authorization() {
+        int admin = getRoleMask(User.Role.ADMIN);
+
+        permissionMapping.add("GET:/app/users/?", admin);
+        permissionMapping.add("GET:/app/periodicals/createNew/?", admin);
+        permissionMapping.add("GET:/app/periodicals/{periodicalId:long}/update/?", admin);
+        permissionMapping.add("POST:/app/periodicals/?", admin);
+        permissionMapping.add("POST:/app/periodicals/discarded/?", admin);
+        permissionMapping.add("GET:/app/adminPanel/?", admin);
+        permissionMapping.add("POST:/app/users/changeStatus/{targetUserId:long}/?", admin);
     }
 
     public static Authorization getInstance() {
         return authorization;
     }
 
+    /**
+     * @return the bitmask with the bits of the roles
+     */
+    static int getRoleMask(User.Role... roles) {
+        int mask = 0;
+
+        for (User.Role role : roles) {
+            mask |= 1 << role.ordinal();
+        }
+
+        return mask;
+    }
+
     /**
      * Checks whether a current user has enough permissions to access a requested uri
      * using a current http method.
@@ -46,52 +60,27 @@ public final class Authorization {
             return false;
         }
 
-        Optional<Map.Entry<String, User.Role>> accessRestriction = getPermissionMapping(request);
+        Router.Match<Integer> accessRestriction = permissionMapping.find(request.getMethod().toUpperCase(),
+                request.getRequestURI());
 
-        if (accessRestriction.isPresent()) {
-            return isPermissionGranted(accessRestriction.get(), request);
-        }
-
-        return true;
+        return (accessRestriction == null) || isPermissionGranted(accessRestriction.getHandler(), request);
     }
 
-
+    /**
+     * A {@code userId} path variable, e.g. in {@code /app/users/{userId:long}/invoices}, must be
+     * the id of the current user.
+     */
     private boolean isUserIdInUriValid(HttpServletRequest request) {
-        String requestUri = request.getRequestURI();
-        Matcher matcher = Pattern.compile("/app/users/\\d+").matcher(requestUri);
-        boolean isValid = true;
-
-        if (matcher.find()) {
-            long userIdFromUri = HttpUtil.getFirstIdFromUri(requestUri);
-            long userIdFromSession = HttpUtil.getUserIdFromSession(request);
-
-
-            if (userIdFromSession == userIdFromUri) {
-                isValid = true;
-            } else {
-                isValid = false;
-            }
-        }
+        PathVariables variables = RequestProviderImpl.getInstance().getPathVariables(request);
 
-        return isValid;
+        return !variables.contains(USER_ID_VARIABLE)
+                || variables.getLong(USER_ID_VARIABLE) == HttpUtil.getUserIdFromSession(request);
     }
 
-
-    private Optional<Map.Entry<String, User.Role>> getPermissionMapping(HttpServletRequest request) {
-        return permissionMapping.entrySet()
-                .stream()
-                .filter(entry -> HttpUtil.filterRequestByHttpMethod(request, entry.getKey()))
-                .filter(entry -> HttpUtil.filterRequestByUri(request, entry.getKey()))
-                .findFirst();
-    }
-
-    private boolean isPermissionGranted(Map.Entry<String, User.Role> permissionMapping,
-                                        HttpServletRequest request) {
-
+    private boolean isPermissionGranted(int allowedRoles, HttpServletRequest request) {
         User.Role userRole = getUserFromSession(request).getRole();
-        User.Role legitRole = permissionMapping.getValue();
 
-        return userRole.equals(legitRole);
+        return (userRole != null) && (allowedRoles & getRoleMask(userRole)) != 0;
     }
 
     private User getUserFromSession(HttpServletRequest request) {
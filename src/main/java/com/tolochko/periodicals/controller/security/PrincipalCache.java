@@ -0,0 +1,49 @@
+package com.tolochko.periodicals.controller.security;
+
+import com.tolochko.periodicals.model.TransactionHelper;
+import com.tolochko.periodicals.model.cache.CacheStatistics;
+import com.tolochko.periodicals.model.cache.ExpiringCache;
+import com.tolochko.periodicals.model.domain.user.User;
+import com.tolochko.periodicals.model.service.UserService;
+import com.tolochko.periodicals.model.service.impl.ServiceFactoryImpl;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Keeps the signed in users checked by {@link AuthenticationFilter} for
+ * {@value #TTL_SECONDS} seconds. Request processors changing a user must call
+ * {@link #invalidate(long)}, so e.g. blocking a user takes effect at once. The users are
+ * loaded from the primary db, as a lagging replica could put a stale user back into the cache.
+ */
+public class PrincipalCache {
+    private static final int MAX_SIZE = 10_000;
+    private static final long TTL_SECONDS = 30;
+
+    private static final PrincipalCache instance = new PrincipalCache();
+
+    private UserService userService = ServiceFactoryImpl.getServiceFactoryInstance().getUserService();
+    private final ExpiringCache<Long, User> users = new ExpiringCache<>(MAX_SIZE, TTL_SECONDS, TimeUnit.SECONDS);
+
+    private PrincipalCache() {
+    }
+
+    public static PrincipalCache getInstance() {
+        return instance;
+    }
+
+    /**
+     * @return the user with the id or {@code null} if there is no such user. The returned
+     * user must not be changed.
+     */
+    public User getUser(long userId) {
+        return users.get(userId, id -> TransactionHelper.readFromPrimary(() -> userService.findOneById(id)));
+    }
+
+    public void invalidate(long userId) {
+        users.invalidate(userId);
+    }
+
+    public CacheStatistics getStatistics() {
+        return users.getStatistics();
+    }
+}
@@ -26,6 +26,7 @@ import static java.util.Objects.nonNull;
 
 public final class HttpUtil {
     private static final Logger logger = Logger.getLogger(HttpUtil.class);
+    private static final Pattern NUMBER = Pattern.compile("\\d+");
     private static ServiceFactory serviceFactory = ServiceFactoryImpl.getServiceFactoryInstance();
     private static UserService userService = serviceFactory.getUserService();
 
@@ -72,21 +73,6 @@ public final class HttpUtil {
         return nonNull(user) ? user.getId() : 0;
     }
 
-    public static boolean filterRequestByHttpMethod(HttpServletRequest request, String mapping) {
-        String methodPattern = mapping.split(":")[0]; // methods uri separator
-        String[] methods = methodPattern.split("\\|"); // method separator
-        String requestMethod = request.getMethod().toUpperCase();
-
-        return Arrays.asList(methods).contains(requestMethod);
-    }
-
-    public static boolean filterRequestByUri(HttpServletRequest request, String mapping) {
-        String urlPattern = mapping.split(":")[1]; // methods uri separator
-        String requestUri = request.getRequestURI();
-
-        return Pattern.matches(urlPattern, requestUri);
-    }
-
     public static void addGeneralMessagesToSession(HttpServletRequest request,
                                                    List<FrontMessage> generalMessages) {
         Map<String, List<FrontMessage>> frontMessageMap = new HashMap<>();
@@ -124,11 +110,32 @@ public final class HttpUtil {
         return builder.toString();
     }
 
+    /**
+     * Parses a numeric request parameter, e.g. a pagination cursor.
+     *
+     * @return the value of the parameter or {@code defaultValue} if it is absent
+     */
+    public static long getLongParameter(HttpServletRequest request, String name, long defaultValue) {
+        String value = request.getParameter(name);
+
+        if (value == null || value.isEmpty()) {
+            return defaultValue;
+        }
+
+        try {
+            return Long.parseLong(value);
+        } catch (NumberFormatException e) {
+            logger.error(String.format("Request parameter '%s' = '%s' must be a number.", name, value));
+            throw new IllegalArgumentException(
+                    String.format("Request parameter '%s' must be a number.", name), e);
+        }
+    }
+
     /**
      * Tries to find the first number in the uri.
      */
     public static int getFirstIdFromUri(String uri) {
-        Matcher matcher = Pattern.compile("\\d+").matcher(uri);
+        Matcher matcher = NUMBER.matcher(uri);
 
         if (!matcher.find()) {
             logger.error("Uri: " + uri + " - must contain id.");
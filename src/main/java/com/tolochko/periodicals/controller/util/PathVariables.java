@@ -0,0 +1,69 @@
+package com.tolochko.periodicals.controller.util;
+
+import javax.servlet.http.HttpServletRequest;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.NoSuchElementException;
+
+/**
+ * The typed variables captured from the request uri by the matched {@link Router} mapping,
+ * e.g. {@code invoiceId} of {@code /app/users/{userId:long}/invoices/{invoiceId:long}/pay}.
+ */
+public final class PathVariables {
+    public static final PathVariables EMPTY = new PathVariables(Collections.emptyMap());
+    private static final String ATTRIBUTE = "pathVariables";
+
+    private final Map<String, Long> values;
+
+    private PathVariables(Map<String, Long> values) {
+        this.values = values;
+    }
+
+    static PathVariables of(String[] names, long[] numbers) {
+        Map<String, Long> values = new HashMap<>();
+
+        for (int i = 0; i < names.length; i++) {
+            if (names[i] != null) {
+                values.put(names[i], numbers[i]);
+            }
+        }
+
+        return values.isEmpty() ? EMPTY : new PathVariables(Collections.unmodifiableMap(values));
+    }
+
+    /**
+     * @return the variables bound to the request on dispatch or {@link #EMPTY}
+     */
+    public static PathVariables of(HttpServletRequest request) {
+        PathVariables variables = (PathVariables) request.getAttribute(ATTRIBUTE);
+
+        return (variables == null) ? EMPTY : variables;
+    }
+
+    public void bindTo(HttpServletRequest request) {
+        request.setAttribute(ATTRIBUTE, this);
+    }
+
+    public boolean contains(String name) {
+        return values.containsKey(name);
+    }
+
+    /**
+     * @throws NoSuchElementException if the mapping has no such variable
+     */
+    public long getLong(String name) {
+        Long value = values.get(name);
+
+        if (value == null) {
+            throw new NoSuchElementException(String.format("There is no path variable '%s'", name));
+        }
+
+        return value;
+    }
+
+    @Override
+    public String toString() {
+        return "PathVariables" + values;
+    }
+}
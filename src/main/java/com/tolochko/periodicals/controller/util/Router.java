@@ -0,0 +1,247 @@
+package com.tolochko.periodicals.controller.util;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Maps http methods and uris to handlers. The mappings are compiled once into a trie of path
+ * segments, so finding a handler takes one pass over the uri and no regex matching.
+ *
+ * <p>A mapping looks like {@code GET|POST:/app/users/{userId:long}/invoices/?}: http methods
+ * separated by {@code |}, a colon and a path. A path segment is a literal, a number captured as
+ * a named variable like {@code {userId:long}} or an unnamed number {@code \d+}. A trailing
+ * {@code /?} allows an optional trailing slash. A literal segment takes precedence over a number
+ * segment, so the result does not depend on the order of the mappings.
+ */
+public final class Router<T> {
+    private static final String NUMBER_SEGMENT = "\\d+";
+    private static final Pattern VARIABLE_SEGMENT = Pattern.compile("\\{([A-Za-z_]\\w*):long}");
+    private static final String OPTIONAL_TRAILING_SLASH = "/?";
+
+    private final Node<T> root = new Node<>();
+
+    /**
+     * @throws IllegalArgumentException if the mapping is malformed, uses an unsupported pattern or
+     *                                  duplicates an existing mapping
+     */
+    public Router<T> add(String mapping, T handler) {
+        int separator = mapping.indexOf(':');
+
+        if (separator <= 0) {
+            throw new IllegalArgumentException(String.format("Mapping '%s' has no http methods", mapping));
+        }
+
+        String path = mapping.substring(separator + 1);
+        boolean optionalTrailingSlash = path.endsWith(OPTIONAL_TRAILING_SLASH);
+
+        if (optionalTrailingSlash) {
+            path = path.substring(0, path.length() - OPTIONAL_TRAILING_SLASH.length());
+        }
+
+        List<String> variableNames = new ArrayList<>();
+        Node<T> node = getOrCreateNode(mapping, path, variableNames);
+        Route<T> route = new Route<>(handler, variableNames.toArray(new String[0]));
+
+        for (String method : mapping.substring(0, separator).split("\\|")) {
+            putRoute(mapping, node.routes, method, route);
+
+            if (optionalTrailingSlash) {
+                putRoute(mapping, node.trailingSlashRoutes, method, route);
+            }
+        }
+
+        return this;
+    }
+
+    /**
+     * @param variableNames receives the variable name of each number segment, {@code null} if unnamed
+     */
+    private Node<T> getOrCreateNode(String mapping, String path, List<String> variableNames) {
+        if (!path.startsWith("/")) {
+            throw new IllegalArgumentException(String.format("Path of mapping '%s' must start with '/'", mapping));
+        }
+
+        Node<T> node = root;
+
+        for (String segment : path.substring(1).split("/", -1)) {
+            Matcher variable = VARIABLE_SEGMENT.matcher(segment);
+
+            if (NUMBER_SEGMENT.equals(segment) || variable.matches()) {
+                String name = NUMBER_SEGMENT.equals(segment) ? null : variable.group(1);
+
+                if (name != null && variableNames.contains(name)) {
+                    throw new IllegalArgumentException(
+                            String.format("Variable '%s' of mapping '%s' is not unique", name, mapping));
+                }
+
+                variableNames.add(name);
+                if (node.number == null) {
+                    node.number = new Node<>();
+                }
+                node = node.number;
+
+            } else if (isLiteral(segment)) {
+                node = node.literals.computeIfAbsent(segment, key -> new Node<>());
+
+            } else {
+                throw new IllegalArgumentException(
+                        String.format("Segment '%s' of mapping '%s' is not supported", segment, mapping));
+            }
+        }
+
+        return node;
+    }
+
+    private static boolean isLiteral(String segment) {
+        if (segment.isEmpty()) {
+            return false;
+        }
+
+        for (int i = 0; i < segment.length(); i++) {
+            char c = segment.charAt(i);
+
+            if (!Character.isLetterOrDigit(c) && c != '-' && c != '_') {
+                return false;
+            }
+        }
+
+        return true;
+    }
+
+    private void putRoute(String mapping, Map<String, Route<T>> routes, String method, Route<T> route) {
+        if (routes.putIfAbsent(method, route) != null) {
+            throw new IllegalArgumentException(String.format("Mapping '%s' duplicates another one", mapping));
+        }
+    }
+
+    /**
+     * @param method the upper case http method
+     * @return the handler and the path variables of the mapping matching the method and the uri
+     * or {@code null} if there is none
+     */
+    public Match<T> find(String method, String uri) {
+        if (uri == null || !uri.startsWith("/")) {
+            return null;
+        }
+
+        boolean trailingSlash = uri.length() > 1 && uri.charAt(uri.length() - 1) == '/';
+        int end = trailingSlash ? uri.length() - 1 : uri.length();
+        long[] numbers = new long[countSegments(uri, end)];
+
+        return find(root, uri, 1, end, method, trailingSlash, numbers, 0);
+    }
+
+    private static int countSegments(String uri, int end) {
+        int count = 0;
+
+        for (int i = 0; i < end; i++) {
+            if (uri.charAt(i) == '/') {
+                count++;
+            }
+        }
+
+        return count;
+    }
+
+    /**
+     * Matches the segment starting at {@code start}, a literal child first and then a number child.
+     *
+     * @param numbers     the values of the number segments matched so far
+     * @param numberCount the number of the values
+     */
+    private Match<T> find(Node<T> node, String uri, int start, int end, String method, boolean trailingSlash,
+                          long[] numbers, int numberCount) {
+        if (start > end) {
+            Route<T> route = (trailingSlash ? node.trailingSlashRoutes : node.routes).get(method);
+
+            return (route == null) ? null
+                    : new Match<>(route.handler, PathVariables.of(route.variableNames, numbers));
+        }
+
+        int segmentEnd = uri.indexOf('/', start);
+        if (segmentEnd < 0 || segmentEnd > end) {
+            segmentEnd = end;
+        }
+
+        Node<T> literal = node.literals.get(uri.substring(start, segmentEnd));
+        if (literal != null) {
+            Match<T> match = find(literal, uri, segmentEnd + 1, end, method, trailingSlash, numbers, numberCount);
+
+            if (match != null) {
+                return match;
+            }
+        }
+
+        if (node.number != null && parseNumber(uri, start, segmentEnd, numbers, numberCount)) {
+            return find(node.number, uri, segmentEnd + 1, end, method, trailingSlash, numbers, numberCount + 1);
+        }
+
+        return null;
+    }
+
+    /**
+     * @return {@code false} if the segment is not a number or does not fit into a long
+     */
+    private static boolean parseNumber(String uri, int start, int end, long[] numbers, int index) {
+        if (start == end) {
+            return false;
+        }
+
+        long value = 0;
+
+        for (int i = start; i < end; i++) {
+            char c = uri.charAt(i);
+
+            if (c < '0' || c > '9' || value > (Long.MAX_VALUE - (c - '0')) / 10) {
+                return false;
+            }
+
+            value = value * 10 + (c - '0');
+        }
+
+        numbers[index] = value;
+        return true;
+    }
+
+    /**
+     * A found handler with the variables captured from the uri.
+     */
+    public static final class Match<T> {
+        private final T handler;
+        private final PathVariables variables;
+
+        private Match(T handler, PathVariables variables) {
+            this.handler = handler;
+            this.variables = variables;
+        }
+
+        public T getHandler() {
+            return handler;
+        }
+
+        public PathVariables getVariables() {
+            return variables;
+        }
+    }
+
+    private static final class Route<T> {
+        private final T handler;
+        private final String[] variableNames;
+
+        private Route(T handler, String[] variableNames) {
+            this.handler = handler;
+            this.variableNames = variableNames;
+        }
+    }
+
+    private static final class Node<T> {
+        private final Map<String, Node<T>> literals = new HashMap<>();
+        private final Map<String, Route<T>> routes = new HashMap<>();
+        private final Map<String, Route<T>> trailingSlashRoutes = new HashMap<>();
+        private Node<T> number;
+    }
+}
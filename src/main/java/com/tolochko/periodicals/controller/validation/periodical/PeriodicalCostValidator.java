@@ -14,6 +14,7 @@ public class PeriodicalCostValidator extends AbstractValidator {
     private static ValidationResult failedResult =
             new ValidationResult(412, "periodicalCost.validationError");
     private static final String PERIODICAL_COST_PATTERN_REGEX = "0|[1-9]{1}\\d{0,8}";
+    private static final Pattern PERIODICAL_COST_PATTERN = Pattern.compile(PERIODICAL_COST_PATTERN_REGEX);
 
     private static final PeriodicalCostValidator instance = new PeriodicalCostValidator();
 
@@ -35,6 +36,6 @@ public class PeriodicalCostValidator extends AbstractValidator {
     }
 
     private boolean isCostCorrect(String periodicalCost) {
-        return Pattern.matches(PERIODICAL_COST_PATTERN_REGEX, periodicalCost);
+        return PERIODICAL_COST_PATTERN.matcher(periodicalCost).matches();
     }
 }
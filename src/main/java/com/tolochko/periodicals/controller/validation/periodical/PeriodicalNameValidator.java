@@ -27,6 +27,7 @@ public class PeriodicalNameValidator extends AbstractValidator {
     private static ValidationResult duplicationFailedResult =
             new ValidationResult(412, "periodicalName.duplicationError");
     private static final String PERIODICAL_NAME_PATTERN_REGEX = "[а-яА-ЯіІїЇєЄёЁ\\w\\s!&?$#@'\"-]{2,45}";
+    private static final Pattern PERIODICAL_NAME_PATTERN = Pattern.compile(PERIODICAL_NAME_PATTERN_REGEX);
 
     private static final PeriodicalNameValidator instance = new PeriodicalNameValidator();
 
@@ -51,7 +52,7 @@ public class PeriodicalNameValidator extends AbstractValidator {
     }
 
     private boolean nameDoesNotMatchRegex(String periodicalName) {
-        return !Pattern.matches(PERIODICAL_NAME_PATTERN_REGEX, periodicalName);
+        return !PERIODICAL_NAME_PATTERN.matcher(periodicalName).matches();
     }
 
     private boolean isNameNotUnique(HttpServletRequest request, String periodicalName) {
@@ -15,6 +15,7 @@ public class PeriodicalPublisherValidator extends AbstractValidator {
     private static ValidationResult failedResult =
             new ValidationResult(412, "periodicalPublisher.validationError");
     private static final String PERIODICAL_PUBLISHER_PATTERN_REGEX = "[а-яА-ЯіІїЇєЄёЁ\\w\\s-]{2,45}";
+    private static final Pattern PERIODICAL_PUBLISHER_PATTERN = Pattern.compile(PERIODICAL_PUBLISHER_PATTERN_REGEX);
     private static final PeriodicalPublisherValidator instance = new PeriodicalPublisherValidator();
 
     private PeriodicalPublisherValidator() {
@@ -35,6 +36,6 @@ public class PeriodicalPublisherValidator extends AbstractValidator {
     }
 
     private boolean isPublisherCorrect(String publisher) {
-        return Pattern.matches(PERIODICAL_PUBLISHER_PATTERN_REGEX, publisher);
+        return PERIODICAL_PUBLISHER_PATTERN.matcher(publisher).matches();
     }
 }
@@ -21,6 +21,7 @@ public class UserEmailValidator extends AbstractValidator {
 
     public static final String USER_EMAIL_PATTERN_REGEX =
             "^([a-z0-9_-]+\\.)*[a-z0-9_-]+@[a-z0-9_-]+(\\.[a-z0-9_-]+)*\\.[a-z]{2,6}$";
+    private static final Pattern USER_EMAIL_PATTERN = Pattern.compile(USER_EMAIL_PATTERN_REGEX);
 
     private static final UserEmailValidator instance = new UserEmailValidator();
 
@@ -45,7 +46,7 @@ public class UserEmailValidator extends AbstractValidator {
     }
 
     private boolean emailMatchesRegex(String userEmail) {
-        return Pattern.matches(USER_EMAIL_PATTERN_REGEX, userEmail);
+        return USER_EMAIL_PATTERN.matcher(userEmail).matches();
     }
 
     private boolean emailExistsInDb(String userEmail) {
@@ -13,6 +13,7 @@ public class UserPasswordValidator extends AbstractValidator {
 
     private static final UserPasswordValidator instance = new UserPasswordValidator();
     public static final String PASS_PATTERN_REGEX = "[\\w]{6,12}";
+    private static final Pattern PASS_PATTERN = Pattern.compile(PASS_PATTERN_REGEX);
 
     private UserPasswordValidator() {
     }
@@ -31,6 +32,6 @@ public class UserPasswordValidator extends AbstractValidator {
     }
 
     private boolean passwordMatchesRegex(String password) {
-        return Pattern.matches(PASS_PATTERN_REGEX, password);
+        return PASS_PATTERN.matcher(password).matches();
     }
 }
@@ -0,0 +1,30 @@
+package com.tolochko.periodicals.controller.view.jsp.tag;
+
+import com.tolochko.periodicals.controller.request.IdempotentRequestProcessor;
+
+import javax.servlet.jsp.JspException;
+import javax.servlet.jsp.JspTagException;
+import javax.servlet.jsp.tagext.Tag;
+import javax.servlet.jsp.tagext.TagSupport;
+import java.io.IOException;
+import java.util.UUID;
+
+/**
+ * Prints a hidden form input with a new idempotency key, so submitting the form twice
+ * is processed once by {@link IdempotentRequestProcessor}.
+ */
+public class IdempotencyKeyTag extends TagSupport {
+
+    @Override
+    public int doEndTag() throws JspException {
+        try {
+            pageContext.getOut().print(String.format("<input name=\"%s\" type=\"hidden\" value=\"%s\"/>",
+                    IdempotentRequestProcessor.KEY_PARAMETER, UUID.randomUUID()));
+
+        } catch (final IOException ioe) {
+            throw new JspTagException(ioe.toString(), ioe);
+        }
+
+        return Tag.EVAL_PAGE;
+    }
+}
@@ -1,21 +1,51 @@
 package com.tolochko.periodicals.model;
 
 import com.tolochko.periodicals.model.connection.ConnectionProxy;
+import com.tolochko.periodicals.model.connection.RequestConnectionStatistics;
+import com.tolochko.periodicals.model.connection.RequestScopedConnectionProxy;
+import com.tolochko.periodicals.model.connection.TransactionStatistics;
 import com.tolochko.periodicals.model.dao.exception.DaoException;
 import com.tolochko.periodicals.model.dao.exception.TransactionException;
+import com.tolochko.periodicals.model.dao.pool.ConnectionPool;
 import com.tolochko.periodicals.model.dao.pool.ConnectionPoolProvider;
 import org.apache.log4j.Logger;
 
+import java.sql.SQLException;
+import java.sql.SQLTransactionRollbackException;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.function.Supplier;
+
 public class TransactionHelper {
     private static final Logger logger = Logger.getLogger(TransactionHelper.class);
+    private static final int MAX_ATTEMPTS = 3;
+    private static final long BASE_BACKOFF_MILLIS = 20;
+    private static final String TRANSACTION_ROLLBACK_SQL_STATE_CLASS = "40";
+    private static final int ER_LOCK_WAIT_TIMEOUT = 1205;
+    private static final int ER_LOCK_DEADLOCK = 1213;
     private static final ThreadLocal<ConnectionProxy> connections = new ThreadLocal<>();
+    private static final ThreadLocal<RequestScopedConnectionProxy> requestConnections = new ThreadLocal<>();
+    private static final ThreadLocal<RequestScopedConnectionProxy> requestReadOnlyConnections =
+            new ThreadLocal<>();
+    private static final ThreadLocal<Boolean> primaryReads = new ThreadLocal<>();
 
     private TransactionHelper(){}
 
+    /**
+     * Returns a connection of the current transaction, if there is one. Otherwise returns
+     * the connection bound to the current request or, if none is bound, a new connection from the pool.
+     */
     public static ConnectionProxy getConnectionProxy() {
         ConnectionProxy connection = connections.get();
 
         if (connection == null) {
+            RequestScopedConnectionProxy requestConnection = requestConnections.get();
+
+            if (requestConnection != null) {
+                requestConnection.registerUsage();
+                markWritten(requestConnection);
+                return requestConnection;
+            }
+
             connection = ConnectionPoolProvider
                     .getInstance()
                     .getPool()
@@ -25,21 +55,263 @@ public class TransactionHelper {
         return connection;
     }
 
+    /**
+     * Returns a connection for read-only dao calls. Inside a transaction it is the connection
+     * of the transaction. Within a request that has already written to the db it is the request
+     * connection to the primary db, so the request reads its own writes. Within
+     * {@link #readFromPrimary(Supplier)} it is a connection to the primary db. Otherwise it may
+     * be a connection to a replica.
+     */
+    public static ConnectionProxy getReadOnlyConnectionProxy() {
+        ConnectionProxy connection = connections.get();
+
+        if (connection != null) {
+            return connection;
+        }
+
+        RequestScopedConnectionProxy requestConnection = requestConnections.get();
+        boolean primaryRead = Boolean.TRUE.equals(primaryReads.get());
+
+        if (requestConnection != null) {
+            if (primaryRead || requestConnection.isWritten()) {
+                requestConnection.registerUsage();
+                return requestConnection;
+            }
+
+            RequestScopedConnectionProxy readOnlyConnection = requestReadOnlyConnections.get();
+            readOnlyConnection.registerUsage();
+            return readOnlyConnection;
+        }
+
+        ConnectionPool pool = ConnectionPoolProvider.getInstance().getPool();
+
+        return primaryRead ? pool.getConnection() : pool.getReadOnlyConnection();
+    }
+
+    /**
+     * Returns a new connection from the pool for streaming a result set. It is never the connection
+     * of the current transaction or request, which stays free for the dao calls made while
+     * the rows are streamed, so the streamed rows do not include the uncommitted writes
+     * of the current transaction.
+     */
+    public static ConnectionProxy getStreamingConnectionProxy() {
+        ConnectionPool pool = ConnectionPoolProvider.getInstance().getPool();
+
+        return Boolean.TRUE.equals(primaryReads.get()) ? pool.getConnection() : pool.getReadOnlyConnection();
+    }
+
+    /**
+     * Runs the reads with the read-only dao calls served by the primary db, e.g. to reload
+     * a cache right after it was invalidated by a write, which a lagging replica may not have yet.
+     */
+    public static <T> T readFromPrimary(Supplier<T> reads) {
+        if (Boolean.TRUE.equals(primaryReads.get())) {
+            return reads.get();
+        }
+
+        primaryReads.set(true);
+
+        try {
+            return reads.get();
+        } finally {
+            primaryReads.remove();
+        }
+    }
+
+    /**
+     * Pins one connection (and one read-only connection) to the current thread for all
+     * dao calls and transactions until {@link #releaseRequestConnection()} is called.
+     * The connections are borrowed on the first use.
+     */
+    public static void bindRequestConnection() {
+        if (requestConnections.get() != null) {
+            throw new DaoException("request connection is already bound to the current thread");
+        }
+
+        ConnectionPool pool = ConnectionPoolProvider.getInstance().getPool();
+        requestConnections.set(new RequestScopedConnectionProxy(pool::getConnection));
+        requestReadOnlyConnections.set(new RequestScopedConnectionProxy(pool::getReadOnlyConnection));
+    }
+
+    /**
+     * Returns the connection bound by {@link #bindRequestConnection()} to the pool and records
+     * its usage in {@link RequestConnectionStatistics}.
+     */
+    public static void releaseRequestConnection() {
+        RequestScopedConnectionProxy requestConnection = requestConnections.get();
+        RequestScopedConnectionProxy readOnlyConnection = requestReadOnlyConnections.get();
+
+        if (requestConnection == null) {
+            return;
+        }
+
+        requestConnections.remove();
+        requestReadOnlyConnections.remove();
+
+        try {
+            requestConnection.release();
+        } finally {
+            readOnlyConnection.release();
+
+            int usages = requestConnection.getUsages() + readOnlyConnection.getUsages();
+            int borrows = requestConnection.getBorrows() + readOnlyConnection.getBorrows();
+            RequestConnectionStatistics.getInstance().record(usages, borrows);
+            logger.debug(String.format("request connection served %d dao calls with %d pool borrows",
+                    usages, borrows));
+        }
+    }
+
+    /**
+     * Runs the work in a transaction with the default isolation level, see
+     * {@link #inTransaction(int, boolean, Supplier)}.
+     */
+    public static <T> T inTransaction(Supplier<T> work) {
+        return inTransaction(ConnectionProxy.DEFAULT_ISOLATION, false, work);
+    }
+
+    /**
+     * Runs the work in a transaction and returns its result. If the current thread is already
+     * in a transaction, the work joins it and the isolation and the read-only flag of that
+     * transaction apply. Otherwise a new transaction is begun and committed after the work
+     * or rolled back if the work throws.
+     *
+     * <p>A new transaction failed by a deadlock, a lock wait timeout or a serialization failure
+     * is run again, up to {@value #MAX_ATTEMPTS} attempts with a jittered growing backoff, so the
+     * work must not have effects outside the db. The outcomes are recorded in
+     * {@link TransactionStatistics}.
+     *
+     * @param isolation one of the {@code Connection.TRANSACTION_*} levels or
+     *                  {@link ConnectionProxy#DEFAULT_ISOLATION}
+     */
+    public static <T> T inTransaction(int isolation, boolean readOnly, Supplier<T> work) {
+        if (connections.get() != null) {
+            return work.get();
+        }
+
+        TransactionStatistics statistics = TransactionStatistics.getInstance();
+
+        for (int attempt = 1; ; attempt++) {
+            beginTransaction(isolation, readOnly);
+
+            try {
+                T result = work.get();
+                commit();
+                statistics.recordCommit();
+
+                return result;
+            } catch (RuntimeException e) {
+                rollbackAfterFailure(e);
+                boolean retryable = isRetryable(e);
+
+                if (!retryable || attempt == MAX_ATTEMPTS) {
+                    statistics.recordFailure(retryable);
+                    throw e;
+                }
+
+                statistics.recordRetry();
+                logger.warn(String.format("Transaction attempt %d failed, retrying: %s", attempt, e));
+                backOff(attempt, e);
+            }
+        }
+    }
+
+    /**
+     * @return whether the exception is caused by a deadlock, a lock wait timeout or
+     * a serialization failure, after which the transaction may succeed if run again
+     */
+    static boolean isRetryable(Throwable e) {
+        for (Throwable cause = e; cause != null; cause = cause.getCause()) {
+            if (cause instanceof SQLTransactionRollbackException) {
+                return true;
+            }
+
+            if (cause instanceof SQLException) {
+                SQLException sqlException = (SQLException) cause;
+                String sqlState = sqlException.getSQLState();
+
+                if ((sqlState != null && sqlState.startsWith(TRANSACTION_ROLLBACK_SQL_STATE_CLASS))
+                        || sqlException.getErrorCode() == ER_LOCK_DEADLOCK
+                        || sqlException.getErrorCode() == ER_LOCK_WAIT_TIMEOUT) {
+                    return true;
+                }
+            }
+        }
+
+        return false;
+    }
+
+    private static void rollbackAfterFailure(RuntimeException failure) {
+        ConnectionProxy connection = connections.get();
+
+        if (connection == null) {
+            return;
+        }
+
+        connections.remove();
+
+        try {
+            connection.rollbackTransaction();
+        } catch (RuntimeException e) {
+            failure.addSuppressed(e);
+        }
+    }
+
+    private static void backOff(int attempt, RuntimeException failure) {
+        long maxMillis = BASE_BACKOFF_MILLIS << (attempt - 1);
+
+        try {
+            Thread.sleep(maxMillis / 2 + ThreadLocalRandom.current().nextLong(maxMillis / 2 + 1));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw failure;
+        }
+    }
+
     public static void beginTransaction() {
+        beginTransaction(ConnectionProxy.DEFAULT_ISOLATION, false);
+    }
+
+    /**
+     * Begins the transaction on the connection bound to the current request, if there is one,
+     * so the request holds a single connection to the primary db. Otherwise on a new
+     * connection from the pool.
+     */
+    private static void beginTransaction(int isolation, boolean readOnly) {
+        RequestScopedConnectionProxy requestConnection = requestConnections.get();
+        ConnectionProxy connection = null;
+
         try {
-            ConnectionProxy connection = ConnectionPoolProvider
-                    .getInstance()
-                    .getPool()
-                    .getConnection();
+            if (requestConnection != null) {
+                markWritten(requestConnection);
+                connection = requestConnection;
+            } else {
+                connection = ConnectionPoolProvider
+                        .getInstance()
+                        .getPool()
+                        .getConnection();
+            }
 
+            connection.beginTransaction(isolation, readOnly);
             connections.set(connection);
-            connection.beginTransaction();
         } catch (RuntimeException e){
             logger.error("Exception during beginning transaction");
+
+            if (connection != null) {
+                connection.close();
+            }
             throw new TransactionException(e);
         }
     }
 
+    /**
+     * From now on the request reads through its connection to the primary db, so the read-only
+     * connection goes back to the pool at once instead of at the end of the request.
+     */
+    private static void markWritten(RequestScopedConnectionProxy requestConnection) {
+        requestConnection.markWritten();
+        requestReadOnlyConnections.get().release();
+    }
+
     public static void rollback() {
         if (connections.get() == null){
             throw new DaoException("can't rollback without beginTransaction");
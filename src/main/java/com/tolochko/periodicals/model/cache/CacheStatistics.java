@@ -0,0 +1,43 @@
+package com.tolochko.periodicals.model.cache;
+
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Counts the hits and misses of a cache. A miss is a read which had to load the value.
+ */
+public class CacheStatistics {
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+
+    public void recordHit() {
+        hits.increment();
+    }
+
+    public void recordMiss() {
+        misses.increment();
+    }
+
+    public long getHits() {
+        return hits.sum();
+    }
+
+    public long getMisses() {
+        return misses.sum();
+    }
+
+    /**
+     * @return the share of hits among all reads, 0 if there were no reads
+     */
+    public double getHitRatio() {
+        long hitCount = getHits();
+        long total = hitCount + getMisses();
+
+        return (total == 0) ? 0 : (double) hitCount / total;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("CacheStatistics{hits=%d, misses=%d, hitRatio=%.3f}",
+                getHits(), getMisses(), getHitRatio());
+    }
+}
@@ -0,0 +1,160 @@
+package com.tolochko.periodicals.model.cache;
+
+import java.util.Iterator;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+import java.util.function.LongSupplier;
+import java.util.function.Predicate;
+
+/**
+ * A bounded map of values loaded on demand, each kept for a fixed time to live. Reads of cached
+ * values take no locks. {@code null} values are not cached. When the cache is full, expired entries
+ * are dropped first and then arbitrary ones, down to nine tenths of the max size. Values rejected
+ * by the evictable predicate are never dropped that way, even if the cache stays over its max size.
+ */
+public class ExpiringCache<K, V> {
+    private final int maxSize;
+    private final long ttlNanos;
+    private final LongSupplier nanoClock;
+    private final Predicate<? super V> evictable;
+
+    private final Map<K, Entry<V>> entries = new ConcurrentHashMap<>();
+    private final AtomicLong generation = new AtomicLong();
+    private final CacheStatistics statistics = new CacheStatistics();
+
+    public ExpiringCache(int maxSize, long ttl, TimeUnit unit) {
+        this(maxSize, ttl, unit, System::nanoTime);
+    }
+
+    /**
+     * @param evictable tells whether the value may be dropped when the cache is full
+     */
+    public ExpiringCache(int maxSize, long ttl, TimeUnit unit, Predicate<? super V> evictable) {
+        this(maxSize, ttl, unit, System::nanoTime, evictable);
+    }
+
+    /**
+     * @param nanoClock the source of {@link System#nanoTime()} like readings
+     */
+    public ExpiringCache(int maxSize, long ttl, TimeUnit unit, LongSupplier nanoClock) {
+        this(maxSize, ttl, unit, nanoClock, value -> true);
+    }
+
+    /**
+     * @param nanoClock the source of {@link System#nanoTime()} like readings
+     * @param evictable tells whether the value may be dropped when the cache is full
+     */
+    public ExpiringCache(int maxSize, long ttl, TimeUnit unit, LongSupplier nanoClock,
+                         Predicate<? super V> evictable) {
+        if (maxSize <= 0) {
+            throw new IllegalArgumentException("maxSize should be positive.");
+        }
+        if (ttl < 0) {
+            throw new IllegalArgumentException("ttl should not be negative.");
+        }
+
+        this.maxSize = maxSize;
+        this.ttlNanos = unit.toNanos(ttl);
+        this.nanoClock = nanoClock;
+        this.evictable = evictable;
+    }
+
+    /**
+     * @return the cached value or the value loaded by the loader if there is no fresh cached one
+     */
+    public V get(K key, Function<K, V> loader) {
+        Entry<V> current = entries.get(key);
+
+        if (current != null && !current.isExpired(nanoClock.getAsLong())) {
+            statistics.recordHit();
+            return current.value;
+        }
+
+        statistics.recordMiss();
+        long loadGeneration = generation.get();
+        V value = loader.apply(key);
+
+        if (value == null) {
+            return null;
+        }
+
+        if (entries.size() >= maxSize) {
+            evict();
+        }
+
+        Entry<V> loaded = new Entry<>(value, nanoClock.getAsLong() + ttlNanos);
+        entries.put(key, loaded);
+
+        // an invalidation during the load means the value may already be stale
+        if (loadGeneration != generation.get()) {
+            entries.remove(key, loaded);
+        }
+
+        return value;
+    }
+
+    /**
+     * Caches the value unless there is a fresh cached one, atomically.
+     *
+     * @return the fresh cached value or {@code null} if the given value has been cached
+     */
+    public V putIfAbsent(K key, V value) {
+        if (entries.size() >= maxSize) {
+            evict();
+        }
+
+        long now = nanoClock.getAsLong();
+        Entry<V> added = new Entry<>(value, now + ttlNanos);
+        Entry<V> current = entries.compute(key,
+                (k, existing) -> (existing == null || existing.isExpired(now)) ? added : existing);
+
+        return (current == added) ? null : current.value;
+    }
+
+    /**
+     * Drops the cached value of the key, the next {@link #get} loads it again.
+     */
+    public void invalidate(K key) {
+        generation.incrementAndGet();
+        entries.remove(key);
+    }
+
+    public int size() {
+        return entries.size();
+    }
+
+    public CacheStatistics getStatistics() {
+        return statistics;
+    }
+
+    private void evict() {
+        long now = nanoClock.getAsLong();
+        entries.values().removeIf(entry -> entry.isExpired(now) && evictable.test(entry.value));
+
+        int target = maxSize - Math.max(1, maxSize / 10);
+        Iterator<Entry<V>> iterator = entries.values().iterator();
+
+        while (entries.size() > target && iterator.hasNext()) {
+            if (evictable.test(iterator.next().value)) {
+                iterator.remove();
+            }
+        }
+    }
+
+    private static final class Entry<V> {
+        private final V value;
+        private final long expiresAt;
+
+        private Entry(V value, long expiresAt) {
+            this.value = value;
+            this.expiresAt = expiresAt;
+        }
+
+        private boolean isExpired(long now) {
+            return now - expiresAt >= 0;
+        }
+    }
+}
@@ -0,0 +1,99 @@
+package com.tolochko.periodicals.model.cache;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongSupplier;
+import java.util.function.Supplier;
+
+/**
+ * Holds a value loaded by the loader for a fixed time to live. Concurrent callers of
+ * {@link #get()} with an expired value wait for one load instead of loading it each.
+ */
+public class ExpiringValue<T> {
+    private final Supplier<T> loader;
+    private final long ttlNanos;
+    private final LongSupplier nanoClock;
+
+    private final AtomicLong generation = new AtomicLong();
+    private final CacheStatistics statistics = new CacheStatistics();
+    private volatile Entry<T> entry;
+
+    public ExpiringValue(long ttl, TimeUnit unit, Supplier<T> loader) {
+        this(ttl, unit, loader, System::nanoTime);
+    }
+
+    /**
+     * @param nanoClock the source of {@link System#nanoTime()} like readings
+     */
+    public ExpiringValue(long ttl, TimeUnit unit, Supplier<T> loader, LongSupplier nanoClock) {
+        if (ttl < 0) {
+            throw new IllegalArgumentException("ttl should not be negative.");
+        }
+
+        this.loader = loader;
+        this.ttlNanos = unit.toNanos(ttl);
+        this.nanoClock = nanoClock;
+    }
+
+    /**
+     * @return the cached value or a newly loaded one if the cached value has expired
+     */
+    public T get() {
+        Entry<T> current = entry;
+
+        if (current != null && !current.isExpired(nanoClock.getAsLong())) {
+            statistics.recordHit();
+            return current.value;
+        }
+
+        synchronized (this) {
+            current = entry;
+            if (current != null && !current.isExpired(nanoClock.getAsLong())) {
+                statistics.recordHit();
+                return current.value;
+            }
+
+            statistics.recordMiss();
+            long loadGeneration = generation.get();
+            T value = loader.get();
+            entry = new Entry<>(value, nanoClock.getAsLong() + ttlNanos);
+
+            // an invalidation during the load means the value may already be stale
+            if (loadGeneration != generation.get()) {
+                entry = null;
+            }
+
+            return value;
+        }
+    }
+
+    /**
+     * Drops the cached value, the next {@link #get()} loads it again. Does not wait
+     * for a load in progress.
+     */
+    public void invalidate() {
+        generation.incrementAndGet();
+        entry = null;
+    }
+
+    /**
+     * @return the hits and misses of {@link #get()}
+     */
+    public CacheStatistics getStatistics() {
+        return statistics;
+    }
+
+    private static final class Entry<T> {
+        private final T value;
+        private final long expiresAt;
+
+        private Entry(T value, long expiresAt) {
+            this.value = value;
+            this.expiresAt = expiresAt;
+        }
+
+        private boolean isExpired(long now) {
+            return now - expiresAt >= 0;
+        }
+    }
+}
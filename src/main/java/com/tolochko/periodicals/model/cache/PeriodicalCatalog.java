@@ -0,0 +1,123 @@
+package com.tolochko.periodicals.model.cache;
+
+import com.tolochko.periodicals.model.domain.periodical.Periodical;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * An immutable snapshot of all periodicals. It is safe to read from many threads without locks;
+ * a change of the catalog replaces the whole snapshot. Periodicals are mutable, so every
+ * returned periodical is a copy.
+ */
+public final class PeriodicalCatalog {
+    private final List<Periodical> all;
+    private final Map<Long, Periodical> byId;
+    private final Map<String, Periodical> byName;
+    private final Map<Periodical.Status, List<Periodical>> byStatus;
+
+    private PeriodicalCatalog(List<Periodical> periodicals) {
+        List<Periodical> sorted = new ArrayList<>(periodicals.size());
+        Map<Long, Periodical> ids = new HashMap<>();
+        Map<String, Periodical> names = new HashMap<>();
+        Map<Periodical.Status, List<Periodical>> statuses = new EnumMap<>(Periodical.Status.class);
+
+        for (Periodical periodical : periodicals) {
+            sorted.add(copy(periodical));
+        }
+        sorted.sort(Comparator.comparingLong(Periodical::getId));
+
+        for (Periodical periodical : sorted) {
+            ids.put(periodical.getId(), periodical);
+
+            if (periodical.getName() != null) {
+                names.put(nameKey(periodical.getName()), periodical);
+            }
+            if (periodical.getStatus() != null) {
+                statuses.computeIfAbsent(periodical.getStatus(), status -> new ArrayList<>()).add(periodical);
+            }
+        }
+
+        this.all = sorted;
+        this.byId = ids;
+        this.byName = names;
+        this.byStatus = statuses;
+    }
+
+    /**
+     * @param periodicals all periodicals of the db, they are copied
+     */
+    public static PeriodicalCatalog of(List<Periodical> periodicals) {
+        return new PeriodicalCatalog(periodicals);
+    }
+
+    /**
+     * @return the periodical or {@code null} if there is no periodical with such id
+     */
+    public Periodical findOneById(long id) {
+        return copyOrNull(byId.get(id));
+    }
+
+    /**
+     * Matches the name ignoring its case like the case-insensitive collation of the db.
+     *
+     * @return the periodical or {@code null} if there is no periodical with such name
+     */
+    public Periodical findOneByName(String name) {
+        return (name == null) ? null : copyOrNull(byName.get(nameKey(name)));
+    }
+
+    /**
+     * @return all periodicals in the order of their ids
+     */
+    public List<Periodical> findAll() {
+        return copyAll(all);
+    }
+
+    /**
+     * @return the periodicals with the status in the order of their ids
+     */
+    public List<Periodical> findAllByStatus(Periodical.Status status) {
+        return copyAll(byStatus.getOrDefault(status, Collections.emptyList()));
+    }
+
+    public int size() {
+        return all.size();
+    }
+
+    private static String nameKey(String name) {
+        return name.toLowerCase(Locale.ROOT);
+    }
+
+    private static List<Periodical> copyAll(List<Periodical> periodicals) {
+        List<Periodical> copies = new ArrayList<>(periodicals.size());
+
+        for (Periodical periodical : periodicals) {
+            copies.add(copy(periodical));
+        }
+
+        return copies;
+    }
+
+    private static Periodical copyOrNull(Periodical periodical) {
+        return (periodical == null) ? null : copy(periodical);
+    }
+
+    private static Periodical copy(Periodical periodical) {
+        return new Periodical.Builder()
+                .setId(periodical.getId())
+                .setName(periodical.getName())
+                .setCategory(periodical.getCategory())
+                .setPublisher(periodical.getPublisher())
+                .setDescription(periodical.getDescription())
+                .setOneMonthCost(periodical.getOneMonthCost())
+                .setStatus(periodical.getStatus())
+                .build();
+    }
+}
@@ -5,11 +5,24 @@ import java.sql.SQLException;
 
 public interface ConnectionProxy extends AutoCloseable {
 
+    /**
+     * Keeps the isolation level of the connection.
+     */
+    int DEFAULT_ISOLATION = -1;
+
     /**
      * Defines begin of transaction.
      */
     void beginTransaction();
 
+    /**
+     * Begins a transaction with the isolation level and the read-only flag, both restored
+     * when the transaction ends.
+     *
+     * @param isolation one of the {@code Connection.TRANSACTION_*} levels or {@link #DEFAULT_ISOLATION}
+     */
+    void beginTransaction(int isolation, boolean readOnly);
+
     /**
      * Saves transaction.
      */
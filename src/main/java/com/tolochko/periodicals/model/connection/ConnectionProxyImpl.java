@@ -6,6 +6,7 @@ import org.apache.log4j.Logger;
 import java.sql.Connection;
 import java.sql.PreparedStatement;
 import java.sql.SQLException;
+import java.sql.Statement;
 
 public class ConnectionProxyImpl implements ConnectionProxy {
     private static final Logger logger = Logger.getLogger(ConnectionProxyImpl.class);
@@ -16,14 +17,48 @@ public class ConnectionProxyImpl implements ConnectionProxy {
 
     private Connection connection;
     private boolean transactionBegun = false;
+    private int isolationToRestore = DEFAULT_ISOLATION;
+    private boolean readOnlyTransaction = false;
+    private boolean closed = false;
+    private Runnable releaseListener;
+    private PreparedStatementCache statementCache;
 
     public ConnectionProxyImpl(Connection connection) {
+        this(connection, null, 0);
+    }
+
+    /**
+     * @param releaseListener    is called once when the underlying connection is returned to the pool
+     * @param statementCacheSize the max number of prepared statements cached by this connection,
+     *                           0 disables caching
+     */
+    public ConnectionProxyImpl(Connection connection, Runnable releaseListener, int statementCacheSize) {
         this.connection = connection;
+        this.releaseListener = releaseListener;
+
+        if (statementCacheSize > 0) {
+            statementCache = new PreparedStatementCache(connection, statementCacheSize);
+        }
     }
 
     @Override
     public void beginTransaction() {
+        beginTransaction(DEFAULT_ISOLATION, false);
+    }
+
+    @Override
+    public void beginTransaction(int isolation, boolean readOnly) {
         try {
+            if (isolation != DEFAULT_ISOLATION) {
+                isolationToRestore = connection.getTransactionIsolation();
+                connection.setTransactionIsolation(isolation);
+            }
+
+            if (readOnly) {
+                connection.setReadOnly(true);
+                readOnlyTransaction = true;
+            }
+
             connection.setAutoCommit(false);
             transactionBegun = true;
             logger.debug("Transaction begun");
@@ -37,8 +72,9 @@ public class ConnectionProxyImpl implements ConnectionProxy {
     public void commitTransaction() {
         try {
             connection.commit();
-            connection.setAutoCommit(true);
-            connection.close();
+            restoreSettings();
+            transactionBegun = false;
+            closeConnection();
             logger.debug("Transaction committed");
         } catch (SQLException e) {
             throw new TransactionException(CAN_NOT_COMMIT_TRANSACTION, e);
@@ -50,33 +86,83 @@ public class ConnectionProxyImpl implements ConnectionProxy {
         try {
             logger.debug("trying to rollback transaction");
             connection.rollback();
-            connection.setAutoCommit(true);
-            connection.close();
+            restoreSettings();
+            transactionBegun = false;
+            closeConnection();
             logger.debug("rollback success");
         } catch (SQLException e) {
             throw new TransactionException(CAN_NOT_ROLLBACK_TRANSACTION, e);
         }
     }
 
+    private void restoreSettings() throws SQLException {
+        connection.setAutoCommit(true);
+
+        if (readOnlyTransaction) {
+            connection.setReadOnly(false);
+            readOnlyTransaction = false;
+        }
+
+        if (isolationToRestore != DEFAULT_ISOLATION) {
+            connection.setTransactionIsolation(isolationToRestore);
+            isolationToRestore = DEFAULT_ISOLATION;
+        }
+    }
+
+    /**
+     * Returns the connection to the pool. Inside a transaction does nothing, the connection
+     * is returned by {@link #commitTransaction()} or {@link #rollbackTransaction()}.
+     */
     @Override
     public void close() {
+        if (transactionBegun) {
+            logger.debug("Close skipped: the connection is held by a transaction");
+            return;
+        }
+
         try {
-            if (!transactionBegun) {
-                connection.close();
-            }
+            closeConnection();
         } catch (SQLException e) {
             logger.error(CAN_NOT_CLOSE_CONNECTION, e);
             throw new TransactionException(CAN_NOT_CLOSE_CONNECTION, e);
         }
     }
 
+    private void closeConnection() throws SQLException {
+        if (closed) {
+            return;
+        }
+
+        closed = true;
+
+        try {
+            if (statementCache != null) {
+                statementCache.closeAll();
+            }
+
+            connection.close();
+        } finally {
+            if (releaseListener != null) {
+                releaseListener.run();
+            }
+        }
+    }
+
     @Override
     public PreparedStatement prepareStatement(String query) throws SQLException {
+        if (statementCache != null) {
+            return statementCache.prepareStatement(query, Statement.NO_GENERATED_KEYS);
+        }
+
         return connection.prepareStatement(query);
     }
 
     @Override
     public PreparedStatement prepareStatement(String query, int autoGeneratedKeys) throws SQLException {
+        if (statementCache != null) {
+            return statementCache.prepareStatement(query, autoGeneratedKeys);
+        }
+
         return connection.prepareStatement(query, autoGeneratedKeys);
     }
 
@@ -0,0 +1,207 @@
+package com.tolochko.periodicals.model.connection;
+
+import org.apache.log4j.Logger;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * A bounded LRU cache of prepared statements of one connection keyed by the sql text and
+ * the generated keys flag. A statement is handed out to one caller at a time: calling
+ * {@code close()} on it closes its open result set, clears its parameters and puts it back into
+ * the cache instead of closing it.
+ */
+public class PreparedStatementCache {
+    private static final Logger logger = Logger.getLogger(PreparedStatementCache.class);
+    private static final AtomicLong hits = new AtomicLong();
+    private static final AtomicLong misses = new AtomicLong();
+    private static final AtomicLong evictions = new AtomicLong();
+
+    private final Connection connection;
+    private final int maxSize;
+    private final Map<Key, PreparedStatement> statements = new LinkedHashMap<>(16, 0.75f, true);
+    private boolean closed;
+
+    public PreparedStatementCache(Connection connection, int maxSize) {
+        this.connection = connection;
+        this.maxSize = maxSize;
+    }
+
+    /**
+     * Returns a cached statement for the query or prepares a new one.
+     *
+     * @param autoGeneratedKeys {@link Statement#RETURN_GENERATED_KEYS} or
+     *                          {@link Statement#NO_GENERATED_KEYS}
+     */
+    public PreparedStatement prepareStatement(String query, int autoGeneratedKeys) throws SQLException {
+        Key key = new Key(query, autoGeneratedKeys);
+        PreparedStatement statement = take(key);
+
+        if (statement == null) {
+            misses.incrementAndGet();
+            statement = (autoGeneratedKeys == Statement.NO_GENERATED_KEYS)
+                    ? connection.prepareStatement(query)
+                    : connection.prepareStatement(query, autoGeneratedKeys);
+        } else {
+            hits.incrementAndGet();
+        }
+
+        return wrap(key, statement);
+    }
+
+    private synchronized PreparedStatement take(Key key) {
+        return statements.remove(key);
+    }
+
+    private synchronized void giveBack(Key key, PreparedStatement statement) {
+        if (closed || statements.containsKey(key)) {
+            closeQuietly(statement);
+            return;
+        }
+
+        statements.put(key, statement);
+
+        if (statements.size() > maxSize) {
+            Iterator<PreparedStatement> eldest = statements.values().iterator();
+            closeQuietly(eldest.next());
+            eldest.remove();
+            evictions.incrementAndGet();
+        }
+    }
+
+    /**
+     * Closes all cached statements. Statements handed out at the moment are closed when given back.
+     */
+    public synchronized void closeAll() {
+        closed = true;
+        statements.values().forEach(PreparedStatementCache::closeQuietly);
+        statements.clear();
+    }
+
+    private PreparedStatement wrap(Key key, PreparedStatement statement) {
+        return (PreparedStatement) Proxy.newProxyInstance(PreparedStatement.class.getClassLoader(),
+                new Class<?>[]{PreparedStatement.class}, new CachedStatementHandler(key, statement));
+    }
+
+    private static void closeQuietly(PreparedStatement statement) {
+        try {
+            statement.close();
+        } catch (SQLException e) {
+            logger.warn("Can not close cached statement", e);
+        }
+    }
+
+    public static long getHits() {
+        return hits.get();
+    }
+
+    public static long getMisses() {
+        return misses.get();
+    }
+
+    public static long getEvictions() {
+        return evictions.get();
+    }
+
+    private class CachedStatementHandler implements InvocationHandler {
+        private final Key key;
+        private final PreparedStatement statement;
+        private boolean released;
+
+        private CachedStatementHandler(Key key, PreparedStatement statement) {
+            this.key = key;
+            this.statement = statement;
+        }
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            switch (method.getName()) {
+                case "close":
+                    release();
+                    return null;
+                case "isClosed":
+                    return released || statement.isClosed();
+                case "equals":
+                    return proxy == args[0];
+                case "hashCode":
+                    return System.identityHashCode(proxy);
+                default:
+                    break;
+            }
+
+            if (released) {
+                throw new SQLException("Statement has been closed: " + key.query);
+            }
+
+            try {
+                return method.invoke(statement, args);
+            } catch (InvocationTargetException e) {
+                throw e.getCause();
+            }
+        }
+
+        private void release() {
+            if (released) {
+                return;
+            }
+
+            released = true;
+
+            try {
+                ResultSet resultSet = statement.getResultSet();
+
+                if (resultSet != null) {
+                    resultSet.close();
+                }
+
+                statement.clearParameters();
+                statement.clearBatch();
+                statement.clearWarnings();
+                giveBack(key, statement);
+            } catch (SQLException e) {
+                logger.debug("Can not reset cached statement, closing it", e);
+                closeQuietly(statement);
+            }
+        }
+    }
+
+    private static final class Key {
+        private final String query;
+        private final int autoGeneratedKeys;
+
+        private Key(String query, int autoGeneratedKeys) {
+            this.query = query;
+            this.autoGeneratedKeys = autoGeneratedKeys;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (o == null || getClass() != o.getClass()) {
+                return false;
+            }
+
+            Key that = (Key) o;
+            return autoGeneratedKeys == that.autoGeneratedKeys && query.equals(that.query);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(query, autoGeneratedKeys);
+        }
+    }
+}
@@ -0,0 +1,59 @@
+package com.tolochko.periodicals.model.connection;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Accumulates how many dao calls the requests made and how many pool borrows were needed
+ * to serve them. Without a request scoped connection every dao call is one borrow, so
+ * {@link #getDaoCallsPerRequest()} is the "before" and {@link #getBorrowsPerRequest()}
+ * is the "after" value.
+ */
+public final class RequestConnectionStatistics {
+    private static final RequestConnectionStatistics instance = new RequestConnectionStatistics();
+
+    private final AtomicLong requests = new AtomicLong();
+    private final AtomicLong daoCalls = new AtomicLong();
+    private final AtomicLong borrows = new AtomicLong();
+
+    private RequestConnectionStatistics() {
+    }
+
+    public static RequestConnectionStatistics getInstance() {
+        return instance;
+    }
+
+    public void record(int requestDaoCalls, int requestBorrows) {
+        requests.incrementAndGet();
+        daoCalls.addAndGet(requestDaoCalls);
+        borrows.addAndGet(requestBorrows);
+    }
+
+    public long getRequests() {
+        return requests.get();
+    }
+
+    public long getDaoCalls() {
+        return daoCalls.get();
+    }
+
+    public long getBorrows() {
+        return borrows.get();
+    }
+
+    public double getDaoCallsPerRequest() {
+        long requestCount = requests.get();
+        return requestCount == 0 ? 0 : (double) daoCalls.get() / requestCount;
+    }
+
+    public double getBorrowsPerRequest() {
+        long requestCount = requests.get();
+        return requestCount == 0 ? 0 : (double) borrows.get() / requestCount;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("RequestConnectionStatistics{requests=%d, daoCalls=%d, borrows=%d, " +
+                        "daoCallsPerRequest=%.2f, borrowsPerRequest=%.2f}", getRequests(), getDaoCalls(),
+                getBorrows(), getDaoCallsPerRequest(), getBorrowsPerRequest());
+    }
+}
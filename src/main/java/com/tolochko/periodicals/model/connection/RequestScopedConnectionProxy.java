@@ -0,0 +1,139 @@
+package com.tolochko.periodicals.model.connection;
+
+import com.tolochko.periodicals.model.dao.pool.ConnectionPool;
+import org.apache.log4j.Logger;
+
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.util.function.Supplier;
+
+import static java.util.Objects.nonNull;
+
+/**
+ * A connection pinned to one http request. The real connection is borrowed from the pool
+ * lazily on the first use and is shared by all dao calls of the request, so a transaction
+ * of the request runs on it too instead of holding a second connection.
+ * {@link #close()} does nothing, the connection goes back to the pool on {@link #release()}
+ * or with the end of a transaction.
+ */
+public class RequestScopedConnectionProxy implements ConnectionProxy {
+    private static final Logger logger = Logger.getLogger(RequestScopedConnectionProxy.class);
+
+    private final Supplier<ConnectionProxy> connectionSupplier;
+    private ConnectionProxy connection;
+    private int usages;
+    private int borrows;
+    private boolean written;
+
+    public RequestScopedConnectionProxy(ConnectionPool pool) {
+        this(pool::getConnection);
+    }
+
+    /**
+     * @param connectionSupplier borrows a connection from the pool, e.g. {@link ConnectionPool#getReadOnlyConnection()}
+     */
+    public RequestScopedConnectionProxy(Supplier<ConnectionProxy> connectionSupplier) {
+        this.connectionSupplier = connectionSupplier;
+    }
+
+    /**
+     * Registers one more dao call served by this connection.
+     */
+    public void registerUsage() {
+        usages++;
+    }
+
+    /**
+     * Marks that the request has written to the db, so its further reads must not go to a replica.
+     */
+    public void markWritten() {
+        written = true;
+    }
+
+    public boolean isWritten() {
+        return written;
+    }
+
+    /**
+     * @return the number of dao calls served by this connection
+     */
+    public int getUsages() {
+        return usages;
+    }
+
+    /**
+     * @return the number of connections borrowed during the request; every transaction end
+     * returns the connection to the pool, so it may be borrowed again
+     */
+    public int getBorrows() {
+        return borrows;
+    }
+
+    /**
+     * Returns the underlying connection (if it has been borrowed) to the pool.
+     */
+    public void release() {
+        if (nonNull(connection)) {
+            logger.debug("Releasing request scoped connection");
+            ConnectionProxy borrowed = connection;
+            connection = null;
+            borrowed.close();
+        }
+    }
+
+    @Override
+    public void beginTransaction() {
+        beginTransaction(DEFAULT_ISOLATION, false);
+    }
+
+    @Override
+    public void beginTransaction(int isolation, boolean readOnly) {
+        getConnection().beginTransaction(isolation, readOnly);
+    }
+
+    /**
+     * Commits the transaction of the underlying connection, which goes back to the pool with it.
+     * The next dao call of the request borrows a new one.
+     */
+    @Override
+    public void commitTransaction() {
+        connection.commitTransaction();
+        connection = null;
+    }
+
+    /**
+     * Rolls back the transaction of the underlying connection, which goes back to the pool with it.
+     */
+    @Override
+    public void rollbackTransaction() {
+        connection.rollbackTransaction();
+        connection = null;
+    }
+
+    /**
+     * Does nothing: the connection stays pinned until the end of the request.
+     */
+    @Override
+    public void close() {
+        // released at the end of the request
+    }
+
+    @Override
+    public PreparedStatement prepareStatement(String query) throws SQLException {
+        return getConnection().prepareStatement(query);
+    }
+
+    @Override
+    public PreparedStatement prepareStatement(String query, int autoGeneratedKeys) throws SQLException {
+        return getConnection().prepareStatement(query, autoGeneratedKeys);
+    }
+
+    private ConnectionProxy getConnection() {
+        if (connection == null) {
+            connection = connectionSupplier.get();
+            borrows++;
+        }
+
+        return connection;
+    }
+}
@@ -0,0 +1,66 @@
+package com.tolochko.periodicals.model.connection;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Accumulates the outcomes of the transactions run by
+ * {@link com.tolochko.periodicals.model.TransactionHelper#inTransaction}: the commits, the retries
+ * after deadlocks, lock wait timeouts or serialization failures, and the failures, of which
+ * {@link #getExhaustedRetries()} still failed that way after the last attempt.
+ */
+public final class TransactionStatistics {
+    private static final TransactionStatistics instance = new TransactionStatistics();
+
+    private final AtomicLong commits = new AtomicLong();
+    private final AtomicLong retries = new AtomicLong();
+    private final AtomicLong failures = new AtomicLong();
+    private final AtomicLong exhaustedRetries = new AtomicLong();
+
+    private TransactionStatistics() {
+    }
+
+    public static TransactionStatistics getInstance() {
+        return instance;
+    }
+
+    public void recordCommit() {
+        commits.incrementAndGet();
+    }
+
+    public void recordRetry() {
+        retries.incrementAndGet();
+    }
+
+    /**
+     * @param retryable whether the transaction failed by a deadlock or a similar cause
+     */
+    public void recordFailure(boolean retryable) {
+        failures.incrementAndGet();
+
+        if (retryable) {
+            exhaustedRetries.incrementAndGet();
+        }
+    }
+
+    public long getCommits() {
+        return commits.get();
+    }
+
+    public long getRetries() {
+        return retries.get();
+    }
+
+    public long getFailures() {
+        return failures.get();
+    }
+
+    public long getExhaustedRetries() {
+        return exhaustedRetries.get();
+    }
+
+    @Override
+    public String toString() {
+        return String.format("TransactionStatistics{commits=%d, retries=%d, failures=%d, exhaustedRetries=%d}",
+                getCommits(), getRetries(), getFailures(), getExhaustedRetries());
+    }
+}
@@ -13,4 +13,6 @@ public interface DaoFactory {
     InvoiceDao getInvoiceDao();
 
     RoleDao getRoleDao();
+
+    DailyRevenueDao getDailyRevenueDao();
 }
@@ -12,6 +12,7 @@ public class MySqlDaoFactory implements DaoFactory {
     private PeriodicalDao periodicalDao = new PeriodicalDaoImpl();
     private SubscriptionDao subscriptionDao = new SubscriptionDaoImpl();
     private UserDao userDao = new UserDaoImpl();
+    private DailyRevenueDao dailyRevenueDao = new DailyRevenueDaoImpl();
 
     private MySqlDaoFactory() {
     }
@@ -46,4 +47,9 @@ public class MySqlDaoFactory implements DaoFactory {
         return roleDao;
     }
 
+    @Override
+    public DailyRevenueDao getDailyRevenueDao() {
+        return dailyRevenueDao;
+    }
+
 }
@@ -0,0 +1,233 @@
+package com.tolochko.periodicals.model.dao.impl;
+
+import com.tolochko.periodicals.model.TransactionHelper;
+import com.tolochko.periodicals.model.connection.ConnectionProxy;
+import com.tolochko.periodicals.model.dao.exception.DaoException;
+import com.tolochko.periodicals.model.dao.interfaces.DailyRevenueDao;
+import com.tolochko.periodicals.model.dao.util.JdbcBatch;
+import com.tolochko.periodicals.model.domain.FinancialStatistics;
+import com.tolochko.periodicals.model.domain.invoice.Invoice;
+import org.apache.log4j.Logger;
+
+import java.sql.Date;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Objects;
+
+public class DailyRevenueDaoImpl implements DailyRevenueDao {
+    private static final Logger logger = Logger.getLogger(DailyRevenueDaoImpl.class);
+
+    private static final String ADD_CREATED = "INSERT INTO daily_revenue " +
+            "(day, category, created_sum, created_count, paid_sum, paid_count) " +
+            "SELECT ?, COALESCE(category, ''), ?, 1, 0, 0 FROM periodicals WHERE id = ? " +
+            "ON DUPLICATE KEY UPDATE created_sum = created_sum + VALUES(created_sum), " +
+            "created_count = created_count + 1";
+
+    private static final String ADD_PAID = "INSERT INTO daily_revenue " +
+            "(day, category, created_sum, created_count, paid_sum, paid_count) " +
+            "SELECT ?, COALESCE(category, ''), 0, 0, ?, 1 FROM periodicals WHERE id = ? " +
+            "ON DUPLICATE KEY UPDATE paid_sum = paid_sum + VALUES(paid_sum), " +
+            "paid_count = paid_count + 1";
+
+    private static final String SELECT_SUMS = "SELECT COALESCE(SUM(created_sum), 0), " +
+            "COALESCE(SUM(paid_sum), 0) FROM daily_revenue WHERE day >= ? AND day < ?";
+
+    private static final String SELECT_CREATED_FOR_REBUILD = "SELECT invoices.creation_date, " +
+            "invoices.total_sum, COALESCE(periodicals.category, '') FROM invoices " +
+            "JOIN periodicals ON (invoices.periodical_id = periodicals.id) " +
+            "WHERE invoices.creation_date >= ? AND invoices.creation_date < ?";
+
+    private static final String SELECT_PAID_FOR_REBUILD = "SELECT invoices.payment_date, " +
+            "invoices.total_sum, COALESCE(periodicals.category, '') FROM invoices " +
+            "JOIN periodicals ON (invoices.periodical_id = periodicals.id) " +
+            "WHERE invoices.status = ? AND invoices.payment_date >= ? AND invoices.payment_date < ?";
+
+    private static final String DELETE_DAYS = "DELETE FROM daily_revenue WHERE day >= ? AND day < ?";
+
+    private static final String INSERT_ROW = "INSERT INTO daily_revenue " +
+            "(day, category, created_sum, created_count, paid_sum, paid_count) " +
+            "VALUES (?, ?, ?, ?, ?, ?)";
+
+    private static final String SELECT_FIRST_INVOICE_DATE = "SELECT MIN(creation_date) FROM invoices";
+
+    @Override
+    public void addCreated(LocalDate day, long periodicalId, long sum) {
+        add(ADD_CREATED, day, periodicalId, sum);
+    }
+
+    @Override
+    public void addPaid(LocalDate day, long periodicalId, long sum) {
+        add(ADD_PAID, day, periodicalId, sum);
+    }
+
+    private void add(String query, LocalDate day, long periodicalId, long sum) {
+        try (ConnectionProxy connection = TransactionHelper.getConnectionProxy();
+             PreparedStatement st = connection.prepareStatement(query)) {
+
+            st.setDate(1, Date.valueOf(day));
+            st.setLong(2, sum);
+            st.setLong(3, periodicalId);
+
+            st.executeUpdate();
+
+        } catch (SQLException e) {
+            String message = String.format("Exception during adding %d for periodical %d on %s into daily revenue.",
+                    sum, periodicalId, day);
+            logger.error(message, e);
+            throw new DaoException(message, e);
+        }
+    }
+
+    @Override
+    public FinancialStatistics getSums(LocalDate fromDay, LocalDate untilDay) {
+        try (ConnectionProxy connection = TransactionHelper.getReadOnlyConnectionProxy();
+             PreparedStatement st = connection.prepareStatement(SELECT_SUMS)) {
+
+            st.setDate(1, Date.valueOf(fromDay));
+            st.setDate(2, Date.valueOf(untilDay));
+
+            try (ResultSet rs = st.executeQuery()) {
+                rs.next();
+                return new FinancialStatistics(rs.getLong(1), rs.getLong(2));
+            }
+
+        } catch (SQLException e) {
+            String message = String.format("Exception during summing daily revenue from %s until %s.",
+                    fromDay, untilDay);
+            logger.error(message, e);
+            throw new DaoException(message, e);
+        }
+    }
+
+    @Override
+    public int rebuild(LocalDate fromDay, LocalDate untilDay) {
+        Timestamp since = new Timestamp(DailyRevenueDao.startOf(fromDay).toEpochMilli());
+        Timestamp until = new Timestamp(DailyRevenueDao.startOf(untilDay).toEpochMilli());
+        Map<RowKey, Row> rows = new LinkedHashMap<>();
+
+        try (ConnectionProxy connection = TransactionHelper.getConnectionProxy()) {
+            try (PreparedStatement st = connection.prepareStatement(SELECT_CREATED_FOR_REBUILD)) {
+                st.setTimestamp(1, since);
+                st.setTimestamp(2, until);
+
+                try (ResultSet rs = st.executeQuery()) {
+                    while (rs.next()) {
+                        Row row = getRow(rows, rs);
+                        row.createdSum += rs.getLong(2);
+                        row.createdCount++;
+                    }
+                }
+            }
+
+            try (PreparedStatement st = connection.prepareStatement(SELECT_PAID_FOR_REBUILD)) {
+                st.setString(1, Invoice.Status.PAID.name().toLowerCase());
+                st.setTimestamp(2, since);
+                st.setTimestamp(3, until);
+
+                try (ResultSet rs = st.executeQuery()) {
+                    while (rs.next()) {
+                        Row row = getRow(rows, rs);
+                        row.paidSum += rs.getLong(2);
+                        row.paidCount++;
+                    }
+                }
+            }
+
+            try (PreparedStatement st = connection.prepareStatement(DELETE_DAYS)) {
+                st.setDate(1, Date.valueOf(fromDay));
+                st.setDate(2, Date.valueOf(untilDay));
+                st.executeUpdate();
+            }
+
+            return JdbcBatch.execute(connection, INSERT_ROW, rows.values(), this::setRowParameters,
+                    JdbcBatch.DEFAULT_BATCH_SIZE);
+
+        } catch (SQLException e) {
+            String message = String.format("Exception during rebuilding daily revenue from %s until %s.",
+                    fromDay, untilDay);
+            logger.error(message, e);
+            throw new DaoException(message, e);
+        }
+    }
+
+    /**
+     * @return the rollup row of the day and category in the first and third columns of the result set
+     */
+    private Row getRow(Map<RowKey, Row> rows, ResultSet rs) throws SQLException {
+        LocalDate day = DailyRevenueDao.dayOf(rs.getTimestamp(1).toInstant());
+        RowKey key = new RowKey(day, rs.getString(3));
+
+        return rows.computeIfAbsent(key, Row::new);
+    }
+
+    private void setRowParameters(PreparedStatement st, Row row) throws SQLException {
+        st.setDate(1, Date.valueOf(row.key.day));
+        st.setString(2, row.key.category);
+        st.setLong(3, row.createdSum);
+        st.setInt(4, row.createdCount);
+        st.setLong(5, row.paidSum);
+        st.setInt(6, row.paidCount);
+    }
+
+    @Override
+    public LocalDate findFirstInvoiceDay() {
+        try (ConnectionProxy connection = TransactionHelper.getReadOnlyConnectionProxy();
+             PreparedStatement st = connection.prepareStatement(SELECT_FIRST_INVOICE_DATE);
+             ResultSet rs = st.executeQuery()) {
+
+            rs.next();
+            Timestamp first = rs.getTimestamp(1);
+
+            return (first == null) ? null : DailyRevenueDao.dayOf(first.toInstant());
+
+        } catch (SQLException e) {
+            String message = "Exception during finding the date of the first invoice.";
+            logger.error(message, e);
+            throw new DaoException(message, e);
+        }
+    }
+
+    private static final class RowKey {
+        private final LocalDate day;
+        private final String category;
+
+        private RowKey(LocalDate day, String category) {
+            this.day = day;
+            this.category = category;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (!(o instanceof RowKey)) {
+                return false;
+            }
+            RowKey other = (RowKey) o;
+            return day.equals(other.day) && Objects.equals(category, other.category);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(day, category);
+        }
+    }
+
+    private static final class Row {
+        private final RowKey key;
+        private long createdSum;
+        private int createdCount;
+        private long paidSum;
+        private int paidCount;
+
+        private Row(RowKey key) {
+            this.key = key;
+        }
+    }
+}
@@ -4,17 +4,23 @@ import com.tolochko.periodicals.model.TransactionHelper;
 import com.tolochko.periodicals.model.connection.ConnectionProxy;
 import com.tolochko.periodicals.model.dao.exception.DaoException;
 import com.tolochko.periodicals.model.dao.interfaces.InvoiceDao;
+import com.tolochko.periodicals.model.dao.mapper.InvoiceRowMapper;
 import com.tolochko.periodicals.model.dao.util.DaoUtil;
+import com.tolochko.periodicals.model.dao.util.JdbcBatch;
+import com.tolochko.periodicals.model.dao.util.ResultSetStreamer;
 import com.tolochko.periodicals.model.domain.invoice.Invoice;
 import org.apache.log4j.Logger;
 
 import java.sql.PreparedStatement;
 import java.sql.ResultSet;
 import java.sql.SQLException;
+import java.sql.Statement;
 import java.sql.Timestamp;
 import java.time.Instant;
-import java.util.ArrayList;
+import java.util.Collection;
 import java.util.List;
+import java.util.Map;
+import java.util.function.Consumer;
 
 import static java.util.Objects.nonNull;
 
@@ -37,6 +43,8 @@ public class InvoiceDaoImpl implements InvoiceDao {
 
     private static final String SELECT_INVOICE_BY_ID = "SELECT * FROM invoices WHERE id = ?";
 
+    private static final String SELECT_ALL = "SELECT * FROM invoices";
+
     private static final String INSERT_INVOICE = "INSERT INTO invoices " +
             "(user_id, periodical_id, period, total_sum, creation_date, payment_date, status) " +
             "VALUES (?, ?, ?, ?, ?, ?, ?)";
@@ -45,6 +53,23 @@ public class InvoiceDaoImpl implements InvoiceDao {
             "SET user_id=?, periodical_id=?, period=?, total_sum=?, creation_date=?, " +
             "payment_date=?, status=? WHERE id=?";
 
+    // creation_date is declared ON UPDATE CURRENT_TIMESTAMP, so it has to be kept explicitly
+    private static final String UPDATE_STATUS_TO_PAID = "UPDATE invoices SET status = ?, payment_date = ?, " +
+            "creation_date = creation_date WHERE id = ? AND status = ?";
+
+    private final int batchSize;
+
+    public InvoiceDaoImpl() {
+        this(JdbcBatch.DEFAULT_BATCH_SIZE);
+    }
+
+    /**
+     * @param batchSize the number of rows sent in one round trip by the batch methods
+     */
+    public InvoiceDaoImpl(int batchSize) {
+        this.batchSize = batchSize;
+    }
+
     @Override
     public List<Invoice> findAllByUserId(long userId) {
         try {
@@ -72,25 +97,19 @@ public class InvoiceDaoImpl implements InvoiceDao {
     private List<Invoice> executeAndGetInvoicesFromRs(String query, long periodicalId)
             throws SQLException {
 
-        try (ConnectionProxy connection = TransactionHelper.getConnectionProxy();
+        try (ConnectionProxy connection = TransactionHelper.getReadOnlyConnectionProxy();
              PreparedStatement st = connection.prepareStatement(query)) {
             st.setLong(1, periodicalId);
 
             try (ResultSet rs = st.executeQuery()) {
-                List<Invoice> invoices = new ArrayList<>();
-
-                while (rs.next()) {
-                    invoices.add(DaoUtil.getInvoiceFromResultSet(rs));
-                }
-
-                return invoices;
+                return DaoUtil.mapAll(rs, InvoiceRowMapper::new);
             }
         }
     }
 
     @Override
     public long getCreatedInvoiceSumByCreationDate(Instant since, Instant until) {
-        try (ConnectionProxy connection = TransactionHelper.getConnectionProxy();
+        try (ConnectionProxy connection = TransactionHelper.getReadOnlyConnectionProxy();
              PreparedStatement st = connection.prepareStatement(SELECT_SUM_BY_CREATION_DATE)) {
 
             st.setTimestamp(1, new Timestamp(since.toEpochMilli()));
@@ -111,7 +130,7 @@ public class InvoiceDaoImpl implements InvoiceDao {
 
     @Override
     public long getPaidInvoiceSumByPaymentDate(Instant since, Instant until) {
-        try (ConnectionProxy connection = TransactionHelper.getConnectionProxy();
+        try (ConnectionProxy connection = TransactionHelper.getReadOnlyConnectionProxy();
              PreparedStatement st = connection.prepareStatement(SELECT_SUM_BY_PAYMENT_DATE)) {
 
             st.setTimestamp(1, new Timestamp(since.toEpochMilli()));
@@ -132,13 +151,13 @@ public class InvoiceDaoImpl implements InvoiceDao {
 
     @Override
     public Invoice findOneById(Long id) {
-        try (ConnectionProxy connection = TransactionHelper.getConnectionProxy();
+        try (ConnectionProxy connection = TransactionHelper.getReadOnlyConnectionProxy();
              PreparedStatement st = connection.prepareStatement(SELECT_INVOICE_BY_ID)) {
 
             st.setLong(1, id);
 
             try (ResultSet rs = st.executeQuery()) {
-                return rs.next() ? DaoUtil.getInvoiceFromResultSet(rs) : null;
+                return DaoUtil.mapFirst(rs, InvoiceRowMapper::new);
             }
 
         } catch (SQLException e) {
@@ -153,17 +172,12 @@ public class InvoiceDaoImpl implements InvoiceDao {
     @Override
     public long add(Invoice invoice) {
         try (ConnectionProxy connection = TransactionHelper.getConnectionProxy();
-             PreparedStatement st = connection.prepareStatement(INSERT_INVOICE)) {
+             PreparedStatement st = connection
+                     .prepareStatement(INSERT_INVOICE, Statement.RETURN_GENERATED_KEYS)) {
 
-            st.setLong(1, invoice.getUser().getId());
-            st.setLong(2, invoice.getPeriodical().getId());
-            st.setInt(3, invoice.getSubscriptionPeriod());
-            st.setDouble(4, invoice.getTotalSum());
-            st.setTimestamp(5, new Timestamp(invoice.getCreationDate().toEpochMilli()));
-            st.setTimestamp(6, getPaymentDate(invoice));
-            st.setString(7, invoice.getStatus().name().toLowerCase());
+            setInvoiceParameters(st, invoice);
 
-            return st.executeUpdate();
+            return DaoUtil.executeInsert(st);
 
         } catch (SQLException e) {
             String message = String.format("Exception during execution statement '%s' for invoice = %s.",
@@ -177,13 +191,7 @@ public class InvoiceDaoImpl implements InvoiceDao {
         try (ConnectionProxy connection = TransactionHelper.getConnectionProxy();
              PreparedStatement st = connection.prepareStatement(UPDATE_BY_ID)) {
 
-            st.setLong(1, invoice.getUser().getId());
-            st.setLong(2, invoice.getPeriodical().getId());
-            st.setInt(3, invoice.getSubscriptionPeriod());
-            st.setDouble(4, invoice.getTotalSum());
-            st.setTimestamp(5, new Timestamp(invoice.getCreationDate().toEpochMilli()));
-            st.setTimestamp(6, getPaymentDate(invoice));
-            st.setString(7, invoice.getStatus().name().toLowerCase());
+            setInvoiceParameters(st, invoice);
             st.setLong(8, invoice.getId());
 
             return st.executeUpdate();
@@ -195,11 +203,79 @@ public class InvoiceDaoImpl implements InvoiceDao {
         }
     }
 
+    @Override
+    public boolean markPaid(long invoiceId, Instant paymentDate) {
+        try (ConnectionProxy connection = TransactionHelper.getConnectionProxy();
+             PreparedStatement st = connection.prepareStatement(UPDATE_STATUS_TO_PAID)) {
+
+            st.setString(1, Invoice.Status.PAID.name().toLowerCase());
+            st.setTimestamp(2, new Timestamp(paymentDate.toEpochMilli()));
+            st.setLong(3, invoiceId);
+            st.setString(4, Invoice.Status.NEW.name().toLowerCase());
+
+            return st.executeUpdate() == 1;
+
+        } catch (SQLException e) {
+            String message = String.format("Exception during marking invoiceId = %d as paid.", invoiceId);
+            logger.error(message, e);
+            throw new DaoException(message, e);
+        }
+    }
+
+    @Override
+    public List<Long> addAll(Collection<Invoice> invoices) {
+        try (ConnectionProxy connection = TransactionHelper.getConnectionProxy()) {
+            return JdbcBatch.insert(connection, INSERT_INVOICE, invoices, this::setInvoiceParameters, batchSize);
+
+        } catch (SQLException e) {
+            String message = String.format("Exception during execution statement '%s' for %d invoices.",
+                    INSERT_INVOICE, invoices.size());
+            throw new DaoException(message, e);
+        }
+    }
+
+    @Override
+    public int updateAll(Map<Long, Invoice> invoices) {
+        try (ConnectionProxy connection = TransactionHelper.getConnectionProxy()) {
+            return JdbcBatch.execute(connection, UPDATE_BY_ID, invoices.entrySet(),
+                    (st, entry) -> {
+                        setInvoiceParameters(st, entry.getValue());
+                        st.setLong(8, entry.getKey());
+                    }, batchSize);
+
+        } catch (SQLException e) {
+            String message = String.format("Exception during execution statement '%s' for %d invoices.",
+                    UPDATE_BY_ID, invoices.size());
+            throw new DaoException(message, e);
+        }
+    }
+
+    private void setInvoiceParameters(PreparedStatement st, Invoice invoice) throws SQLException {
+        st.setLong(1, invoice.getUser().getId());
+        st.setLong(2, invoice.getPeriodical().getId());
+        st.setInt(3, invoice.getSubscriptionPeriod());
+        st.setDouble(4, invoice.getTotalSum());
+        st.setTimestamp(5, new Timestamp(invoice.getCreationDate().toEpochMilli()));
+        st.setTimestamp(6, getPaymentDate(invoice));
+        st.setString(7, invoice.getStatus().name().toLowerCase());
+    }
+
     private Timestamp getPaymentDate(Invoice invoice) {
         Instant paymentDate = invoice.getPaymentDate();
         return nonNull(paymentDate) ? new Timestamp(paymentDate.toEpochMilli()) : null;
     }
 
+    @Override
+    public long forEach(Consumer<? super Invoice> action) {
+        try (ConnectionProxy connection = TransactionHelper.getStreamingConnectionProxy()) {
+            return ResultSetStreamer.forEach(connection, SELECT_ALL, InvoiceRowMapper::new, action);
+
+        } catch (SQLException e) {
+            String message = String.format("Exception during streaming statement '%s'.", SELECT_ALL);
+            throw new DaoException(message, e);
+        }
+    }
+
     @Override
     public List<Invoice> findAll() {
         throw new UnsupportedOperationException();
@@ -4,7 +4,12 @@ import com.tolochko.periodicals.model.TransactionHelper;
 import com.tolochko.periodicals.model.connection.ConnectionProxy;
 import com.tolochko.periodicals.model.dao.exception.DaoException;
 import com.tolochko.periodicals.model.dao.interfaces.PeriodicalDao;
+import com.tolochko.periodicals.model.dao.mapper.PeriodicalRowMapper;
 import com.tolochko.periodicals.model.dao.util.DaoUtil;
+import com.tolochko.periodicals.model.dao.util.InClause;
+import com.tolochko.periodicals.model.dao.util.JdbcBatch;
+import com.tolochko.periodicals.model.dao.util.ResultSetStreamer;
+import com.tolochko.periodicals.model.domain.PeriodicalNumberByCategory;
 import com.tolochko.periodicals.model.domain.periodical.Periodical;
 import com.tolochko.periodicals.model.domain.periodical.PeriodicalCategory;
 import com.tolochko.periodicals.model.domain.subscription.Subscription;
@@ -13,10 +18,16 @@ import org.apache.log4j.Logger;
 import java.sql.PreparedStatement;
 import java.sql.ResultSet;
 import java.sql.SQLException;
+import java.sql.Statement;
 import java.sql.Timestamp;
 import java.time.Instant;
 import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.EnumMap;
 import java.util.List;
+import java.util.Map;
+import java.util.function.Consumer;
 
 public class PeriodicalDaoImpl implements PeriodicalDao {
     private static final Logger logger = Logger.getLogger(UserDaoImpl.class);
@@ -29,9 +40,26 @@ public class PeriodicalDaoImpl implements PeriodicalDao {
 
     private static final String SELECT_ALL_PERIODICAL = "SELECT * FROM periodicals";
 
+    private static final String SELECT_PERIODICALS_BY_IDS = "SELECT * FROM periodicals WHERE id IN (%s)";
+
+    private static final String SELECT_PAGE_AFTER = "SELECT * FROM periodicals " +
+            "WHERE id > ? ORDER BY id LIMIT ?";
+
+    private static final String SELECT_PAGE_AFTER_BY_STATUS = "SELECT * FROM periodicals " +
+            "WHERE status = ? AND id > ? ORDER BY id LIMIT ?";
+
+    private static final String SELECT_PAGE_BEFORE = "SELECT * FROM periodicals " +
+            "WHERE id < ? ORDER BY id DESC LIMIT ?";
+
+    private static final String SELECT_PAGE_BEFORE_BY_STATUS = "SELECT * FROM periodicals " +
+            "WHERE status = ? AND id < ? ORDER BY id DESC LIMIT ?";
+
     private static final String FIND_COUNT_OF_PERIODICAL = "SELECT COUNT(id) FROM periodicals " +
             "WHERE category = ? AND status = ?";
 
+    private static final String COUNT_BY_CATEGORY_AND_STATUS = "SELECT category, status, COUNT(id) " +
+            "FROM periodicals GROUP BY category, status";
+
     private static final String INSERT_PERIODICAL = "INSERT INTO periodicals " +
             "(name, category, publisher, description, one_month_cost, status) " +
             "VALUES (?, ?, ?, ?, ?, ?)";
@@ -45,22 +73,43 @@ public class PeriodicalDaoImpl implements PeriodicalDao {
             "WHERE id=? AND 0 = (SELECT count(*) FROM subscriptions AS s " +
             "WHERE s.periodical_id = p.id AND s.status = ?)";
 
-    private static final String DELETE_PERIODICAL = "DELETE FROM periodicals " +
-            "WHERE status = ?";
+    private static final String SELECT_DISCARDED_IDS_FOR_UPDATE = "SELECT id FROM periodicals " +
+            "WHERE status = ? ORDER BY id LIMIT ? FOR UPDATE";
+
+    private static final String INSERT_INTO_ARCHIVE_BY_IDS = "INSERT INTO periodical_archive " +
+            "(name, category, publisher, description, one_month_cost, delete_date) " +
+            "SELECT name, category, publisher, description, one_month_cost, ? FROM periodicals " +
+            "WHERE id IN (%s)";
+
+    private static final String DELETE_PERIODICALS_BY_IDS = "DELETE FROM periodicals WHERE id IN (%s)";
 
     private static final String INSERT_INTO_ARCHIVE = "INSERT INTO periodical_archive " +
             "(name, category, publisher, description, one_month_cost, delete_date) " +
             "VALUES (?, ?, ?, ?, ?, ?)";
 
+    private final int batchSize;
+
+    public PeriodicalDaoImpl() {
+        this(JdbcBatch.DEFAULT_BATCH_SIZE);
+    }
+
+    /**
+     * @param batchSize the number of rows sent in one round trip by the batch methods
+     *                  and the maximum number of ids in one {@code IN} list
+     */
+    public PeriodicalDaoImpl(int batchSize) {
+        this.batchSize = batchSize;
+    }
+
     @Override
     public Periodical findOneByName(String name) {
-        try (ConnectionProxy connection = TransactionHelper.getConnectionProxy();
+        try (ConnectionProxy connection = TransactionHelper.getReadOnlyConnectionProxy();
              PreparedStatement ps = connection.prepareStatement(SELECT_PERIODICAL_BY_NAME)) {
 
             ps.setString(1, name);
 
             try (ResultSet rs = ps.executeQuery()) {
-                return rs.next() ? DaoUtil.getPeriodicalFromResultSet(rs) : null;
+                return DaoUtil.mapFirst(rs, PeriodicalRowMapper::new);
             }
         } catch (SQLException e) {
             String message =
@@ -72,13 +121,13 @@ public class PeriodicalDaoImpl implements PeriodicalDao {
 
     @Override
     public Periodical findOneById(Long id) {
-        try (ConnectionProxy connection = TransactionHelper.getConnectionProxy();
+        try (ConnectionProxy connection = TransactionHelper.getReadOnlyConnectionProxy();
              PreparedStatement ps = connection.prepareStatement(SELECT_PERIODICAL_BY_ID)) {
 
             ps.setLong(1, id);
 
             try (ResultSet rs = ps.executeQuery()) {
-                return rs.next() ? DaoUtil.getPeriodicalFromResultSet(rs) : null;
+                return DaoUtil.mapFirst(rs, PeriodicalRowMapper::new);
             }
 
         } catch (SQLException e) {
@@ -91,21 +140,13 @@ public class PeriodicalDaoImpl implements PeriodicalDao {
 
     @Override
     public List<Periodical> findAll() {
-        try (ConnectionProxy connection = TransactionHelper.getConnectionProxy();
+        try (ConnectionProxy connection = TransactionHelper.getReadOnlyConnectionProxy();
              PreparedStatement st = connection.prepareStatement(SELECT_ALL_PERIODICAL)) {
 
-            ResultSet rs = st.executeQuery();
-
-            List<Periodical> periodicals = new ArrayList<>();
-
-            while (rs.next()) {
-                Periodical periodical = DaoUtil.getPeriodicalFromResultSet(rs);
-
-                periodicals.add(periodical);
+            try (ResultSet rs = st.executeQuery()) {
+                return DaoUtil.mapAll(rs, PeriodicalRowMapper::new);
             }
 
-            return periodicals;
-
         } catch (SQLException e) {
             String message = "Exception during retrieving all periodicals.";
             logger.error(message, e);
@@ -113,25 +154,102 @@ public class PeriodicalDaoImpl implements PeriodicalDao {
         }
     }
 
+    @Override
+    public long forEach(Consumer<? super Periodical> action) {
+        try (ConnectionProxy connection = TransactionHelper.getStreamingConnectionProxy()) {
+            return ResultSetStreamer.forEach(connection, SELECT_ALL_PERIODICAL, PeriodicalRowMapper::new, action);
+
+        } catch (SQLException e) {
+            String message = "Exception during streaming all periodicals.";
+            logger.error(message, e);
+            throw new DaoException(message, e);
+        }
+    }
+
     @Override
     public List<Periodical> findAllByStatus(Periodical.Status status) {
-        try (ConnectionProxy connection = TransactionHelper.getConnectionProxy();
+        try (ConnectionProxy connection = TransactionHelper.getReadOnlyConnectionProxy();
              PreparedStatement st = connection.prepareStatement(SELECT_PERIODICAL_BY_STATUS)) {
 
             st.setString(1, status.name().toLowerCase());
 
-            ResultSet rs = st.executeQuery();
+            try (ResultSet rs = st.executeQuery()) {
+                return DaoUtil.mapAll(rs, PeriodicalRowMapper::new);
+            }
+        } catch (SQLException e) {
+            String message = String.format("Exception during retrieving periodicals with status '%s'.", status);
+            logger.error(message, e);
+            throw new DaoException(message, e);
+        }
+    }
 
-            List<Periodical> periodicals = new ArrayList<>();
-            while (rs.next()) {
-                Periodical periodical = DaoUtil.getPeriodicalFromResultSet(rs);
+    @Override
+    public List<Periodical> findAllByIds(Collection<Long> ids) {
+        List<Periodical> periodicals = new ArrayList<>(ids.size());
 
-                periodicals.add(periodical);
+        if (ids.isEmpty()) {
+            return periodicals;
+        }
+
+        try (ConnectionProxy connection = TransactionHelper.getReadOnlyConnectionProxy()) {
+            for (List<Long> chunk : InClause.chunks(ids, batchSize)) {
+                periodicals.addAll(findAllByIds(connection, chunk));
             }
 
             return periodicals;
+
         } catch (SQLException e) {
-            String message = String.format("Exception during retrieving periodicals with status '%s'.", status);
+            String message = String.format("Exception during retrieving %d periodicals by ids.", ids.size());
+            logger.error(message, e);
+            throw new DaoException(message, e);
+        }
+    }
+
+    private List<Periodical> findAllByIds(ConnectionProxy connection, List<Long> ids) throws SQLException {
+        int placeholderCount = InClause.placeholderCount(ids.size(), batchSize);
+        String query = String.format(SELECT_PERIODICALS_BY_IDS, InClause.placeholders(placeholderCount));
+
+        try (PreparedStatement st = connection.prepareStatement(query)) {
+            setIds(st, 1, ids, placeholderCount);
+
+            try (ResultSet rs = st.executeQuery()) {
+                return DaoUtil.mapAll(rs, PeriodicalRowMapper::new);
+            }
+        }
+    }
+
+    @Override
+    public List<Periodical> findPage(long afterId, int limit, Periodical.Status status) {
+        String query = (status == null) ? SELECT_PAGE_AFTER : SELECT_PAGE_AFTER_BY_STATUS;
+        return findPage(query, afterId, limit, status);
+    }
+
+    @Override
+    public List<Periodical> findPageBefore(long beforeId, int limit, Periodical.Status status) {
+        String query = (status == null) ? SELECT_PAGE_BEFORE : SELECT_PAGE_BEFORE_BY_STATUS;
+        List<Periodical> periodicals = findPage(query, beforeId, limit, status);
+        Collections.reverse(periodicals);
+
+        return periodicals;
+    }
+
+    private List<Periodical> findPage(String query, long cursorId, int limit, Periodical.Status status) {
+        try (ConnectionProxy connection = TransactionHelper.getReadOnlyConnectionProxy();
+             PreparedStatement st = connection.prepareStatement(query)) {
+
+            int index = 1;
+            if (status != null) {
+                st.setString(index++, status.name().toLowerCase());
+            }
+            st.setLong(index++, cursorId);
+            st.setInt(index, limit);
+
+            try (ResultSet rs = st.executeQuery()) {
+                return DaoUtil.mapAll(rs, PeriodicalRowMapper::new);
+            }
+        } catch (SQLException e) {
+            String message = String.format("Exception during retrieving a page of periodicals " +
+                    "with cursor = %d and status '%s'.", cursorId, status);
             logger.error(message, e);
             throw new DaoException(message, e);
         }
@@ -139,7 +257,7 @@ public class PeriodicalDaoImpl implements PeriodicalDao {
 
     @Override
     public int findNumberOfPeriodicalsWithCategoryAndStatus(PeriodicalCategory category, Periodical.Status status) {
-        try (ConnectionProxy connection = TransactionHelper.getConnectionProxy();
+        try (ConnectionProxy connection = TransactionHelper.getReadOnlyConnectionProxy();
              PreparedStatement st = connection.prepareStatement(FIND_COUNT_OF_PERIODICAL)) {
 
             st.setString(1, category.name().toLowerCase());
@@ -159,19 +277,64 @@ public class PeriodicalDaoImpl implements PeriodicalDao {
         }
     }
 
+    @Override
+    public List<PeriodicalNumberByCategory> findNumberOfPeriodicalsByCategoryAndStatus() {
+        Map<PeriodicalCategory, PeriodicalNumberByCategory.Builder> builders =
+                new EnumMap<>(PeriodicalCategory.class);
+
+        for (PeriodicalCategory category : PeriodicalCategory.values()) {
+            builders.put(category, PeriodicalNumberByCategory.newBuilder(category));
+        }
+
+        try (ConnectionProxy connection = TransactionHelper.getReadOnlyConnectionProxy();
+             PreparedStatement st = connection.prepareStatement(COUNT_BY_CATEGORY_AND_STATUS);
+             ResultSet rs = st.executeQuery()) {
+
+            while (rs.next()) {
+                PeriodicalCategory category = PeriodicalRowMapper.toCategory(rs.getString(1));
+                Periodical.Status status = PeriodicalRowMapper.toStatus(rs.getString(2));
+                setNumber(builders.get(category), status, rs.getInt(3));
+            }
+
+        } catch (SQLException e) {
+            String message = "Exception during getting numbers of periodicals by category and status.";
+            logger.error(message, e);
+            throw new DaoException(message, e);
+        }
+
+        List<PeriodicalNumberByCategory> statistics = new ArrayList<>(builders.size());
+        for (PeriodicalNumberByCategory.Builder builder : builders.values()) {
+            statistics.add(builder.build());
+        }
+
+        return statistics;
+    }
+
+    private void setNumber(PeriodicalNumberByCategory.Builder builder, Periodical.Status status, int number) {
+        switch (status) {
+            case ACTIVE:
+                builder.setActive(number);
+                break;
+            case INACTIVE:
+                builder.setInActive(number);
+                break;
+            case DISCARDED:
+                builder.setDiscarded(number);
+                break;
+            default:
+                throw new IllegalArgumentException("Unknown periodical status: " + status);
+        }
+    }
+
     @Override
     public long add(Periodical periodical) {
         try (ConnectionProxy connection = TransactionHelper.getConnectionProxy();
-             PreparedStatement st = connection.prepareStatement(INSERT_PERIODICAL)) {
+             PreparedStatement st = connection
+                     .prepareStatement(INSERT_PERIODICAL, Statement.RETURN_GENERATED_KEYS)) {
 
-            st.setString(1, periodical.getName());
-            st.setString(2, periodical.getCategory().name().toLowerCase());
-            st.setString(3, periodical.getPublisher());
-            st.setString(4, periodical.getDescription());
-            st.setLong(5, periodical.getOneMonthCost());
-            st.setString(6, periodical.getStatus().name().toLowerCase());
+            setPeriodicalParameters(st, periodical);
 
-            return st.executeUpdate();
+            return DaoUtil.executeInsert(st);
 
         } catch (SQLException e) {
             String message = String.format("Exception during inserting %s into 'periodicals'.", periodical);
@@ -185,12 +348,7 @@ public class PeriodicalDaoImpl implements PeriodicalDao {
         try (ConnectionProxy connection = TransactionHelper.getConnectionProxy();
              PreparedStatement st = connection.prepareStatement(UPDATE_PERIODICAL_BY_ID)) {
 
-            st.setString(1, periodical.getName());
-            st.setString(2, periodical.getCategory().name().toLowerCase());
-            st.setString(3, periodical.getPublisher());
-            st.setString(4, periodical.getDescription());
-            st.setLong(5, periodical.getOneMonthCost());
-            st.setString(6, periodical.getStatus().name().toLowerCase());
+            setPeriodicalParameters(st, periodical);
             st.setLong(7, periodical.getId());
 
             return st.executeUpdate();
@@ -202,6 +360,44 @@ public class PeriodicalDaoImpl implements PeriodicalDao {
         }
     }
 
+    @Override
+    public List<Long> addAll(Collection<Periodical> periodicals) {
+        try (ConnectionProxy connection = TransactionHelper.getConnectionProxy()) {
+            return JdbcBatch.insert(connection, INSERT_PERIODICAL, periodicals,
+                    this::setPeriodicalParameters, batchSize);
+
+        } catch (SQLException e) {
+            String message = String.format("Exception during inserting %d periodicals.", periodicals.size());
+            logger.error(message, e);
+            throw new DaoException(message, e);
+        }
+    }
+
+    @Override
+    public int updateAll(Map<Long, Periodical> periodicals) {
+        try (ConnectionProxy connection = TransactionHelper.getConnectionProxy()) {
+            return JdbcBatch.execute(connection, UPDATE_PERIODICAL_BY_ID, periodicals.entrySet(),
+                    (st, entry) -> {
+                        setPeriodicalParameters(st, entry.getValue());
+                        st.setLong(7, entry.getKey());
+                    }, batchSize);
+
+        } catch (SQLException e) {
+            String message = String.format("Exception during updating %d periodicals.", periodicals.size());
+            logger.error(message, e);
+            throw new DaoException(message, e);
+        }
+    }
+
+    private void setPeriodicalParameters(PreparedStatement st, Periodical periodical) throws SQLException {
+        st.setString(1, periodical.getName());
+        st.setString(2, periodical.getCategory().name().toLowerCase());
+        st.setString(3, periodical.getPublisher());
+        st.setString(4, periodical.getDescription());
+        st.setLong(5, periodical.getOneMonthCost());
+        st.setString(6, periodical.getStatus().name().toLowerCase());
+    }
+
     @Override
     public int updateAndSetDiscarded(Periodical periodical) {
         try (ConnectionProxy connection = TransactionHelper.getConnectionProxy();
@@ -226,33 +422,69 @@ public class PeriodicalDaoImpl implements PeriodicalDao {
     }
 
     @Override
-    public int deleteAllDiscarded() {
-        try (ConnectionProxy connection = TransactionHelper.getConnectionProxy();
-             PreparedStatement st = connection.prepareStatement(DELETE_PERIODICAL)) {
+    public int archiveDiscardedChunk(Instant deleteDate, int chunkSize) {
+        if (chunkSize <= 0) {
+            throw new IllegalArgumentException("chunkSize should be a positive number.");
+        }
 
-            st.setString(1, Periodical.Status.DISCARDED.name());
+        try (ConnectionProxy connection = TransactionHelper.getConnectionProxy()) {
+            List<Long> ids = new ArrayList<>();
 
-            return st.executeUpdate();
+            try (PreparedStatement st = connection.prepareStatement(SELECT_DISCARDED_IDS_FOR_UPDATE)) {
+                st.setString(1, Periodical.Status.DISCARDED.name().toLowerCase());
+                st.setInt(2, chunkSize);
+
+                try (ResultSet rs = st.executeQuery()) {
+                    while (rs.next()) {
+                        ids.add(rs.getLong(1));
+                    }
+                }
+            }
+
+            if (ids.isEmpty()) {
+                return 0;
+            }
+
+            int placeholderCount = InClause.placeholderCount(ids.size(), chunkSize);
+            String placeholders = InClause.placeholders(placeholderCount);
+
+            try (PreparedStatement st = connection
+                    .prepareStatement(String.format(INSERT_INTO_ARCHIVE_BY_IDS, placeholders))) {
+                st.setTimestamp(1, new Timestamp(deleteDate.toEpochMilli()));
+                setIds(st, 2, ids, placeholderCount);
+                st.executeUpdate();
+            }
+
+            try (PreparedStatement st = connection
+                    .prepareStatement(String.format(DELETE_PERIODICALS_BY_IDS, placeholders))) {
+                setIds(st, 1, ids, placeholderCount);
+
+                return st.executeUpdate();
+            }
 
         } catch (SQLException e) {
-            String message = "Exception during deleting discarded periodicals.";
+            String message = "Exception during archiving discarded periodicals.";
             logger.error(message, e);
             throw new DaoException(message, e);
         }
     }
 
+    /**
+     * Sets the ids from the parameter {@code first} on, repeating the last id up to the placeholder count.
+     */
+    private void setIds(PreparedStatement st, int first, List<Long> ids, int placeholderCount) throws SQLException {
+        for (int i = 0; i < placeholderCount; i++) {
+            st.setLong(first + i, ids.get(Math.min(i, ids.size() - 1)));
+        }
+    }
+
     @Override
     public int addIntoArchive(Periodical periodical) {
         try (ConnectionProxy connection = TransactionHelper.getConnectionProxy();
              PreparedStatement st = connection.prepareStatement(INSERT_INTO_ARCHIVE)) {
 
             logger.debug("adding into archive");
-            st.setString(1, periodical.getName());
-            st.setString(2, periodical.getCategory().name().toLowerCase());
-            st.setString(3, periodical.getPublisher());
-            st.setString(4, periodical.getDescription());
-            st.setLong(5, periodical.getOneMonthCost());
-            st.setTimestamp(6, new Timestamp(Instant.now().toEpochMilli()));
+            setArchiveParameters(st, periodical, new Timestamp(Instant.now().toEpochMilli()));
 
             return st.executeUpdate();
 
@@ -264,6 +496,16 @@ public class PeriodicalDaoImpl implements PeriodicalDao {
 
     }
 
+    private void setArchiveParameters(PreparedStatement st, Periodical periodical, Timestamp deleteDate)
+            throws SQLException {
+        st.setString(1, periodical.getName());
+        st.setString(2, periodical.getCategory().name().toLowerCase());
+        st.setString(3, periodical.getPublisher());
+        st.setString(4, periodical.getDescription());
+        st.setLong(5, periodical.getOneMonthCost());
+        st.setTimestamp(6, deleteDate);
+    }
+
     @Override
     public void delete(long id) {
         String query = "DELETE FROM periodicals WHERE id = ?";
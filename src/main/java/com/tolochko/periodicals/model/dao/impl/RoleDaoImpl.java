@@ -24,7 +24,7 @@ public class RoleDaoImpl implements RoleDao {
 
     @Override
     public User.Role findRoleByUserName(String userName) {
-        try (ConnectionProxy connection = TransactionHelper.getConnectionProxy();
+        try (ConnectionProxy connection = TransactionHelper.getReadOnlyConnectionProxy();
              PreparedStatement st = connection.prepareStatement(SELECT_ROLE_BY_USERNAME)) {
             st.setString(1, userName);
 
@@ -4,7 +4,11 @@ import com.tolochko.periodicals.model.TransactionHelper;
 import com.tolochko.periodicals.model.connection.ConnectionProxy;
 import com.tolochko.periodicals.model.dao.exception.DaoException;
 import com.tolochko.periodicals.model.dao.interfaces.SubscriptionDao;
+import com.tolochko.periodicals.model.dao.mapper.PeriodicalRowMapper;
+import com.tolochko.periodicals.model.dao.mapper.SubscriptionRowMapper;
 import com.tolochko.periodicals.model.dao.util.DaoUtil;
+import com.tolochko.periodicals.model.dao.util.JdbcBatch;
+import com.tolochko.periodicals.model.dao.util.ResultSetStreamer;
 import com.tolochko.periodicals.model.domain.subscription.Subscription;
 import com.tolochko.periodicals.model.domain.user.User;
 import org.apache.log4j.Logger;
@@ -12,9 +16,14 @@ import org.apache.log4j.Logger;
 import java.sql.PreparedStatement;
 import java.sql.ResultSet;
 import java.sql.SQLException;
+import java.sql.Statement;
 import java.sql.Timestamp;
+import java.time.Instant;
 import java.util.ArrayList;
+import java.util.Collection;
 import java.util.List;
+import java.util.Map;
+import java.util.function.Consumer;
 
 public class SubscriptionDaoImpl implements SubscriptionDao {
     private static final Logger logger = Logger.getLogger(UserDaoImpl.class);
@@ -39,16 +48,44 @@ public class SubscriptionDaoImpl implements SubscriptionDao {
             "SET user_id=?, periodical_id=?, delivery_address=?, end_date=?, status=? " +
             "WHERE id=?";
 
+    private static final String SELECT_ALL = "SELECT * FROM subscriptions";
+
+    private static final String SELECT_EXPIRED_ID_RANGE = "SELECT MIN(id), MAX(id) FROM subscriptions " +
+            "WHERE status = ? AND end_date < ?";
+
+    private static final String UPDATE_EXPIRED_IN_ID_RANGE = "UPDATE subscriptions SET status = ? " +
+            "WHERE status = ? AND end_date < ? AND id BETWEEN ? AND ?";
+
+    private static final String INSERT_OR_PROLONG = "INSERT INTO subscriptions " +
+            "(user_id, periodical_id, delivery_address, end_date, status) " +
+            "SELECT id, ?, address, DATE_ADD(?, INTERVAL ? MONTH), ? FROM users WHERE id = ? " +
+            "ON DUPLICATE KEY UPDATE subscriptions.end_date = DATE_ADD(" +
+            "IF(subscriptions.status = ? AND subscriptions.end_date > ?, subscriptions.end_date, ?), " +
+            "INTERVAL ? MONTH), subscriptions.status = VALUES(status)";
+
+    private final int batchSize;
+
+    public SubscriptionDaoImpl() {
+        this(JdbcBatch.DEFAULT_BATCH_SIZE);
+    }
+
+    /**
+     * @param batchSize the number of rows sent in one round trip by the batch methods
+     */
+    public SubscriptionDaoImpl(int batchSize) {
+        this.batchSize = batchSize;
+    }
+
 
     @Override
     public Subscription findOneByUserIdAndPeriodicalId(long userId, long periodicalId) {
-        try (ConnectionProxy connection = TransactionHelper.getConnectionProxy();
+        try (ConnectionProxy connection = TransactionHelper.getReadOnlyConnectionProxy();
              PreparedStatement st = connection.prepareStatement(SELECT_SUBSCRIPTION_BY_USERID)) {
             st.setLong(1, userId);
             st.setLong(2, periodicalId);
 
             try (ResultSet rs = st.executeQuery()) {
-                return rs.next() ? DaoUtil.getSubscriptionFromRs(rs) : null;
+                return DaoUtil.mapFirst(rs, SubscriptionRowMapper::new);
             }
 
         } catch (SQLException e) {
@@ -60,21 +97,94 @@ public class SubscriptionDaoImpl implements SubscriptionDao {
     }
 
     @Override
-    public List<Subscription> findAllByPeriodicalIdAndStatus(long periodicalId, Subscription.Status status) {
+    public int deactivateExpired(Instant now, int chunkSize) {
+        if (chunkSize <= 0) {
+            throw new IllegalArgumentException("chunkSize should be a positive number.");
+        }
+
+        Timestamp nowTimestamp = new Timestamp(now.toEpochMilli());
+
+        try (ConnectionProxy connection = TransactionHelper.getConnectionProxy()) {
+            long minId;
+            long maxId;
+
+            try (PreparedStatement st = connection.prepareStatement(SELECT_EXPIRED_ID_RANGE)) {
+                st.setString(1, Subscription.Status.ACTIVE.name().toLowerCase());
+                st.setTimestamp(2, nowTimestamp);
+
+                try (ResultSet rs = st.executeQuery()) {
+                    rs.next();
+                    minId = rs.getLong(1);
+                    maxId = rs.getLong(2);
+
+                    if (rs.wasNull()) {
+                        return 0;
+                    }
+                }
+            }
+
+            int deactivated = 0;
+
+            try (PreparedStatement st = connection.prepareStatement(UPDATE_EXPIRED_IN_ID_RANGE)) {
+                st.setString(1, Subscription.Status.INACTIVE.name().toLowerCase());
+                st.setString(2, Subscription.Status.ACTIVE.name().toLowerCase());
+                st.setTimestamp(3, nowTimestamp);
+
+                for (long fromId = minId; fromId <= maxId; fromId += chunkSize) {
+                    st.setLong(4, fromId);
+                    st.setLong(5, Math.min(fromId + chunkSize - 1, maxId));
+                    deactivated += st.executeUpdate();
+                }
+            }
+
+            return deactivated;
+
+        } catch (SQLException e) {
+            String message = String.format("Exception during deactivating subscriptions expired by %s.", now);
+            logger.error(message, e);
+            throw new DaoException(message, e);
+        }
+    }
+
+    @Override
+    public int addOrProlong(long userId, long periodicalId, int months, Instant now) {
+        Timestamp nowTimestamp = new Timestamp(now.toEpochMilli());
+        String active = Subscription.Status.ACTIVE.name().toLowerCase();
+
         try (ConnectionProxy connection = TransactionHelper.getConnectionProxy();
+             PreparedStatement st = connection.prepareStatement(INSERT_OR_PROLONG)) {
+
+            st.setLong(1, periodicalId);
+            st.setTimestamp(2, nowTimestamp);
+            st.setInt(3, months);
+            st.setString(4, active);
+            st.setLong(5, userId);
+            // the end date is assigned before the status, so it sees the old status
+            st.setString(6, active);
+            st.setTimestamp(7, nowTimestamp);
+            st.setTimestamp(8, nowTimestamp);
+            st.setInt(9, months);
+
+            return st.executeUpdate();
+
+        } catch (SQLException e) {
+            String message = String.format("Exception during prolonging a subscription for userId = %d, " +
+                    "periodicalId = %d.", userId, periodicalId);
+            logger.error(message, e);
+            throw new DaoException(message, e);
+        }
+    }
+
+    @Override
+    public List<Subscription> findAllByPeriodicalIdAndStatus(long periodicalId, Subscription.Status status) {
+        try (ConnectionProxy connection = TransactionHelper.getReadOnlyConnectionProxy();
              PreparedStatement st = connection.prepareStatement(SELECT_ALL_SUBSCRIPTION_BY_STATUS)) {
 
             st.setLong(1, periodicalId);
             st.setString(2, status.name().toLowerCase());
 
             try (ResultSet rs = st.executeQuery()) {
-                List<Subscription> subscriptions = new ArrayList<>();
-
-                while (rs.next()) {
-                    subscriptions.add(DaoUtil.getSubscriptionFromRs(rs));
-                }
-
-                return subscriptions;
+                return DaoUtil.mapAll(rs, SubscriptionRowMapper::new);
             }
         } catch (SQLException e) {
             String message = String.format("Exception during finding all periodicals for status = %s, periodicalId = %d",
@@ -86,31 +196,27 @@ public class SubscriptionDaoImpl implements SubscriptionDao {
 
     @Override
     public List<Subscription> findAllByUser(User user) {
-        try (ConnectionProxy connection = TransactionHelper.getConnectionProxy();
+        try (ConnectionProxy connection = TransactionHelper.getReadOnlyConnectionProxy();
              PreparedStatement st = connection.prepareStatement(SELECT_SUBSCRIPTION_BY_USER)) {
 
             st.setLong(1, user.getId());
 
-            ResultSet rs = st.executeQuery();
-
-            List<Subscription> subscriptions = new ArrayList<>();
+            try (ResultSet rs = st.executeQuery()) {
+                SubscriptionRowMapper subscriptionMapper = new SubscriptionRowMapper(rs);
+                PeriodicalRowMapper periodicalMapper = new PeriodicalRowMapper(rs);
+                List<Subscription> subscriptions = new ArrayList<>();
 
-            while (rs.next()) {
-                Subscription.Builder subscriptionBuilder = new Subscription.Builder();
+                while (rs.next()) {
+                    Subscription subscription = subscriptionMapper.mapRow(rs);
+                    subscription.setUser(user);
+                    subscription.setPeriodical(periodicalMapper.mapRow(rs));
 
-                subscriptionBuilder.setId(rs.getLong("subscriptions.id"))
-                        .setUser(user)
-                        .setPeriodical(DaoUtil.getPeriodicalFromResultSet(rs))
-                        .setDeliveryAddress(rs.getString("subscriptions.delivery_address"))
-                        .setEndDate(rs.getTimestamp("subscriptions.end_date").toInstant())
-                        .setStatus(Subscription.Status.valueOf(
-                                rs.getString("subscriptions.status").toUpperCase()));
+                    subscriptions.add(subscription);
+                }
 
-                subscriptions.add(subscriptionBuilder.build());
+                return subscriptions;
             }
 
-            return subscriptions;
-
         } catch (SQLException e) {
             String message = String.format("Exception during retrieving subscriptions for a user: %s.", user);
             logger.error(message, e);
@@ -121,15 +227,12 @@ public class SubscriptionDaoImpl implements SubscriptionDao {
     @Override
     public long add(Subscription subscription) {
         try (ConnectionProxy connection = TransactionHelper.getConnectionProxy();
-             PreparedStatement st = connection.prepareStatement(INSERT_SUBSCRIPTION)) {
+             PreparedStatement st = connection
+                     .prepareStatement(INSERT_SUBSCRIPTION, Statement.RETURN_GENERATED_KEYS)) {
 
-            st.setLong(1, subscription.getUser().getId());
-            st.setLong(2, subscription.getPeriodical().getId());
-            st.setString(3, subscription.getDeliveryAddress());
-            st.setTimestamp(4, new Timestamp(subscription.getEndDate().toEpochMilli()));
-            st.setString(5, subscription.getStatus().name().toLowerCase());
+            setSubscriptionParameters(st, subscription);
 
-            return st.executeUpdate();
+            return DaoUtil.executeInsert(st);
 
         } catch (SQLException e) {
             String message = String.format("Exception during creating a subscription %s.", subscription);
@@ -143,11 +246,7 @@ public class SubscriptionDaoImpl implements SubscriptionDao {
         try (ConnectionProxy connection = TransactionHelper.getConnectionProxy();
              PreparedStatement st = connection.prepareStatement(UPDATE_SUBSCRIPTION)) {
 
-            st.setLong(1, subscription.getUser().getId());
-            st.setLong(2, subscription.getPeriodical().getId());
-            st.setString(3, subscription.getDeliveryAddress());
-            st.setTimestamp(4, new Timestamp(subscription.getEndDate().toEpochMilli()));
-            st.setString(5, subscription.getStatus().name().toLowerCase());
+            setSubscriptionParameters(st, subscription);
             st.setLong(6, id);
 
             return st.executeUpdate();
@@ -160,6 +259,55 @@ public class SubscriptionDaoImpl implements SubscriptionDao {
     }
 
 
+    @Override
+    public List<Long> addAll(Collection<Subscription> subscriptions) {
+        try (ConnectionProxy connection = TransactionHelper.getConnectionProxy()) {
+            return JdbcBatch.insert(connection, INSERT_SUBSCRIPTION, subscriptions,
+                    this::setSubscriptionParameters, batchSize);
+
+        } catch (SQLException e) {
+            String message = String.format("Exception during creating %d subscriptions.", subscriptions.size());
+            logger.error(message, e);
+            throw new DaoException(message, e);
+        }
+    }
+
+    @Override
+    public int updateAll(Map<Long, Subscription> subscriptions) {
+        try (ConnectionProxy connection = TransactionHelper.getConnectionProxy()) {
+            return JdbcBatch.execute(connection, UPDATE_SUBSCRIPTION, subscriptions.entrySet(),
+                    (st, entry) -> {
+                        setSubscriptionParameters(st, entry.getValue());
+                        st.setLong(6, entry.getKey());
+                    }, batchSize);
+
+        } catch (SQLException e) {
+            String message = String.format("Exception during updating %d subscriptions.", subscriptions.size());
+            logger.error(message, e);
+            throw new DaoException(message, e);
+        }
+    }
+
+    private void setSubscriptionParameters(PreparedStatement st, Subscription subscription) throws SQLException {
+        st.setLong(1, subscription.getUser().getId());
+        st.setLong(2, subscription.getPeriodical().getId());
+        st.setString(3, subscription.getDeliveryAddress());
+        st.setTimestamp(4, new Timestamp(subscription.getEndDate().toEpochMilli()));
+        st.setString(5, subscription.getStatus().name().toLowerCase());
+    }
+
+    @Override
+    public long forEach(Consumer<? super Subscription> action) {
+        try (ConnectionProxy connection = TransactionHelper.getStreamingConnectionProxy()) {
+            return ResultSetStreamer.forEach(connection, SELECT_ALL, SubscriptionRowMapper::new, action);
+
+        } catch (SQLException e) {
+            String message = "Exception during streaming all subscriptions.";
+            logger.error(message, e);
+            throw new DaoException(message, e);
+        }
+    }
+
     @Override
     public Subscription findOneById(Long id) {
         throw new UnsupportedOperationException();
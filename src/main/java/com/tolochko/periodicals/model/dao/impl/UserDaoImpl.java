@@ -4,7 +4,10 @@ import com.tolochko.periodicals.model.TransactionHelper;
 import com.tolochko.periodicals.model.connection.ConnectionProxy;
 import com.tolochko.periodicals.model.dao.exception.DaoException;
 import com.tolochko.periodicals.model.dao.interfaces.UserDao;
+import com.tolochko.periodicals.model.dao.mapper.UserRowMapper;
 import com.tolochko.periodicals.model.dao.util.DaoUtil;
+import com.tolochko.periodicals.model.dao.util.JdbcBatch;
+import com.tolochko.periodicals.model.dao.util.ResultSetStreamer;
 import com.tolochko.periodicals.model.domain.user.User;
 import org.apache.log4j.Logger;
 
@@ -12,22 +15,40 @@ import java.sql.PreparedStatement;
 import java.sql.ResultSet;
 import java.sql.SQLException;
 import java.sql.Statement;
-import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
 import java.util.List;
+import java.util.Map;
+import java.util.function.Consumer;
 
 public class UserDaoImpl implements UserDao {
     private static final Logger logger = Logger.getLogger(UserDaoImpl.class);
 
-    private static final String SELECT_USER_BY_USERNAME = "SELECT * FROM users WHERE username = ?";
+    private static final String SELECT_USER_WITH_ROLE = "SELECT users.*, user_roles.name " +
+            "FROM users LEFT JOIN user_roles ON (users.id = user_roles.user_id) ";
 
-    private static final String SELECT_USER_BY_ID = "SELECT * FROM users WHERE id = ?";
+    private static final String SELECT_USER_BY_USERNAME = SELECT_USER_WITH_ROLE + "WHERE users.username = ?";
+
+    private static final String SELECT_USER_BY_ID = SELECT_USER_WITH_ROLE + "WHERE users.id = ?";
 
     private static final String UPDATE_USER = "UPDATE users " +
             "SET " +
             "username = ?,first_name = ?, last_name = ?,email = ?, address = ?, password = ?, status = ? " +
             "WHERE id = ?";
 
-    private static final String SELECT_ALL = "SELECT * FROM users";
+    private static final String SELECT_ALL = SELECT_USER_WITH_ROLE;
+
+    private static final String SELECT_PAGE_AFTER = SELECT_USER_WITH_ROLE +
+            "WHERE users.id > ? ORDER BY users.id LIMIT ?";
+
+    private static final String SELECT_PAGE_AFTER_BY_STATUS = SELECT_USER_WITH_ROLE +
+            "WHERE users.status = ? AND users.id > ? ORDER BY users.id LIMIT ?";
+
+    private static final String SELECT_PAGE_BEFORE = SELECT_USER_WITH_ROLE +
+            "WHERE users.id < ? ORDER BY users.id DESC LIMIT ?";
+
+    private static final String SELECT_PAGE_BEFORE_BY_STATUS = SELECT_USER_WITH_ROLE +
+            "WHERE users.status = ? AND users.id < ? ORDER BY users.id DESC LIMIT ?";
 
     private static final String INSERT_USER = "INSERT INTO users " +
             "(username, first_name, last_name, email, address, password, status) " +
@@ -36,15 +57,28 @@ public class UserDaoImpl implements UserDao {
     private static final String IS_USER_EXISTS = "SELECT COUNT(id) FROM users " +
             "WHERE users.email = ?";
 
+    private final int batchSize;
+
+    public UserDaoImpl() {
+        this(JdbcBatch.DEFAULT_BATCH_SIZE);
+    }
+
+    /**
+     * @param batchSize the number of rows sent in one round trip by the batch methods
+     */
+    public UserDaoImpl(int batchSize) {
+        this.batchSize = batchSize;
+    }
+
     @Override
     public User findOneByUserName(String userName) {
-        try (ConnectionProxy connection = TransactionHelper.getConnectionProxy();
+        try (ConnectionProxy connection = TransactionHelper.getReadOnlyConnectionProxy();
              PreparedStatement ps = connection.prepareStatement(SELECT_USER_BY_USERNAME)) {
 
             ps.setString(1, userName);
 
             try (ResultSet rs = ps.executeQuery()) {
-                return rs.next() ? DaoUtil.createUserFromResultSet(rs) : null;
+                return DaoUtil.mapFirst(rs, UserRowMapper::new);
             }
 
         } catch (SQLException e) {
@@ -56,7 +90,7 @@ public class UserDaoImpl implements UserDao {
 
     @Override
     public boolean emailExistsInDb(String email) {
-        try (ConnectionProxy connection = TransactionHelper.getConnectionProxy();
+        try (ConnectionProxy connection = TransactionHelper.getReadOnlyConnectionProxy();
              PreparedStatement st = connection.prepareStatement(IS_USER_EXISTS)) {
             st.setString(1, email);
 
@@ -73,16 +107,13 @@ public class UserDaoImpl implements UserDao {
 
     @Override
     public User findOneById(Long id) {
-        try (ConnectionProxy connection = TransactionHelper.getConnectionProxy();
+        try (ConnectionProxy connection = TransactionHelper.getReadOnlyConnectionProxy();
              PreparedStatement ps = connection.prepareStatement(SELECT_USER_BY_ID)) {
 
             ps.setLong(1, id);
 
             try (ResultSet rs = ps.executeQuery()) {
-
-                if (rs.next()) {
-                    return DaoUtil.createUserFromResultSet(rs);
-                }
+                return DaoUtil.mapFirst(rs, UserRowMapper::new);
             }
 
         } catch (SQLException e) {
@@ -90,29 +121,71 @@ public class UserDaoImpl implements UserDao {
             logger.error(message, e);
             throw new DaoException(message, e);
         }
-        return null;
     }
 
     @Override
     public List<User> findAll() {
-        try (ConnectionProxy connection = TransactionHelper.getConnectionProxy();
+        try (ConnectionProxy connection = TransactionHelper.getReadOnlyConnectionProxy();
              PreparedStatement st = connection.prepareStatement(SELECT_ALL);
              ResultSet rs = st.executeQuery()) {
 
+            return DaoUtil.mapAll(rs, UserRowMapper::new);
+        } catch (SQLException e) {
+            String message = "Exception during finding all users.";
+            logger.error(message, e);
+            throw new DaoException(message, e);
+        }
+    }
 
-            List<User> users = new ArrayList<>();
 
-            while (rs.next()) {
-                users.add(DaoUtil.createUserFromResultSet(rs));
-            }
-            return users;
+    @Override
+    public long forEach(Consumer<? super User> action) {
+        try (ConnectionProxy connection = TransactionHelper.getStreamingConnectionProxy()) {
+            return ResultSetStreamer.forEach(connection, SELECT_ALL, UserRowMapper::new, action);
+
         } catch (SQLException e) {
-            String message = "Exception during finding all users.";
+            String message = "Exception during streaming all users.";
             logger.error(message, e);
             throw new DaoException(message, e);
         }
     }
 
+    @Override
+    public List<User> findPage(long afterId, int limit, User.Status status) {
+        String query = (status == null) ? SELECT_PAGE_AFTER : SELECT_PAGE_AFTER_BY_STATUS;
+        return findPage(query, afterId, limit, status);
+    }
+
+    @Override
+    public List<User> findPageBefore(long beforeId, int limit, User.Status status) {
+        String query = (status == null) ? SELECT_PAGE_BEFORE : SELECT_PAGE_BEFORE_BY_STATUS;
+        List<User> users = findPage(query, beforeId, limit, status);
+        Collections.reverse(users);
+
+        return users;
+    }
+
+    private List<User> findPage(String query, long cursorId, int limit, User.Status status) {
+        try (ConnectionProxy connection = TransactionHelper.getReadOnlyConnectionProxy();
+             PreparedStatement st = connection.prepareStatement(query)) {
+
+            int index = 1;
+            if (status != null) {
+                st.setString(index++, status.name().toLowerCase());
+            }
+            st.setLong(index++, cursorId);
+            st.setInt(index, limit);
+
+            try (ResultSet rs = st.executeQuery()) {
+                return DaoUtil.mapAll(rs, UserRowMapper::new);
+            }
+        } catch (SQLException e) {
+            String message = String.format("Exception during retrieving a page of users " +
+                    "with cursor = %d and status '%s'.", cursorId, status);
+            logger.error(message, e);
+            throw new DaoException(message, e);
+        }
+    }
 
     @Override
     public long add(User user) {
@@ -123,13 +196,7 @@ public class UserDaoImpl implements UserDao {
              PreparedStatement st = connection
                      .prepareStatement(INSERT_USER, Statement.RETURN_GENERATED_KEYS)) {
 
-            st.setString(1, user.getUsername());
-            st.setString(2, user.getFirstName());
-            st.setString(3, user.getLastName());
-            st.setString(4, user.getEmail());
-            st.setString(5, user.getAddress());
-            st.setString(6, user.getPassword());
-            st.setString(7, user.getStatus().name().toLowerCase());
+            setUserParameters(st, user);
 
             tryExecuteUpdate(st, errorMessage);
 
@@ -166,13 +233,7 @@ public class UserDaoImpl implements UserDao {
              PreparedStatement st =
                      connection.prepareStatement(UPDATE_USER)) {
 
-            st.setString(1, user.getUsername());
-            st.setString(2, user.getFirstName());
-            st.setString(3, user.getLastName());
-            st.setString(4, user.getEmail());
-            st.setString(5, user.getAddress());
-            st.setString(6, user.getPassword());
-            st.setString(7, user.getStatus().name().toLowerCase());
+            setUserParameters(st, user);
             st.setLong(8, id);
 
             return st.executeUpdate();
@@ -182,4 +243,42 @@ public class UserDaoImpl implements UserDao {
             throw new DaoException(message, e);
         }
     }
+
+    @Override
+    public List<Long> addAll(Collection<User> users) {
+        try (ConnectionProxy connection = TransactionHelper.getConnectionProxy()) {
+            return JdbcBatch.insert(connection, INSERT_USER, users, this::setUserParameters, batchSize);
+
+        } catch (SQLException e) {
+            String message = String.format("Exception during creating %d users.", users.size());
+            logger.error(message, e);
+            throw new DaoException(message, e);
+        }
+    }
+
+    @Override
+    public int updateAll(Map<Long, User> users) {
+        try (ConnectionProxy connection = TransactionHelper.getConnectionProxy()) {
+            return JdbcBatch.execute(connection, UPDATE_USER, users.entrySet(),
+                    (st, entry) -> {
+                        setUserParameters(st, entry.getValue());
+                        st.setLong(8, entry.getKey());
+                    }, batchSize);
+
+        } catch (SQLException e) {
+            String message = String.format("Exception during updating %d users.", users.size());
+            logger.error(message, e);
+            throw new DaoException(message, e);
+        }
+    }
+
+    private void setUserParameters(PreparedStatement st, User user) throws SQLException {
+        st.setString(1, user.getUsername());
+        st.setString(2, user.getFirstName());
+        st.setString(3, user.getLastName());
+        st.setString(4, user.getEmail());
+        st.setString(5, user.getAddress());
+        st.setString(6, user.getPassword());
+        st.setString(7, user.getStatus().name().toLowerCase());
+    }
 }
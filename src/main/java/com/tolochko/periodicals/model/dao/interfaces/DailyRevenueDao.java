@@ -0,0 +1,51 @@
+package com.tolochko.periodicals.model.dao.interfaces;
+
+import com.tolochko.periodicals.model.domain.FinancialStatistics;
+
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZoneOffset;
+
+/**
+ * The {@code daily_revenue} rollup: the sums and numbers of created and paid invoices
+ * per day and periodical category. The days are UTC dates.
+ */
+public interface DailyRevenueDao {
+
+    /**
+     * Adds a created invoice to the row of its day and of the category of the periodical.
+     */
+    void addCreated(LocalDate day, long periodicalId, long sum);
+
+    /**
+     * Adds a paid invoice to the row of its payment day and of the category of the periodical.
+     */
+    void addPaid(LocalDate day, long periodicalId, long sum);
+
+    /**
+     * @return the created and paid sums of the days from {@code fromDay} inclusive
+     * to {@code untilDay} exclusive
+     */
+    FinancialStatistics getSums(LocalDate fromDay, LocalDate untilDay);
+
+    /**
+     * Recomputes the rows of the days from {@code fromDay} inclusive to {@code untilDay} exclusive
+     * from the invoices. Should run in a transaction.
+     *
+     * @return the number of written rows
+     */
+    int rebuild(LocalDate fromDay, LocalDate untilDay);
+
+    /**
+     * @return the day of the first invoice or {@code null} if there are no invoices
+     */
+    LocalDate findFirstInvoiceDay();
+
+    static LocalDate dayOf(Instant instant) {
+        return instant.atOffset(ZoneOffset.UTC).toLocalDate();
+    }
+
+    static Instant startOf(LocalDate day) {
+        return day.atStartOfDay(ZoneOffset.UTC).toInstant();
+    }
+}
@@ -1,7 +1,10 @@
 package com.tolochko.periodicals.model.dao.interfaces;
 
 import java.io.Serializable;
+import java.util.Collection;
 import java.util.List;
+import java.util.Map;
+import java.util.function.Consumer;
 
 public interface GenericDao<E, T extends Serializable> {
 
@@ -20,6 +23,16 @@ public interface GenericDao<E, T extends Serializable> {
      */
     List<E> findAll();
 
+    /**
+     * Streams all entities from the db to the action one by one, without loading them
+     * into memory. They are streamed over a dedicated connection from the pool, not the one
+     * pinned to the request or the transaction, so the action may call the daos, but the
+     * entities do not include the uncommitted writes of the current transaction.
+     *
+     * @return the number of processed entities
+     */
+    long forEach(Consumer<? super E> action);
+
     /**
      * Creates a new entity taking values for the fields from the passed entity.
      * If a passed entity has the 'id' field it is ignored.
@@ -37,4 +50,21 @@ public interface GenericDao<E, T extends Serializable> {
      */
     int updateById(T id, E entity);
 
+    /**
+     * Creates new entities with jdbc batches, a few round trips instead of one per entity.
+     * The 'id' fields of the passed entities are ignored.
+     *
+     * @param entities objects to be persisted
+     * @return the persisted entities' ids in the iteration order of the collection
+     */
+    List<Long> addAll(Collection<E> entities);
+
+    /**
+     * Updates entities in the db with jdbc batches.
+     *
+     * @param entities objects to be updated mapped by their ids
+     * @return the number of affected rows
+     */
+    int updateAll(Map<T, E> entities);
+
 }
@@ -28,4 +28,13 @@ public interface InvoiceDao extends GenericDao<Invoice, Long> {
      * @param until the end of the time period
      */
     long getPaidInvoiceSumByPaymentDate(Instant since, Instant until);
+
+    /**
+     * Sets status 'paid' and the payment date to the invoice only if its status is 'new'.
+     * Within a transaction the row stays locked until the end of it, so of concurrent
+     * calls for one invoice only one returns {@code true}.
+     *
+     * @return {@code true} if the invoice was new and now is paid
+     */
+    boolean markPaid(long invoiceId, Instant paymentDate);
 }
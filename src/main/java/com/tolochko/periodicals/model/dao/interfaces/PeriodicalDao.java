@@ -1,8 +1,11 @@
 package com.tolochko.periodicals.model.dao.interfaces;
 
+import com.tolochko.periodicals.model.domain.PeriodicalNumberByCategory;
 import com.tolochko.periodicals.model.domain.periodical.Periodical;
 import com.tolochko.periodicals.model.domain.periodical.PeriodicalCategory;
 
+import java.time.Instant;
+import java.util.Collection;
 import java.util.List;
 
 public interface PeriodicalDao extends GenericDao<Periodical, Long> {
@@ -11,8 +14,39 @@ public interface PeriodicalDao extends GenericDao<Periodical, Long> {
 
     List<Periodical> findAllByStatus(Periodical.Status status);
 
+    /**
+     * Retrieves the periodicals with the ids using {@code IN} queries, one per chunk of ids.
+     * Ids without a periodical are skipped; the order of the result is not specified.
+     */
+    List<Periodical> findAllByIds(Collection<Long> ids);
+
+    /**
+     * Keyset pagination: retrieves up to {@code limit} periodicals with ids greater than
+     * {@code afterId} in ascending id order. The cost of a page does not depend on its position.
+     *
+     * @param afterId the id of the last periodical of the previous page, 0 for the first page
+     * @param status  only periodicals with this status are retrieved; all if null
+     */
+    List<Periodical> findPage(long afterId, int limit, Periodical.Status status);
+
+    /**
+     * Retrieves up to {@code limit} periodicals with ids less than {@code beforeId}
+     * closest to it, in ascending id order.
+     *
+     * @param status only periodicals with this status are retrieved; all if null
+     */
+    List<Periodical> findPageBefore(long beforeId, int limit, Periodical.Status status);
+
     int findNumberOfPeriodicalsWithCategoryAndStatus(PeriodicalCategory category, Periodical.Status status);
 
+    /**
+     * Counts the periodicals of every category and status with one grouped query.
+     *
+     * @return one item per {@link PeriodicalCategory} in declaration order, including
+     * categories without periodicals
+     */
+    List<PeriodicalNumberByCategory> findNumberOfPeriodicalsByCategoryAndStatus();
+
     /**
      * Updates a periodical and sets a new status 'discarded' only if there is no active subscriptions
      * of this periodical.
@@ -23,11 +57,15 @@ public interface PeriodicalDao extends GenericDao<Periodical, Long> {
     int updateAndSetDiscarded(Periodical periodical);
 
     /**
-     * Deletes from the db all periodicals with status = 'discarded'.
+     * Moves up to {@code chunkSize} periodicals with status 'discarded' into the archive: locks
+     * them, copies them there and deletes them, together with their invoices and subscriptions
+     * by the cascading foreign keys. Must be called in a transaction, so the locked, the archived
+     * and the deleted periodicals are the same.
      *
-     * @return the number of deleted periodicals.
+     * @return the number of archived periodicals, less than {@code chunkSize} if no discarded
+     * periodicals are left
      */
-    int deleteAllDiscarded();
+    int archiveDiscardedChunk(Instant deleteDate, int chunkSize);
 
     int addIntoArchive(Periodical periodical);
 
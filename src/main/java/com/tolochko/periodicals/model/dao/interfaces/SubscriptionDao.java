@@ -3,6 +3,7 @@ package com.tolochko.periodicals.model.dao.interfaces;
 import com.tolochko.periodicals.model.domain.subscription.Subscription;
 import com.tolochko.periodicals.model.domain.user.User;
 
+import java.time.Instant;
 import java.util.List;
 
 public interface SubscriptionDao extends GenericDao<Subscription, Long> {
@@ -14,4 +15,24 @@ public interface SubscriptionDao extends GenericDao<Subscription, Long> {
     List<Subscription> findAllByPeriodicalIdAndStatus(long periodicalId,
                                                       Subscription.Status status);
 
+    /**
+     * Sets status 'inactive' to all active subscriptions with the end date before {@code now}.
+     * The rows are updated by id ranges of {@code chunkSize} ids, one statement per range,
+     * so no statement locks many rows for long.
+     *
+     * @return the number of deactivated subscriptions
+     */
+    int deactivateExpired(Instant now, int chunkSize);
+
+    /**
+     * Creates an active subscription of the user to the periodical ending {@code months} after
+     * {@code now} or, if there is one already, activates it and prolongs it by {@code months}
+     * from its end date or from {@code now} if it has already ended. It is one statement
+     * relying on the unique (user_id, periodical_id) index.
+     *
+     * @return the number of affected rows as reported by MySQL: 1 if a subscription was created,
+     * 2 if an existing one was updated and 0 if there is no such user
+     */
+    int addOrProlong(long userId, long periodicalId, int months, Instant now);
+
 }
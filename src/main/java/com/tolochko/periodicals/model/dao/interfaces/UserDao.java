@@ -2,9 +2,31 @@ package com.tolochko.periodicals.model.dao.interfaces;
 
 import com.tolochko.periodicals.model.domain.user.User;
 
+import java.util.List;
+
+/**
+ * The users are retrieved together with their roles by one join with {@code user_roles}.
+ */
 public interface UserDao extends GenericDao<User, Long> {
 
     User findOneByUserName(String userName);
 
     boolean emailExistsInDb(String email);
+
+    /**
+     * Keyset pagination: retrieves up to {@code limit} users with ids greater than
+     * {@code afterId} in ascending id order.
+     *
+     * @param afterId the id of the last user of the previous page, 0 for the first page
+     * @param status  only users with this status are retrieved; all if null
+     */
+    List<User> findPage(long afterId, int limit, User.Status status);
+
+    /**
+     * Retrieves up to {@code limit} users with ids less than {@code beforeId}
+     * closest to it, in ascending id order.
+     *
+     * @param status only users with this status are retrieved; all if null
+     */
+    List<User> findPageBefore(long beforeId, int limit, User.Status status);
 }
@@ -0,0 +1,40 @@
+package com.tolochko.periodicals.model.dao.mapper;
+
+import java.sql.ResultSetMetaData;
+import java.sql.SQLException;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Column indexes of one table's columns in a result set, resolved once from the metadata.
+ * Columns of joined tables with the same names (e.g. {@code id}) are told apart by the table name.
+ */
+final class ColumnIndexes {
+    private final String table;
+    private final Map<String, Integer> indexes = new HashMap<>();
+
+    ColumnIndexes(ResultSetMetaData metaData, String table) throws SQLException {
+        this.table = table;
+
+        for (int i = metaData.getColumnCount(); i >= 1; i--) {
+            String label = metaData.getColumnLabel(i).toLowerCase();
+            String columnTable = metaData.getTableName(i);
+
+            if (table.equalsIgnoreCase(columnTable)) {
+                indexes.put(label, i);
+            } else if (columnTable == null || columnTable.isEmpty()) {
+                indexes.putIfAbsent(label, i);
+            }
+        }
+    }
+
+    int get(String column) throws SQLException {
+        Integer index = indexes.get(column);
+
+        if (index == null) {
+            throw new SQLException(String.format("Column '%s.%s' is not in the result set.", table, column));
+        }
+
+        return index;
+    }
+}
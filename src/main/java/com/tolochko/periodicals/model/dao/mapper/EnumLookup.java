@@ -0,0 +1,45 @@
+package com.tolochko.periodicals.model.dao.mapper;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Maps the lower case db values of an enum column to the enum constants with one
+ * precomputed hash lookup, instead of {@code valueOf(value.toUpperCase())} per row.
+ */
+final class EnumLookup<E extends Enum<E>> {
+    private final Class<E> type;
+    private final Map<String, E> constants = new HashMap<>();
+
+    private EnumLookup(Class<E> type) {
+        this.type = type;
+
+        for (E constant : type.getEnumConstants()) {
+            constants.put(constant.name().toLowerCase(), constant);
+            constants.put(constant.name(), constant);
+        }
+    }
+
+    static <E extends Enum<E>> EnumLookup<E> of(Class<E> type) {
+        return new EnumLookup<>(type);
+    }
+
+    /**
+     * @return the constant or {@code null} for the {@code null} value
+     * @throws IllegalArgumentException if there is no such constant
+     */
+    E get(String value) {
+        if (value == null) {
+            return null;
+        }
+
+        E constant = constants.get(value);
+
+        if (constant == null) {
+            throw new IllegalArgumentException(
+                    String.format("No %s constant for the db value '%s'.", type.getSimpleName(), value));
+        }
+
+        return constant;
+    }
+}
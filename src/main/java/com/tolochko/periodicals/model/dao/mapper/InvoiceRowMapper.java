@@ -0,0 +1,72 @@
+package com.tolochko.periodicals.model.dao.mapper;
+
+import com.tolochko.periodicals.model.dao.util.RowMapper;
+import com.tolochko.periodicals.model.domain.invoice.Invoice;
+import com.tolochko.periodicals.model.domain.periodical.Periodical;
+import com.tolochko.periodicals.model.domain.user.User;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.Instant;
+
+import static java.util.Objects.nonNull;
+
+/**
+ * Maps the {@code invoices} columns of a result set to an {@link Invoice}.
+ * The user and the periodical have only ids set.
+ */
+public final class InvoiceRowMapper implements RowMapper<Invoice> {
+    private static final String TABLE = "invoices";
+    private static final EnumLookup<Invoice.Status> STATUSES = EnumLookup.of(Invoice.Status.class);
+
+    private final int id;
+    private final int userId;
+    private final int periodicalId;
+    private final int period;
+    private final int totalSum;
+    private final int creationDate;
+    private final int paymentDate;
+    private final int status;
+
+    /**
+     * Resolves the column indexes of the result set.
+     */
+    public InvoiceRowMapper(ResultSet rs) throws SQLException {
+        ColumnIndexes columns = new ColumnIndexes(rs.getMetaData(), TABLE);
+
+        id = columns.get("id");
+        userId = columns.get("user_id");
+        periodicalId = columns.get("periodical_id");
+        period = columns.get("period");
+        totalSum = columns.get("total_sum");
+        creationDate = columns.get("creation_date");
+        paymentDate = columns.get("payment_date");
+        status = columns.get("status");
+    }
+
+    @Override
+    public Invoice mapRow(ResultSet rs) throws SQLException {
+        User user = new User();
+        user.setId(rs.getLong(userId));
+
+        Periodical periodical = new Periodical();
+        periodical.setId(rs.getLong(periodicalId));
+
+        Invoice invoice = new Invoice();
+        invoice.setId(rs.getLong(id));
+        invoice.setUser(user);
+        invoice.setPeriodical(periodical);
+        invoice.setSubscriptionPeriod(rs.getInt(period));
+        invoice.setTotalSum(rs.getLong(totalSum));
+        invoice.setCreationDate(toInstant(rs.getTimestamp(creationDate)));
+        invoice.setPaymentDate(toInstant(rs.getTimestamp(paymentDate)));
+        invoice.setStatus(STATUSES.get(rs.getString(status)));
+
+        return invoice;
+    }
+
+    private static Instant toInstant(Timestamp timestamp) {
+        return nonNull(timestamp) ? Instant.ofEpochMilli(timestamp.getTime()) : null;
+    }
+}
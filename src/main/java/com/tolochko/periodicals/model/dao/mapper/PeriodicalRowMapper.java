@@ -0,0 +1,69 @@
+package com.tolochko.periodicals.model.dao.mapper;
+
+import com.tolochko.periodicals.model.dao.util.RowMapper;
+import com.tolochko.periodicals.model.domain.periodical.Periodical;
+import com.tolochko.periodicals.model.domain.periodical.PeriodicalCategory;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+
+/**
+ * Maps the {@code periodicals} columns of a result set to a {@link Periodical}.
+ */
+public final class PeriodicalRowMapper implements RowMapper<Periodical> {
+    private static final String TABLE = "periodicals";
+    private static final EnumLookup<PeriodicalCategory> CATEGORIES = EnumLookup.of(PeriodicalCategory.class);
+    private static final EnumLookup<Periodical.Status> STATUSES = EnumLookup.of(Periodical.Status.class);
+
+    private final int id;
+    private final int name;
+    private final int category;
+    private final int publisher;
+    private final int description;
+    private final int oneMonthCost;
+    private final int status;
+
+    /**
+     * Resolves the column indexes of the result set.
+     */
+    public PeriodicalRowMapper(ResultSet rs) throws SQLException {
+        ColumnIndexes columns = new ColumnIndexes(rs.getMetaData(), TABLE);
+
+        id = columns.get("id");
+        name = columns.get("name");
+        category = columns.get("category");
+        publisher = columns.get("publisher");
+        description = columns.get("description");
+        oneMonthCost = columns.get("one_month_cost");
+        status = columns.get("status");
+    }
+
+    /**
+     * Maps a db value of the {@code category} column, e.g. of a grouped query.
+     */
+    public static PeriodicalCategory toCategory(String value) {
+        return CATEGORIES.get(value);
+    }
+
+    /**
+     * Maps a db value of the {@code status} column, e.g. of a grouped query.
+     */
+    public static Periodical.Status toStatus(String value) {
+        return STATUSES.get(value);
+    }
+
+    @Override
+    public Periodical mapRow(ResultSet rs) throws SQLException {
+        Periodical periodical = new Periodical();
+
+        periodical.setId(rs.getLong(id));
+        periodical.setName(rs.getString(name));
+        periodical.setCategory(CATEGORIES.get(rs.getString(category)));
+        periodical.setPublisher(rs.getString(publisher));
+        periodical.setDescription(rs.getString(description));
+        periodical.setOneMonthCost(rs.getLong(oneMonthCost));
+        periodical.setStatus(STATUSES.get(rs.getString(status)));
+
+        return periodical;
+    }
+}
@@ -0,0 +1,58 @@
+package com.tolochko.periodicals.model.dao.mapper;
+
+import com.tolochko.periodicals.model.dao.util.RowMapper;
+import com.tolochko.periodicals.model.domain.periodical.Periodical;
+import com.tolochko.periodicals.model.domain.subscription.Subscription;
+import com.tolochko.periodicals.model.domain.user.User;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+
+/**
+ * Maps the {@code subscriptions} columns of a result set to a {@link Subscription}.
+ * The user and the periodical have only ids set.
+ */
+public final class SubscriptionRowMapper implements RowMapper<Subscription> {
+    private static final String TABLE = "subscriptions";
+    private static final EnumLookup<Subscription.Status> STATUSES = EnumLookup.of(Subscription.Status.class);
+
+    private final int id;
+    private final int userId;
+    private final int periodicalId;
+    private final int deliveryAddress;
+    private final int endDate;
+    private final int status;
+
+    /**
+     * Resolves the column indexes of the result set.
+     */
+    public SubscriptionRowMapper(ResultSet rs) throws SQLException {
+        ColumnIndexes columns = new ColumnIndexes(rs.getMetaData(), TABLE);
+
+        id = columns.get("id");
+        userId = columns.get("user_id");
+        periodicalId = columns.get("periodical_id");
+        deliveryAddress = columns.get("delivery_address");
+        endDate = columns.get("end_date");
+        status = columns.get("status");
+    }
+
+    @Override
+    public Subscription mapRow(ResultSet rs) throws SQLException {
+        User user = new User();
+        user.setId(rs.getLong(userId));
+
+        Periodical periodical = new Periodical();
+        periodical.setId(rs.getLong(periodicalId));
+
+        Subscription subscription = new Subscription();
+        subscription.setId(rs.getLong(id));
+        subscription.setUser(user);
+        subscription.setPeriodical(periodical);
+        subscription.setDeliveryAddress(rs.getString(deliveryAddress));
+        subscription.setEndDate(rs.getTimestamp(endDate).toInstant());
+        subscription.setStatus(STATUSES.get(rs.getString(status)));
+
+        return subscription;
+    }
+}
@@ -0,0 +1,62 @@
+package com.tolochko.periodicals.model.dao.mapper;
+
+import com.tolochko.periodicals.model.dao.util.RowMapper;
+import com.tolochko.periodicals.model.domain.user.User;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+
+/**
+ * Maps the {@code users} columns of a result set joined with {@code user_roles}
+ * to a {@link User} with its role. A user without a role row has a {@code null} role.
+ */
+public final class UserRowMapper implements RowMapper<User> {
+    private static final String TABLE = "users";
+    private static final String ROLE_TABLE = "user_roles";
+    private static final EnumLookup<User.Status> STATUSES = EnumLookup.of(User.Status.class);
+    private static final EnumLookup<User.Role> ROLES = EnumLookup.of(User.Role.class);
+
+    private final int id;
+    private final int username;
+    private final int firstName;
+    private final int lastName;
+    private final int email;
+    private final int address;
+    private final int password;
+    private final int status;
+    private final int role;
+
+    /**
+     * Resolves the column indexes of the result set.
+     */
+    public UserRowMapper(ResultSet rs) throws SQLException {
+        ColumnIndexes columns = new ColumnIndexes(rs.getMetaData(), TABLE);
+
+        id = columns.get("id");
+        username = columns.get("username");
+        firstName = columns.get("first_name");
+        lastName = columns.get("last_name");
+        email = columns.get("email");
+        address = columns.get("address");
+        password = columns.get("password");
+        status = columns.get("status");
+        role = new ColumnIndexes(rs.getMetaData(), ROLE_TABLE).get("name");
+    }
+
+    @Override
+    public User mapRow(ResultSet rs) throws SQLException {
+        User user = new User();
+
+        user.setId(rs.getLong(id));
+        user.setUsername(rs.getString(username));
+        user.setFirstName(rs.getString(firstName));
+        user.setLastName(rs.getString(lastName));
+        user.setEmail(rs.getString(email));
+        user.setAddress(rs.getString(address));
+        user.setPassword(rs.getString(password));
+        user.setStatus(STATUSES.get(rs.getString(status)));
+        user.setRole(ROLES.get(rs.getString(role)));
+
+        return user;
+    }
+}
@@ -0,0 +1,121 @@
+package com.tolochko.periodicals.model.dao.migration;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * One versioned sql migration from a file named like {@code V3__add_some_index.sql}.
+ * The statements are separated by a {@code ;} at the end of a line; lines starting
+ * with {@code --} are comments.
+ */
+public final class Migration {
+    private static final Pattern NAME = Pattern.compile("V(\\d+)__(\\w+)\\.sql");
+
+    private final int version;
+    private final String description;
+    private final String checksum;
+    private final List<String> statements;
+
+    private Migration(int version, String description, String checksum, List<String> statements) {
+        this.version = version;
+        this.description = description;
+        this.checksum = checksum;
+        this.statements = Collections.unmodifiableList(statements);
+    }
+
+    /**
+     * @param name    the file name, e.g. {@code V3__add_some_index.sql}
+     * @param content the sql of the file
+     * @throws IllegalArgumentException if the name does not follow the pattern or there are no statements
+     */
+    public static Migration parse(String name, String content) {
+        Matcher matcher = NAME.matcher(name);
+
+        if (!matcher.matches()) {
+            throw new IllegalArgumentException(
+                    String.format("Migration name '%s' does not match V<version>__<description>.sql", name));
+        }
+
+        String normalized = content.replace("\r\n", "\n");
+        List<String> statements = splitStatements(normalized);
+
+        if (statements.isEmpty()) {
+            throw new IllegalArgumentException(String.format("Migration '%s' has no statements", name));
+        }
+
+        return new Migration(Integer.parseInt(matcher.group(1)), matcher.group(2).replace('_', ' '),
+                sha256(normalized), statements);
+    }
+
+    private static List<String> splitStatements(String content) {
+        List<String> statements = new ArrayList<>();
+        StringBuilder statement = new StringBuilder();
+
+        for (String line : content.split("\n")) {
+            String trimmed = line.trim();
+
+            if (trimmed.isEmpty() || trimmed.startsWith("--")) {
+                continue;
+            }
+
+            statement.append(statement.length() == 0 ? "" : "\n").append(line);
+
+            if (trimmed.endsWith(";")) {
+                statement.setLength(statement.length() - (line.length() - line.lastIndexOf(';')));
+                statements.add(statement.toString());
+                statement.setLength(0);
+            }
+        }
+
+        if (statement.length() > 0) {
+            statements.add(statement.toString());
+        }
+
+        return statements;
+    }
+
+    private static String sha256(String content) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(content.getBytes(StandardCharsets.UTF_8));
+            StringBuilder hex = new StringBuilder(digest.length * 2);
+
+            for (byte b : digest) {
+                hex.append(String.format("%02x", b));
+            }
+
+            return hex.toString();
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    public int getVersion() {
+        return version;
+    }
+
+    public String getDescription() {
+        return description;
+    }
+
+    /**
+     * @return the SHA-256 of the file content with normalized line ends
+     */
+    public String getChecksum() {
+        return checksum;
+    }
+
+    public List<String> getStatements() {
+        return statements;
+    }
+
+    @Override
+    public String toString() {
+        return "V" + version + " " + description;
+    }
+}
@@ -0,0 +1,206 @@
+package com.tolochko.periodicals.model.dao.migration;
+
+import com.tolochko.periodicals.model.connection.ConnectionProxy;
+import com.tolochko.periodicals.model.dao.exception.DaoException;
+import com.tolochko.periodicals.model.dao.pool.ConnectionPool;
+import org.apache.log4j.Logger;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+/**
+ * Applies the versioned migrations which are not yet recorded in the {@code schema_history} table,
+ * in the order of their versions. An applied migration must not be changed: its checksum is compared
+ * with the recorded one on each run. Concurrent runs from several app instances are serialized
+ * by a named db lock.
+ */
+public class MigrationRunner {
+    private static final Logger logger = Logger.getLogger(MigrationRunner.class);
+    private static final String MIGRATIONS_DIRECTORY = "database/migrations/";
+    private static final String INDEX_FILE = "index.txt";
+    private static final String LOCK_NAME = "periodicals.schema_migration";
+    private static final int LOCK_TIMEOUT_SECONDS = 60;
+
+    private static final String GET_LOCK = "SELECT GET_LOCK(?, ?)";
+    private static final String RELEASE_LOCK = "SELECT RELEASE_LOCK(?)";
+    private static final String CREATE_HISTORY = "CREATE TABLE IF NOT EXISTS schema_history (" +
+            "version INT NOT NULL, description VARCHAR(200) NOT NULL, checksum CHAR(64) NOT NULL, " +
+            "applied_on TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP, PRIMARY KEY (version))";
+    private static final String SELECT_HISTORY = "SELECT version, checksum FROM schema_history ORDER BY version";
+    private static final String INSERT_HISTORY = "INSERT INTO schema_history " +
+            "(version, description, checksum) VALUES (?, ?, ?)";
+
+    private final ConnectionPool pool;
+    private final List<Migration> migrations;
+
+    /**
+     * @param migrations the migrations in the order of increasing versions
+     * @throws IllegalArgumentException if the versions are not increasing
+     */
+    public MigrationRunner(ConnectionPool pool, List<Migration> migrations) {
+        for (int i = 1; i < migrations.size(); i++) {
+            if (migrations.get(i).getVersion() <= migrations.get(i - 1).getVersion()) {
+                throw new IllegalArgumentException(String.format("Migration %s must follow %s with a greater version",
+                        migrations.get(i), migrations.get(i - 1)));
+            }
+        }
+
+        this.pool = pool;
+        this.migrations = new ArrayList<>(migrations);
+    }
+
+    /**
+     * Loads the migrations listed in {@code database/migrations/index.txt} on the classpath.
+     * The index is needed since the directories of a war can not be listed portably.
+     * Empty lines and lines starting with {@code #} are skipped.
+     */
+    public static List<Migration> loadMigrations() {
+        List<Migration> migrations = new ArrayList<>();
+
+        for (String line : readResource(MIGRATIONS_DIRECTORY + INDEX_FILE).split("\n")) {
+            String name = line.trim();
+
+            if (!name.isEmpty() && !name.startsWith("#")) {
+                migrations.add(Migration.parse(name, readResource(MIGRATIONS_DIRECTORY + name)));
+            }
+        }
+
+        return migrations;
+    }
+
+    private static String readResource(String path) {
+        InputStream input = MigrationRunner.class.getClassLoader().getResourceAsStream(path);
+
+        if (input == null) {
+            String message = String.format("Migration resource '%s' is not found", path);
+            logger.error(message);
+            throw new DaoException(message);
+        }
+
+        try (BufferedReader reader = new BufferedReader(new InputStreamReader(input, StandardCharsets.UTF_8))) {
+            return reader.lines().collect(Collectors.joining("\n"));
+        } catch (IOException e) {
+            String message = String.format("Exception during reading migration resource '%s'", path);
+            logger.error(message, e);
+            throw new DaoException(message, e);
+        }
+    }
+
+    /**
+     * @return the number of applied migrations
+     * @throws DaoException if an applied migration was changed or a migration fails
+     */
+    public int migrate() {
+        try (ConnectionProxy connection = pool.getConnection()) {
+            acquireLock(connection);
+
+            try {
+                return applyPending(connection);
+            } finally {
+                releaseLock(connection);
+            }
+
+        } catch (SQLException e) {
+            String message = "Exception during migrating the db schema.";
+            logger.error(message, e);
+            throw new DaoException(message, e);
+        }
+    }
+
+    private int applyPending(ConnectionProxy connection) throws SQLException {
+        try (PreparedStatement st = connection.prepareStatement(CREATE_HISTORY)) {
+            st.executeUpdate();
+        }
+
+        Map<Integer, String> applied = findApplied(connection);
+        int count = 0;
+
+        for (Migration migration : migrations) {
+            String checksum = applied.remove(migration.getVersion());
+
+            if (checksum == null) {
+                apply(connection, migration);
+                count++;
+            } else if (!checksum.equals(migration.getChecksum())) {
+                String message = String.format("Migration %s was changed after it had been applied", migration);
+                logger.error(message);
+                throw new DaoException(message);
+            }
+        }
+
+        for (Integer version : applied.keySet()) {
+            logger.warn(String.format("Applied migration V%d is unknown to this version of the app", version));
+        }
+
+        return count;
+    }
+
+    private Map<Integer, String> findApplied(ConnectionProxy connection) throws SQLException {
+        Map<Integer, String> applied = new LinkedHashMap<>();
+
+        try (PreparedStatement st = connection.prepareStatement(SELECT_HISTORY);
+             ResultSet rs = st.executeQuery()) {
+
+            while (rs.next()) {
+                applied.put(rs.getInt(1), rs.getString(2));
+            }
+        }
+
+        return applied;
+    }
+
+    /**
+     * Runs the statements one by one. MySql commits ddl statements implicitly, so a failed migration
+     * may be applied partially and has to be fixed by hand before the next run.
+     */
+    private void apply(ConnectionProxy connection, Migration migration) throws SQLException {
+        logger.info(String.format("Applying migration %s", migration));
+
+        for (String statement : migration.getStatements()) {
+            try (PreparedStatement st = connection.prepareStatement(statement)) {
+                st.execute();
+            }
+        }
+
+        try (PreparedStatement st = connection.prepareStatement(INSERT_HISTORY)) {
+            st.setInt(1, migration.getVersion());
+            st.setString(2, migration.getDescription());
+            st.setString(3, migration.getChecksum());
+            st.executeUpdate();
+        }
+    }
+
+    private void acquireLock(ConnectionProxy connection) throws SQLException {
+        try (PreparedStatement st = connection.prepareStatement(GET_LOCK)) {
+            st.setString(1, LOCK_NAME);
+            st.setInt(2, LOCK_TIMEOUT_SECONDS);
+
+            try (ResultSet rs = st.executeQuery()) {
+                if (!rs.next() || rs.getInt(1) != 1) {
+                    String message = String.format("Can not acquire the migration lock within %d s",
+                            LOCK_TIMEOUT_SECONDS);
+                    logger.error(message);
+                    throw new DaoException(message);
+                }
+            }
+        }
+    }
+
+    private void releaseLock(ConnectionProxy connection) throws SQLException {
+        try (PreparedStatement st = connection.prepareStatement(RELEASE_LOCK)) {
+            st.setString(1, LOCK_NAME);
+            st.executeQuery().close();
+        }
+    }
+}
@@ -5,4 +5,21 @@ import com.tolochko.periodicals.model.connection.ConnectionProxy;
 public interface ConnectionPool {
 
     ConnectionProxy getConnection();
+
+    /**
+     * Returns a connection for read-only statements. It may point to a replica
+     * lagging slightly behind the primary db.
+     */
+    ConnectionProxy getReadOnlyConnection();
+
+    /**
+     * @return the usage metrics of this pool
+     */
+    ConnectionPoolStatistics getStatistics();
+
+    /**
+     * Stops the background tasks of this pool and closes its idle connections.
+     * The pool can not be used after that.
+     */
+    void close();
 }
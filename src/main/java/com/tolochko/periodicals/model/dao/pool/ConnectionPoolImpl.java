@@ -8,6 +8,11 @@ import org.apache.log4j.Logger;
 
 import java.sql.Connection;
 import java.sql.SQLException;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
 
 public class ConnectionPoolImpl implements ConnectionPool {
     private static final Logger logger = Logger.getLogger(ConnectionPoolImpl.class);
@@ -15,8 +20,25 @@ public class ConnectionPoolImpl implements ConnectionPool {
     private static final String PASS_DEFAULT = "root";
     private static final String DRIVER_NAME_DEFAULT = "com.mysql.cj.jdbc.Driver";
     private static final int MAX_TOTAL_CONNECTIONS = 10;
+    private static final long LEAK_DETECTION_THRESHOLD_DEFAULT = 0;
+    private static final int NOT_SET = -1;
+    private static final int INITIAL_SIZE_DEFAULT = 0;
+    private static final int MIN_IDLE_DEFAULT = 2;
+    private static final long MAX_WAIT_MILLIS_DEFAULT = 5000;
+    private static final String VALIDATION_QUERY_DEFAULT = "SELECT 1";
+    private static final int VALIDATION_QUERY_TIMEOUT_SECONDS_DEFAULT = 3;
+    private static final boolean TEST_ON_BORROW_DEFAULT = false;
+    private static final boolean TEST_WHILE_IDLE_DEFAULT = true;
+    private static final long EVICTION_INTERVAL_MILLIS_DEFAULT = 30_000;
+    private static final long MIN_EVICTABLE_IDLE_MILLIS_DEFAULT = 300_000;
+    private static final boolean POOL_PREPARED_STATEMENTS_DEFAULT = false;
+    private static final int MAX_OPEN_PREPARED_STATEMENTS_DEFAULT = 100;
+    private static final int STATEMENT_CACHE_SIZE_DEFAULT = 50;
 
     private BasicDataSource dataSource;
+    private ConnectionPoolStatistics statistics;
+    private int statementCacheSize;
+    private ScheduledExecutorService leakDetector;
 
     public ConnectionPoolImpl(Builder builder) {
         dataSource = new BasicDataSource();
@@ -25,19 +47,83 @@ public class ConnectionPoolImpl implements ConnectionPool {
         dataSource.setUsername(builder.userName);
         dataSource.setPassword(builder.password);
         dataSource.setMaxTotal(builder.maxConnections);
+        dataSource.setMaxIdle(builder.maxIdle);
+        dataSource.setMinIdle(builder.minIdle);
+        dataSource.setInitialSize(builder.initialSize);
+        dataSource.setMaxWaitMillis(builder.maxWaitMillis);
+        dataSource.setValidationQuery(builder.validationQuery);
+        dataSource.setValidationQueryTimeout(builder.validationQueryTimeoutSeconds);
+        dataSource.setTestOnBorrow(builder.testOnBorrow);
+        dataSource.setTestWhileIdle(builder.testWhileIdle);
+        dataSource.setTimeBetweenEvictionRunsMillis(builder.evictionIntervalMillis);
+        dataSource.setMinEvictableIdleTimeMillis(builder.minEvictableIdleMillis);
+        dataSource.setPoolPreparedStatements(builder.poolPreparedStatements);
+        dataSource.setMaxOpenPreparedStatements(builder.maxOpenPreparedStatements);
+        builder.connectionProperties.forEach(dataSource::addConnectionProperty);
+        statementCacheSize = builder.statementCacheSize;
+
+        boolean leakDetectionEnabled = builder.leakDetectionThreshold > 0;
+        statistics = new ConnectionPoolStatistics(leakDetectionEnabled, dataSource::getNumIdle);
+
+        if (leakDetectionEnabled) {
+            scheduleLeakDetection(builder.leakDetectionThreshold);
+        }
+    }
+
+    private void scheduleLeakDetection(long thresholdMillis) {
+        leakDetector = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "connection-leak-detector");
+            thread.setDaemon(true);
+            return thread;
+        });
+
+        long period = Math.max(thresholdMillis / 2, 1);
+        leakDetector.scheduleAtFixedRate(() -> {
+            if (statistics.detectLeaks(thresholdMillis) > 0) {
+                logger.warn(statistics);
+            }
+        }, period, period, TimeUnit.MILLISECONDS);
     }
 
     @Override
     public ConnectionProxy getConnection() {
         Connection connection;
+        long start = System.nanoTime();
+
         try {
             connection = dataSource.getConnection();
         } catch (SQLException e) {
+            statistics.onBorrowFailure(System.nanoTime() - start);
             logger.error("Cannot create connection from data source", e);
             throw new DaoException("Cannot create connection from data source", e);
         }
 
-        return new ConnectionProxyImpl(connection);
+        ConnectionPoolStatistics.Lease lease = statistics.onBorrow(System.nanoTime() - start);
+
+        return new ConnectionProxyImpl(connection, () -> statistics.onReturn(lease), statementCacheSize);
+    }
+
+    @Override
+    public ConnectionProxy getReadOnlyConnection() {
+        return getConnection();
+    }
+
+    @Override
+    public ConnectionPoolStatistics getStatistics() {
+        return statistics;
+    }
+
+    @Override
+    public void close() {
+        if (leakDetector != null) {
+            leakDetector.shutdownNow();
+        }
+
+        try {
+            dataSource.close();
+        } catch (SQLException e) {
+            logger.error("Cannot close data source", e);
+        }
     }
 
     public static Builder getBuilder(String url) {
@@ -50,6 +136,21 @@ public class ConnectionPoolImpl implements ConnectionPool {
         private String userName;
         private String password;
         private int maxConnections;
+        private int maxIdle;
+        private int minIdle;
+        private int initialSize;
+        private long maxWaitMillis;
+        private String validationQuery;
+        private int validationQueryTimeoutSeconds;
+        private boolean testOnBorrow;
+        private boolean testWhileIdle;
+        private long evictionIntervalMillis;
+        private long minEvictableIdleMillis;
+        private boolean poolPreparedStatements;
+        private int maxOpenPreparedStatements;
+        private int statementCacheSize;
+        private Map<String, String> connectionProperties = new LinkedHashMap<>();
+        private long leakDetectionThreshold;
 
         private Builder(String url) {
             checkNotNull(url, "url should not be null.");
@@ -58,6 +159,20 @@ public class ConnectionPoolImpl implements ConnectionPool {
             this.userName = NAME_DEFAULT;
             this.password = PASS_DEFAULT;
             this.maxConnections = MAX_TOTAL_CONNECTIONS;
+            this.maxIdle = NOT_SET;
+            this.minIdle = NOT_SET;
+            this.initialSize = INITIAL_SIZE_DEFAULT;
+            this.maxWaitMillis = MAX_WAIT_MILLIS_DEFAULT;
+            this.validationQuery = VALIDATION_QUERY_DEFAULT;
+            this.validationQueryTimeoutSeconds = VALIDATION_QUERY_TIMEOUT_SECONDS_DEFAULT;
+            this.testOnBorrow = TEST_ON_BORROW_DEFAULT;
+            this.testWhileIdle = TEST_WHILE_IDLE_DEFAULT;
+            this.evictionIntervalMillis = EVICTION_INTERVAL_MILLIS_DEFAULT;
+            this.minEvictableIdleMillis = MIN_EVICTABLE_IDLE_MILLIS_DEFAULT;
+            this.poolPreparedStatements = POOL_PREPARED_STATEMENTS_DEFAULT;
+            this.maxOpenPreparedStatements = MAX_OPEN_PREPARED_STATEMENTS_DEFAULT;
+            this.statementCacheSize = STATEMENT_CACHE_SIZE_DEFAULT;
+            this.leakDetectionThreshold = LEAK_DETECTION_THRESHOLD_DEFAULT;
         }
 
         public Builder setDriverClassName(String driverClassName) {
@@ -84,6 +199,114 @@ public class ConnectionPoolImpl implements ConnectionPool {
             return this;
         }
 
+        public Builder setMaxIdle(int maxIdle) {
+            checkArgument(maxIdle > 0, "maxIdle should be a positive number.");
+            this.maxIdle = maxIdle;
+            return this;
+        }
+
+        public Builder setMinIdle(int minIdle) {
+            checkArgument(minIdle >= 0, "minIdle should not be a negative number.");
+            this.minIdle = minIdle;
+            return this;
+        }
+
+        public Builder setInitialSize(int initialSize) {
+            checkArgument(initialSize >= 0, "initialSize should not be a negative number.");
+            this.initialSize = initialSize;
+            return this;
+        }
+
+        /**
+         * Sets how long a borrower waits for a free connection before failing.
+         */
+        public Builder setMaxWaitMillis(long maxWaitMillis) {
+            checkArgument(maxWaitMillis > 0, "maxWaitMillis should be a positive number.");
+            this.maxWaitMillis = maxWaitMillis;
+            return this;
+        }
+
+        public Builder setValidationQuery(String validationQuery) {
+            checkNotNull(validationQuery, "validationQuery should not be null.");
+            this.validationQuery = validationQuery;
+            return this;
+        }
+
+        public Builder setValidationQueryTimeoutSeconds(int validationQueryTimeoutSeconds) {
+            checkArgument(validationQueryTimeoutSeconds > 0,
+                    "validationQueryTimeoutSeconds should be a positive number.");
+            this.validationQueryTimeoutSeconds = validationQueryTimeoutSeconds;
+            return this;
+        }
+
+        public Builder setTestOnBorrow(boolean testOnBorrow) {
+            this.testOnBorrow = testOnBorrow;
+            return this;
+        }
+
+        public Builder setTestWhileIdle(boolean testWhileIdle) {
+            this.testWhileIdle = testWhileIdle;
+            return this;
+        }
+
+        /**
+         * Sets how often idle connections are validated and evicted.
+         */
+        public Builder setEvictionIntervalMillis(long evictionIntervalMillis) {
+            checkArgument(evictionIntervalMillis > 0, "evictionIntervalMillis should be a positive number.");
+            this.evictionIntervalMillis = evictionIntervalMillis;
+            return this;
+        }
+
+        public Builder setMinEvictableIdleMillis(long minEvictableIdleMillis) {
+            checkArgument(minEvictableIdleMillis > 0, "minEvictableIdleMillis should be a positive number.");
+            this.minEvictableIdleMillis = minEvictableIdleMillis;
+            return this;
+        }
+
+        public Builder setPoolPreparedStatements(boolean poolPreparedStatements) {
+            this.poolPreparedStatements = poolPreparedStatements;
+            return this;
+        }
+
+        public Builder setMaxOpenPreparedStatements(int maxOpenPreparedStatements) {
+            checkArgument(maxOpenPreparedStatements > 0, "maxOpenPreparedStatements should be a positive number.");
+            this.maxOpenPreparedStatements = maxOpenPreparedStatements;
+            return this;
+        }
+
+        /**
+         * Sets the max number of prepared statements cached by each borrowed connection
+         * (see {@link com.tolochko.periodicals.model.connection.PreparedStatementCache}). 0 disables the cache.
+         */
+        public Builder setStatementCacheSize(int statementCacheSize) {
+            checkArgument(statementCacheSize >= 0, "statementCacheSize should not be a negative number.");
+            this.statementCacheSize = statementCacheSize;
+            return this;
+        }
+
+        /**
+         * Adds a property passed to the jdbc driver on creating connections,
+         * e.g. {@code cachePrepStmts} or {@code rewriteBatchedStatements}.
+         */
+        public Builder setConnectionProperty(String name, String value) {
+            checkNotNull(name, "connection property name should not be null.");
+            checkNotNull(value, "connection property value should not be null.");
+            this.connectionProperties.put(name, value);
+            return this;
+        }
+
+        /**
+         * Sets how long a connection can be held before it is reported as leaked
+         * together with the stack trace of its borrower. 0 disables leak detection.
+         */
+        public Builder setLeakDetectionThreshold(long leakDetectionThresholdMillis) {
+            checkArgument(leakDetectionThresholdMillis >= 0,
+                    "leakDetectionThreshold should not be a negative number.");
+            this.leakDetectionThreshold = leakDetectionThresholdMillis;
+            return this;
+        }
+
 
         public static void checkArgument(boolean expression, Object errorMessage) {
             if (!expression) {
@@ -101,7 +324,22 @@ public class ConnectionPoolImpl implements ConnectionPool {
             }
         }
 
+        /**
+         * Builds a pool. Unless set explicitly, maxIdle equals maxConnections and minIdle
+         * is limited by maxIdle.
+         */
         public ConnectionPool build() {
+            if (maxIdle == NOT_SET) {
+                maxIdle = maxConnections;
+            }
+            if (minIdle == NOT_SET) {
+                minIdle = Math.min(MIN_IDLE_DEFAULT, maxIdle);
+            }
+
+            checkArgument(maxIdle <= maxConnections, "maxIdle should not be greater than maxConnections.");
+            checkArgument(minIdle <= maxIdle, "minIdle should not be greater than maxIdle.");
+            checkArgument(initialSize <= maxConnections, "initialSize should not be greater than maxConnections.");
+
             return new ConnectionPoolImpl(this);
         }
     }
@@ -6,10 +6,20 @@ import org.apache.log4j.Logger;
 import java.io.FileNotFoundException;
 import java.io.IOException;
 import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Properties;
+import java.util.function.Consumer;
+import java.util.function.Function;
+
+import static java.util.Objects.nonNull;
 
 public class ConnectionPoolProvider {
     private static final Logger logger = Logger.getLogger(ConnectionPoolProvider.class);
+    private static final String DRIVER_PROPERTY_PREFIX = ".driver.";
+    private static final long REPLICA_MAX_LAG_SECONDS_DEFAULT = 5;
+    private static final long REPLICA_CHECK_INTERVAL_MILLIS_DEFAULT = 5000;
+    private static final String REPLICA_LAG_QUERY_DEFAULT = "SHOW SLAVE STATUS";
 
     private static ConnectionPoolProvider poolProvider = new ConnectionPoolProvider();
 
@@ -24,16 +34,7 @@ public class ConnectionPoolProvider {
                     .getResourceAsStream("config/database.properties");
             properties.load(input);
 
-            String url = properties.getProperty("database.url");
-            String userName = properties.getProperty("database.username");
-            String userPassword = properties.getProperty("database.password");
-            int maxConnNumber = Integer.parseInt(properties.getProperty("database.maxconnections"));
-
-            instance = ConnectionPoolImpl.getBuilder(url)
-                    .setUserName(userName)
-                    .setPassword(userPassword)
-                    .setMaxConnections(maxConnNumber)
-                    .build();
+            instance = createRoutingPool(properties, createPool(properties, "database"));
 
         } catch (FileNotFoundException e) {
             logger.error("Exception during opening the db-config", e);
@@ -44,6 +45,120 @@ public class ConnectionPoolProvider {
         }
     }
 
+    /**
+     * Wraps the primary pool into a {@link RoutingConnectionPool} if {@code database.replicas}
+     * lists the property prefixes of replica pools, e.g. {@code database.replicas=replica1,replica2}
+     * with {@code replica1.url=...} and so on.
+     */
+    static ConnectionPool createRoutingPool(Properties properties, ConnectionPool primary) {
+        String replicaPrefixes = properties.getProperty("database.replicas", "").trim();
+
+        if (replicaPrefixes.isEmpty()) {
+            return primary;
+        }
+
+        List<ConnectionPool> replicas = new ArrayList<>();
+        for (String replicaPrefix : replicaPrefixes.split(",")) {
+            replicas.add(createPool(properties, replicaPrefix.trim()));
+        }
+
+        long maxLagSeconds = getOrDefault(properties, "database.replicamaxlagseconds", Long::parseLong,
+                REPLICA_MAX_LAG_SECONDS_DEFAULT);
+        long checkInterval = getOrDefault(properties, "database.replicacheckintervalmillis", Long::parseLong,
+                REPLICA_CHECK_INTERVAL_MILLIS_DEFAULT);
+        String lagQuery = properties.getProperty("database.replicalagquery", REPLICA_LAG_QUERY_DEFAULT);
+
+        RoutingConnectionPool routingPool = new RoutingConnectionPool(primary, replicas, maxLagSeconds, lagQuery);
+        routingPool.startLagMonitor(checkInterval);
+
+        logger.info(String.format("Routing reads to %d replicas with max lag %d s", replicas.size(), maxLagSeconds));
+
+        return routingPool;
+    }
+
+    /**
+     * Creates a pool from the properties starting with the prefix, e.g. {@code database.url}.
+     * Absent optional properties keep the defaults of {@link ConnectionPoolImpl.Builder}.
+     * Properties like {@code database.driver.cachePrepStmts} are passed to the jdbc driver.
+     */
+    static ConnectionPool createPool(Properties properties, String prefix) {
+        String url = properties.getProperty(prefix + ".url");
+        String userName = properties.getProperty(prefix + ".username");
+        String userPassword = properties.getProperty(prefix + ".password");
+        int maxConnNumber = parse(properties, prefix + ".maxconnections", Integer::parseInt);
+
+        ConnectionPoolImpl.Builder builder = ConnectionPoolImpl.getBuilder(url)
+                .setUserName(userName)
+                .setPassword(userPassword)
+                .setMaxConnections(maxConnNumber);
+
+        setIfPresent(properties, prefix + ".maxidle", Integer::parseInt, builder::setMaxIdle);
+        setIfPresent(properties, prefix + ".minidle", Integer::parseInt, builder::setMinIdle);
+        setIfPresent(properties, prefix + ".initialsize", Integer::parseInt, builder::setInitialSize);
+        setIfPresent(properties, prefix + ".maxwaitmillis", Long::parseLong, builder::setMaxWaitMillis);
+        setIfPresent(properties, prefix + ".validationquery", String::trim, builder::setValidationQuery);
+        setIfPresent(properties, prefix + ".validationquerytimeout", Integer::parseInt,
+                builder::setValidationQueryTimeoutSeconds);
+        setIfPresent(properties, prefix + ".testonborrow", ConnectionPoolProvider::parseBoolean,
+                builder::setTestOnBorrow);
+        setIfPresent(properties, prefix + ".testwhileidle", ConnectionPoolProvider::parseBoolean,
+                builder::setTestWhileIdle);
+        setIfPresent(properties, prefix + ".evictionintervalmillis", Long::parseLong,
+                builder::setEvictionIntervalMillis);
+        setIfPresent(properties, prefix + ".minevictableidlemillis", Long::parseLong,
+                builder::setMinEvictableIdleMillis);
+        setIfPresent(properties, prefix + ".poolpreparedstatements", ConnectionPoolProvider::parseBoolean,
+                builder::setPoolPreparedStatements);
+        setIfPresent(properties, prefix + ".maxopenpreparedstatements", Integer::parseInt,
+                builder::setMaxOpenPreparedStatements);
+        setIfPresent(properties, prefix + ".statementcachesize", Integer::parseInt,
+                builder::setStatementCacheSize);
+        setIfPresent(properties, prefix + ".leakdetectionthresholdmillis", Long::parseLong,
+                builder::setLeakDetectionThreshold);
+
+        String driverPrefix = prefix + DRIVER_PROPERTY_PREFIX;
+        for (String name : properties.stringPropertyNames()) {
+            if (name.startsWith(driverPrefix)) {
+                builder.setConnectionProperty(name.substring(driverPrefix.length()),
+                        properties.getProperty(name).trim());
+            }
+        }
+
+        return builder.build();
+    }
+
+    private static <T> void setIfPresent(Properties properties, String key, Function<String, T> parser,
+                                         Consumer<T> setter) {
+        if (nonNull(properties.getProperty(key))) {
+            setter.accept(parse(properties, key, parser));
+        }
+    }
+
+    private static <T> T getOrDefault(Properties properties, String key, Function<String, T> parser,
+                                      T defaultValue) {
+        return nonNull(properties.getProperty(key)) ? parse(properties, key, parser) : defaultValue;
+    }
+
+    private static <T> T parse(Properties properties, String key, Function<String, T> parser) {
+        String value = properties.getProperty(key);
+
+        try {
+            return parser.apply(value.trim());
+        } catch (RuntimeException e) {
+            String message = String.format("Invalid value '%s' of the db-config property '%s'", value, key);
+            logger.error(message, e);
+            throw new DaoException(message, e);
+        }
+    }
+
+    private static boolean parseBoolean(String value) {
+        if (!"true".equalsIgnoreCase(value) && !"false".equalsIgnoreCase(value)) {
+            throw new IllegalArgumentException("Expected true or false");
+        }
+
+        return Boolean.parseBoolean(value);
+    }
+
     public ConnectionPool getPool() {
         return instance;
     }
@@ -0,0 +1,177 @@
+package com.tolochko.periodicals.model.dao.pool;
+
+import org.apache.log4j.Logger;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.IntSupplier;
+
+/**
+ * Collects the usage metrics of a connection pool: borrow latency, in-use duration,
+ * active connections high-water mark and connections held longer than the leak detection threshold.
+ */
+public class ConnectionPoolStatistics {
+    private static final Logger logger = Logger.getLogger(ConnectionPoolStatistics.class);
+
+    private final LatencyHistogram borrowLatency = new LatencyHistogram();
+    private final LatencyHistogram inUseDuration = new LatencyHistogram();
+    private final AtomicInteger active = new AtomicInteger();
+    private final AtomicInteger highWaterMark = new AtomicInteger();
+    private final AtomicLong borrowFailures = new AtomicLong();
+    private final AtomicLong leaked = new AtomicLong();
+    private final AtomicLong leaseIds = new AtomicLong();
+    private final Map<Long, Lease> leases = new ConcurrentHashMap<>();
+    private final boolean captureBorrowerStackTrace;
+    private final IntSupplier idleCount;
+
+    /**
+     * @param captureBorrowerStackTrace whether to remember where each connection has been borrowed
+     *                                  to report it if the connection leaks
+     * @param idleCount                 supplies the number of idle connections in the pool
+     */
+    public ConnectionPoolStatistics(boolean captureBorrowerStackTrace, IntSupplier idleCount) {
+        this.captureBorrowerStackTrace = captureBorrowerStackTrace;
+        this.idleCount = idleCount;
+    }
+
+    /**
+     * Registers a connection taken from the pool.
+     *
+     * @param waitNanos how long the borrower has waited for the connection
+     * @return a lease that must be passed to {@link #onReturn(Lease)} when the connection is closed
+     */
+    public Lease onBorrow(long waitNanos) {
+        borrowLatency.record(waitNanos);
+        highWaterMark.accumulateAndGet(active.incrementAndGet(), Math::max);
+
+        Lease lease = new Lease(leaseIds.incrementAndGet(), Thread.currentThread().getName(),
+                captureBorrowerStackTrace ? new Throwable("Connection borrowed here") : null);
+        leases.put(lease.id, lease);
+
+        return lease;
+    }
+
+    public void onBorrowFailure(long waitNanos) {
+        borrowLatency.record(waitNanos);
+        borrowFailures.incrementAndGet();
+    }
+
+    public void onReturn(Lease lease) {
+        if (leases.remove(lease.id) == null) {
+            return;
+        }
+
+        active.decrementAndGet();
+        inUseDuration.record(System.nanoTime() - lease.borrowedAt);
+
+        if (lease.reportedAsLeaked) {
+            logger.warn(String.format("Connection #%d reported as leaked was returned after %d ms",
+                    lease.id, lease.getHeldMillis()));
+        }
+    }
+
+    /**
+     * Logs every connection held longer than the threshold with the stack trace of its borrower.
+     * Each connection is reported only once.
+     *
+     * @return the number of newly detected leaked connections
+     */
+    public int detectLeaks(long thresholdMillis) {
+        int detected = 0;
+
+        for (Lease lease : leases.values()) {
+            if (!lease.reportedAsLeaked && lease.getHeldMillis() >= thresholdMillis) {
+                lease.reportedAsLeaked = true;
+                leaked.incrementAndGet();
+                detected++;
+
+                logger.error(String.format("Connection #%d borrowed by thread '%s' has been held for %d ms, " +
+                        "possible connection leak", lease.id, lease.borrowerThread, lease.getHeldMillis()),
+                        lease.borrowerStackTrace);
+            }
+        }
+
+        return detected;
+    }
+
+    public LatencyHistogram getBorrowLatency() {
+        return borrowLatency;
+    }
+
+    public LatencyHistogram getInUseDuration() {
+        return inUseDuration;
+    }
+
+    public int getActive() {
+        return active.get();
+    }
+
+    public int getIdle() {
+        return idleCount.getAsInt();
+    }
+
+    public int getHighWaterMark() {
+        return highWaterMark.get();
+    }
+
+    public long getBorrowFailures() {
+        return borrowFailures.get();
+    }
+
+    public long getLeaked() {
+        return leaked.get();
+    }
+
+    /**
+     * @return the leases of connections currently held by borrowers
+     */
+    public List<Lease> getActiveLeases() {
+        return new ArrayList<>(leases.values());
+    }
+
+    @Override
+    public String toString() {
+        return String.format("ConnectionPoolStatistics{active=%d, idle=%d, highWaterMark=%d, " +
+                        "borrowFailures=%d, leaked=%d, borrowLatency=%s, inUseDuration=%s}",
+                getActive(), getIdle(), getHighWaterMark(), getBorrowFailures(), getLeaked(),
+                borrowLatency, inUseDuration);
+    }
+
+    public static class Lease {
+        private final long id;
+        private final long borrowedAt = System.nanoTime();
+        private final String borrowerThread;
+        private final Throwable borrowerStackTrace;
+        private volatile boolean reportedAsLeaked;
+
+        private Lease(long id, String borrowerThread, Throwable borrowerStackTrace) {
+            this.id = id;
+            this.borrowerThread = borrowerThread;
+            this.borrowerStackTrace = borrowerStackTrace;
+        }
+
+        public long getId() {
+            return id;
+        }
+
+        public String getBorrowerThread() {
+            return borrowerThread;
+        }
+
+        /**
+         * @return the stack trace of the borrower or {@code null} if it was not captured
+         */
+        public Throwable getBorrowerStackTrace() {
+            return borrowerStackTrace;
+        }
+
+        public long getHeldMillis() {
+            return TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - borrowedAt);
+        }
+    }
+}
@@ -0,0 +1,88 @@
+package com.tolochko.periodicals.model.dao.pool;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * A lock-free histogram of durations with fixed millisecond buckets.
+ */
+public class LatencyHistogram {
+    private static final long[] BUCKET_BOUNDS_MILLIS = {1, 5, 10, 50, 100, 500, 1000, 5000};
+
+    private final AtomicLongArray counts = new AtomicLongArray(BUCKET_BOUNDS_MILLIS.length + 1);
+    private final AtomicLong count = new AtomicLong();
+    private final AtomicLong totalNanos = new AtomicLong();
+    private final AtomicLong maxNanos = new AtomicLong();
+
+    public void record(long nanos) {
+        counts.incrementAndGet(getBucketIndex(TimeUnit.NANOSECONDS.toMillis(nanos)));
+        count.incrementAndGet();
+        totalNanos.addAndGet(nanos);
+        maxNanos.accumulateAndGet(nanos, Math::max);
+    }
+
+    private int getBucketIndex(long millis) {
+        for (int i = 0; i < BUCKET_BOUNDS_MILLIS.length; i++) {
+            if (millis < BUCKET_BOUNDS_MILLIS[i]) {
+                return i;
+            }
+        }
+
+        return BUCKET_BOUNDS_MILLIS.length;
+    }
+
+    public long getCount() {
+        return count.get();
+    }
+
+    public double getMeanMillis() {
+        long currentCount = count.get();
+        return currentCount == 0 ? 0 : nanosToMillis(totalNanos.get()) / currentCount;
+    }
+
+    public double getMaxMillis() {
+        return nanosToMillis(maxNanos.get());
+    }
+
+    /**
+     * Returns the number of recorded values in each bucket. The bucket {@code i} holds values
+     * less than {@code getBucketBoundsMillis()[i]}, the last one holds everything else.
+     */
+    public long[] getBucketCounts() {
+        long[] result = new long[counts.length()];
+
+        for (int i = 0; i < result.length; i++) {
+            result[i] = counts.get(i);
+        }
+
+        return result;
+    }
+
+    public static long[] getBucketBoundsMillis() {
+        return BUCKET_BOUNDS_MILLIS.clone();
+    }
+
+    private static double nanosToMillis(long nanos) {
+        return nanos / 1_000_000.0;
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder buckets = new StringBuilder();
+        long[] bucketCounts = getBucketCounts();
+
+        for (int i = 0; i < bucketCounts.length; i++) {
+            buckets.append(i < BUCKET_BOUNDS_MILLIS.length ? "<" + BUCKET_BOUNDS_MILLIS[i] : ">=" +
+                    BUCKET_BOUNDS_MILLIS[BUCKET_BOUNDS_MILLIS.length - 1])
+                    .append("ms=").append(bucketCounts[i]);
+
+            if (i < bucketCounts.length - 1) {
+                buckets.append(", ");
+            }
+        }
+
+        return String.format("{count=%d, mean=%.3fms, max=%.3fms, buckets=[%s]}",
+                getCount(), getMeanMillis(), getMaxMillis(), buckets);
+    }
+}
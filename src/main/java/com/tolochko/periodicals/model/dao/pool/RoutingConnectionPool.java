@@ -0,0 +1,198 @@
+package com.tolochko.periodicals.model.dao.pool;
+
+import com.tolochko.periodicals.model.connection.ConnectionProxy;
+import com.tolochko.periodicals.model.dao.exception.DaoException;
+import org.apache.log4j.Logger;
+
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.ResultSetMetaData;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Sends writes to the primary pool and spreads read-only connections over the replica pools
+ * in round-robin order. A replica is used only while its replication lag, checked periodically
+ * with the lag query, does not exceed the tolerance. If no replica is usable, reads go to the primary.
+ */
+public class RoutingConnectionPool implements ConnectionPool {
+    private static final Logger logger = Logger.getLogger(RoutingConnectionPool.class);
+    /**
+     * The column with the replication lag in the result of {@code SHOW SLAVE STATUS}.
+     */
+    private static final String LAG_COLUMN = "Seconds_Behind_Master";
+
+    private final ConnectionPool primary;
+    private final List<Replica> replicas = new ArrayList<>();
+    private final long maxLagSeconds;
+    private final String lagQuery;
+    private final AtomicInteger nextReplica = new AtomicInteger();
+    private final AtomicLong replicaReads = new AtomicLong();
+    private final AtomicLong primaryReads = new AtomicLong();
+    private ScheduledExecutorService lagMonitor;
+
+    /**
+     * @param maxLagSeconds the max replication lag a replica may have to serve reads
+     * @param lagQuery      a query returning the lag in seconds in the {@code Seconds_Behind_Master}
+     *                      or the first column; an empty result means no lag
+     */
+    public RoutingConnectionPool(ConnectionPool primary, List<ConnectionPool> replicaPools,
+                                 long maxLagSeconds, String lagQuery) {
+        this.primary = primary;
+        this.maxLagSeconds = maxLagSeconds;
+        this.lagQuery = lagQuery;
+
+        for (int i = 0; i < replicaPools.size(); i++) {
+            replicas.add(new Replica(i, replicaPools.get(i)));
+        }
+    }
+
+    /**
+     * Checks the replicas every {@code intervalMillis} in a background thread.
+     */
+    public void startLagMonitor(long intervalMillis) {
+        lagMonitor = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "replica-lag-monitor");
+            thread.setDaemon(true);
+            return thread;
+        });
+
+        lagMonitor.scheduleWithFixedDelay(this::checkReplicas, 0, intervalMillis, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Measures the replication lag of every replica and decides whether it may serve reads.
+     */
+    public void checkReplicas() {
+        for (Replica replica : replicas) {
+            boolean wasAvailable = replica.available;
+
+            try {
+                long lag = getLagSeconds(replica.pool);
+                replica.available = (lag >= 0) && (lag <= maxLagSeconds);
+                replica.lagSeconds = lag;
+            } catch (RuntimeException | SQLException e) {
+                logger.warn(String.format("Can not check replica #%d", replica.index), e);
+                replica.available = false;
+            }
+
+            if (wasAvailable != replica.available) {
+                logger.info(String.format("Replica #%d is %s, lag = %d s", replica.index,
+                        replica.available ? "available" : "unavailable", replica.lagSeconds));
+            }
+        }
+    }
+
+    private long getLagSeconds(ConnectionPool pool) throws SQLException {
+        try (ConnectionProxy connection = pool.getConnection();
+             PreparedStatement st = connection.prepareStatement(lagQuery);
+             ResultSet rs = st.executeQuery()) {
+
+            if (!rs.next()) {
+                return 0;
+            }
+
+            long lag = rs.getLong(getLagColumnIndex(rs.getMetaData()));
+
+            // null lag means the replication is stopped
+            return rs.wasNull() ? -1 : lag;
+        }
+    }
+
+    private int getLagColumnIndex(ResultSetMetaData metaData) throws SQLException {
+        for (int i = 1; i <= metaData.getColumnCount(); i++) {
+            if (LAG_COLUMN.equalsIgnoreCase(metaData.getColumnLabel(i))) {
+                return i;
+            }
+        }
+
+        return 1;
+    }
+
+    @Override
+    public ConnectionProxy getConnection() {
+        return primary.getConnection();
+    }
+
+    @Override
+    public ConnectionProxy getReadOnlyConnection() {
+        int size = replicas.size();
+        int start = (size == 0) ? 0 : Math.abs(nextReplica.getAndIncrement() % size);
+
+        for (int i = 0; i < size; i++) {
+            Replica replica = replicas.get((start + i) % size);
+
+            if (replica.available) {
+                try {
+                    ConnectionProxy connection = replica.pool.getConnection();
+                    replicaReads.incrementAndGet();
+                    return connection;
+                } catch (DaoException e) {
+                    logger.warn(String.format("Replica #%d failed, excluding it until the next check",
+                            replica.index), e);
+                    replica.available = false;
+                }
+            }
+        }
+
+        primaryReads.incrementAndGet();
+        return primary.getConnection();
+    }
+
+    /**
+     * @return statistics of the primary pool
+     */
+    @Override
+    public ConnectionPoolStatistics getStatistics() {
+        return primary.getStatistics();
+    }
+
+    /**
+     * Stops the lag monitor and closes the primary and the replica pools.
+     */
+    @Override
+    public void close() {
+        if (lagMonitor != null) {
+            lagMonitor.shutdownNow();
+        }
+
+        replicas.forEach(replica -> replica.pool.close());
+        primary.close();
+    }
+
+    public List<ConnectionPoolStatistics> getReplicaStatistics() {
+        List<ConnectionPoolStatistics> statistics = new ArrayList<>();
+        replicas.forEach(replica -> statistics.add(replica.pool.getStatistics()));
+        return statistics;
+    }
+
+    public long getReplicaReads() {
+        return replicaReads.get();
+    }
+
+    public long getPrimaryReads() {
+        return primaryReads.get();
+    }
+
+    public int getAvailableReplicas() {
+        return (int) replicas.stream().filter(replica -> replica.available).count();
+    }
+
+    private static class Replica {
+        private final int index;
+        private final ConnectionPool pool;
+        private volatile boolean available;
+        private volatile long lagSeconds;
+
+        private Replica(int index, ConnectionPool pool) {
+            this.index = index;
+            this.pool = pool;
+        }
+    }
+}
@@ -1,140 +1,55 @@
 package com.tolochko.periodicals.model.dao.util;
 
-import com.tolochko.periodicals.model.dao.exception.DaoException;
-import com.tolochko.periodicals.model.domain.invoice.Invoice;
-import com.tolochko.periodicals.model.domain.periodical.Periodical;
-import com.tolochko.periodicals.model.domain.periodical.PeriodicalCategory;
-import com.tolochko.periodicals.model.domain.subscription.Subscription;
-import com.tolochko.periodicals.model.domain.user.User;
-import org.apache.log4j.Logger;
-
+import java.sql.PreparedStatement;
 import java.sql.ResultSet;
 import java.sql.SQLException;
-import java.sql.Timestamp;
-import java.time.Instant;
-
-import static java.util.Objects.nonNull;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.List;
 
 public final class DaoUtil {
-    private static final Logger logger = Logger.getLogger(DaoUtil.class);
 
     private DaoUtil() {
     }
 
     /**
-     * Creates a new user using the data from the result set.
+     * Maps all rows of the result set with one mapper created for this result set.
      */
-    public static User createUserFromResultSet(ResultSet rs) {
-        User.Builder userBuilder;
-
-        try {
-            userBuilder = new User.Builder()
-                    .setId(rs.getLong("id"))
-                    .setUsername(rs.getString("username"))
-                    .setFirstName(rs.getString("first_name"))
-                    .setLastName(rs.getString("last_name"))
-                    .setEmail(rs.getString("email"))
-                    .setAddress(rs.getString("address"))
-                    .setPassword(rs.getString("password"))
-                    .setStatus(User.Status.valueOf(rs.getString("status").toUpperCase()));
+    public static <E> List<E> mapAll(ResultSet rs, RowMapperFactory<E> mapperFactory) throws SQLException {
+        RowMapper<E> mapper = mapperFactory.forResultSet(rs);
+        List<E> entities = new ArrayList<>();
 
-            return userBuilder.build();
-        } catch (SQLException e) {
-            logger.error("caught exception during creating user", e);
+        while (rs.next()) {
+            entities.add(mapper.mapRow(rs));
         }
 
-        return null;
+        return entities;
     }
 
     /**
-     * Creates a new periodical using the data from the result set.
+     * Maps the first row of the result set.
+     *
+     * @return the entity or {@code null} if the result set is empty
      */
-    public static Periodical getPeriodicalFromResultSet(ResultSet rs) {
-        Periodical.Builder periodicalBuilder;
-
-        try {
-            periodicalBuilder = new Periodical.Builder()
-                    .setId(rs.getLong("periodicals.id"))
-                    .setName(rs.getString("periodicals.name"))
-                    .setCategory(PeriodicalCategory.valueOf(
-                            rs.getString("periodicals.category").toUpperCase()))
-                    .setPublisher(rs.getString("periodicals.publisher"))
-                    .setDescription(rs.getString("periodicals.description"))
-                    .setOneMonthCost(rs.getLong("periodicals.one_month_cost"))
-                    .setStatus(Periodical.Status.valueOf(
-                            rs.getString("periodicals.status").toUpperCase()));
-
-            return periodicalBuilder.build();
-        } catch (SQLException e) {
-            logger.error("I've caught error during creating periodical for result set", e);
-            throw new DaoException(e);
-        }
-    }
-
-    /**
-     * Creates a new Subscription using the data from the result set.
-     */
-    public static Subscription getSubscriptionFromRs(ResultSet rs) {
-
-        try {
-            User.Builder userBuilder = new User.Builder();
-            userBuilder.setId(rs.getLong("subscriptions.user_id"));
-
-            Periodical.Builder periodicalBuilder = new Periodical.Builder();
-            periodicalBuilder.setId(rs.getLong("subscriptions.periodical_id"));
-
-            Subscription.Builder subscriptionBuilder = new Subscription.Builder();
-            subscriptionBuilder.setId(rs.getLong("subscriptions.id"))
-                    .setUser(userBuilder.build())
-                    .setPeriodical(periodicalBuilder.build())
-                    .setDeliveryAddress(rs.getString("subscriptions.delivery_address"))
-                    .setEndDate(rs.getTimestamp("subscriptions.end_date").toInstant())
-                    .setStatus(Subscription.Status.valueOf(
-                            rs.getString("subscriptions.status").toUpperCase()));
-
-            return subscriptionBuilder.build();
-        } catch (SQLException e) {
-            logger.error("I've caught error during creating subscription for result set", e);
-            throw new DaoException(e);
-        }
+    public static <E> E mapFirst(ResultSet rs, RowMapperFactory<E> mapperFactory) throws SQLException {
+        return rs.next() ? mapperFactory.forResultSet(rs).mapRow(rs) : null;
     }
 
     /**
-     * Creates a new invoice using the data from the result set.
+     * Executes an insert of one row prepared with {@link Statement#RETURN_GENERATED_KEYS}.
+     *
+     * @return the generated id of the inserted row
+     * @throws SQLException if no id has been generated
      */
-    public static Invoice getInvoiceFromResultSet(ResultSet rs) {
-
-        try {
-            User.Builder userBuilder = new User.Builder();
-            userBuilder.setId(rs.getLong("invoices.user_id"));
-
-            Periodical periodical = new Periodical();
-            periodical.setId(rs.getLong("invoices.periodical_id"));
+    public static long executeInsert(PreparedStatement st) throws SQLException {
+        st.executeUpdate();
 
-            Invoice.Builder invoiceBuilder = new Invoice.Builder();
-            invoiceBuilder.setId(rs.getLong("invoices.id"))
-                    .setUser(userBuilder.build())
-                    .setPeriodical(periodical)
-                    .setSubscriptionPeriod(rs.getInt("invoices.period"))
-                    .setTotalSum(rs.getLong("invoices.total_sum"))
-                    .setCreationDate(getCreationDateFromResults(rs))
-                    .setPaymentDate(getPaymentDateFromResults(rs))
-                    .setStatus(Invoice.Status.valueOf(rs.getString("invoices.status").toUpperCase()));
+        try (ResultSet generatedKeys = st.getGeneratedKeys()) {
+            if (!generatedKeys.next()) {
+                throw new SQLException("No id has been generated by the insert.");
+            }
 
-            return invoiceBuilder.build();
-        } catch (SQLException e) {
-            logger.error("I've caught error during creating invoice for result set", e);
-            throw new DaoException(e);
+            return generatedKeys.getLong(1);
         }
     }
-
-    private static Instant getCreationDateFromResults(ResultSet rs) throws SQLException {
-        return Instant.ofEpochMilli(rs.getTimestamp("invoices.creation_date").getTime());
-    }
-
-    private static Instant getPaymentDateFromResults(ResultSet rs) throws SQLException {
-        Timestamp timestamp = rs.getTimestamp("invoices.payment_date");
-        return nonNull(timestamp) ? Instant.ofEpochMilli(timestamp.getTime()) : null;
-    }
-
 }
@@ -0,0 +1,62 @@
+package com.tolochko.periodicals.model.dao.util;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashSet;
+import java.util.List;
+
+/**
+ * Builds {@code IN (?, ?, ...)} lists for lookups by many ids. The number of placeholders
+ * is rounded up to a power of two (the last id is repeated), so a query has only a few
+ * distinct shapes and its prepared statements stay cacheable.
+ */
+public final class InClause {
+    private static final int MIN_PLACEHOLDERS = 8;
+
+    private InClause() {
+    }
+
+    /**
+     * Splits distinct ids into chunks of at most {@code chunkSize} ids, one chunk per query.
+     */
+    public static List<List<Long>> chunks(Collection<Long> ids, int chunkSize) {
+        if (chunkSize <= 0) {
+            throw new IllegalArgumentException("chunkSize should be a positive number.");
+        }
+
+        List<Long> distinctIds = new ArrayList<>(new LinkedHashSet<>(ids));
+        List<List<Long>> chunks = new ArrayList<>();
+
+        for (int from = 0; from < distinctIds.size(); from += chunkSize) {
+            chunks.add(distinctIds.subList(from, Math.min(from + chunkSize, distinctIds.size())));
+        }
+
+        return chunks;
+    }
+
+    /**
+     * @return the number of placeholders used for {@code size} ids
+     */
+    public static int placeholderCount(int size, int chunkSize) {
+        int count = MIN_PLACEHOLDERS;
+
+        while (count < size) {
+            count <<= 1;
+        }
+
+        return Math.max(size, Math.min(count, chunkSize));
+    }
+
+    /**
+     * @return {@code count} comma separated placeholders
+     */
+    public static String placeholders(int count) {
+        StringBuilder builder = new StringBuilder(count * 2);
+
+        for (int i = 0; i < count; i++) {
+            builder.append(i == 0 ? "?" : ",?");
+        }
+
+        return builder.toString();
+    }
+}
@@ -0,0 +1,130 @@
+package com.tolochko.periodicals.model.dao.util;
+
+import com.tolochko.periodicals.model.connection.ConnectionProxy;
+
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Executes one statement for many entities with jdbc batches, sending {@code batchSize}
+ * rows per round trip.
+ */
+public final class JdbcBatch {
+    public static final int DEFAULT_BATCH_SIZE = 500;
+
+    private JdbcBatch() {
+    }
+
+    /**
+     * Sets the statement parameters for one entity.
+     */
+    @FunctionalInterface
+    public interface ParameterSetter<E> {
+        void setParameters(PreparedStatement st, E entity) throws SQLException;
+    }
+
+    /**
+     * Inserts the entities and collects the generated ids.
+     *
+     * @return the generated ids in the order of the entities
+     */
+    public static <E> List<Long> insert(ConnectionProxy connection, String query, Collection<E> entities,
+                                        ParameterSetter<E> setter, int batchSize) throws SQLException {
+        checkBatchSize(batchSize);
+        List<Long> ids = new ArrayList<>(entities.size());
+
+        if (entities.isEmpty()) {
+            return ids;
+        }
+
+        try (PreparedStatement st = connection.prepareStatement(query, Statement.RETURN_GENERATED_KEYS)) {
+            int pending = 0;
+
+            for (E entity : entities) {
+                setter.setParameters(st, entity);
+                st.addBatch();
+
+                if (++pending == batchSize) {
+                    st.executeBatch();
+                    collectGeneratedKeys(st, ids);
+                    pending = 0;
+                }
+            }
+
+            if (pending > 0) {
+                st.executeBatch();
+                collectGeneratedKeys(st, ids);
+            }
+        }
+
+        return ids;
+    }
+
+    /**
+     * Executes the statement once per item.
+     *
+     * @return the total number of affected rows
+     */
+    public static <E> int execute(ConnectionProxy connection, String query, Collection<E> items,
+                                  ParameterSetter<E> setter, int batchSize) throws SQLException {
+        checkBatchSize(batchSize);
+
+        if (items.isEmpty()) {
+            return 0;
+        }
+
+        int affectedRows = 0;
+
+        try (PreparedStatement st = connection.prepareStatement(query)) {
+            int pending = 0;
+
+            for (E item : items) {
+                setter.setParameters(st, item);
+                st.addBatch();
+
+                if (++pending == batchSize) {
+                    affectedRows += sumUpdateCounts(st.executeBatch());
+                    pending = 0;
+                }
+            }
+
+            if (pending > 0) {
+                affectedRows += sumUpdateCounts(st.executeBatch());
+            }
+        }
+
+        return affectedRows;
+    }
+
+    private static void collectGeneratedKeys(PreparedStatement st, List<Long> ids) throws SQLException {
+        try (ResultSet generatedKeys = st.getGeneratedKeys()) {
+            while (generatedKeys.next()) {
+                ids.add(generatedKeys.getLong(1));
+            }
+        }
+    }
+
+    /**
+     * A rewritten batch reports {@link Statement#SUCCESS_NO_INFO}, it is counted as one row.
+     */
+    private static int sumUpdateCounts(int[] updateCounts) {
+        int sum = 0;
+
+        for (int count : updateCounts) {
+            sum += (count == Statement.SUCCESS_NO_INFO) ? 1 : count;
+        }
+
+        return sum;
+    }
+
+    private static void checkBatchSize(int batchSize) {
+        if (batchSize <= 0) {
+            throw new IllegalArgumentException("batchSize should be a positive number.");
+        }
+    }
+}
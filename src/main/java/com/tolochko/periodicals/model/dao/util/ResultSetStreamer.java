@@ -0,0 +1,55 @@
+package com.tolochko.periodicals.model.dao.util;
+
+import com.tolochko.periodicals.model.connection.ConnectionProxy;
+
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.function.Consumer;
+
+/**
+ * Walks a result set row by row in the MySQL streaming mode: the driver does not buffer
+ * the whole result, so the memory use does not depend on the number of rows.
+ * While a result set is streamed, its connection can not execute other statements, so it must
+ * be a connection used by nothing else, e.g.
+ * {@link com.tolochko.periodicals.model.TransactionHelper#getStreamingConnectionProxy()}, and never
+ * the connection pinned to the request, which the dao calls of the action would share.
+ */
+public final class ResultSetStreamer {
+    /**
+     * The fetch size which makes MySQL Connector/J stream rows one by one.
+     */
+    private static final int STREAMING_FETCH_SIZE = Integer.MIN_VALUE;
+    private static final int DEFAULT_FETCH_SIZE = 0;
+
+    private ResultSetStreamer() {
+    }
+
+    /**
+     * Executes the query and passes every row mapped to an entity to the action.
+     * The action must not use the connection.
+     *
+     * @return the number of processed rows
+     */
+    public static <E> long forEach(ConnectionProxy connection, String query, RowMapperFactory<E> mapperFactory,
+                                   Consumer<? super E> action) throws SQLException {
+        try (PreparedStatement st = connection.prepareStatement(query)) {
+            st.setFetchSize(STREAMING_FETCH_SIZE);
+
+            try (ResultSet rs = st.executeQuery()) {
+                RowMapper<E> mapper = mapperFactory.forResultSet(rs);
+                long rows = 0;
+
+                while (rs.next()) {
+                    action.accept(mapper.mapRow(rs));
+                    rows++;
+                }
+
+                return rows;
+            } finally {
+                // the statement may be cached and reused by other queries
+                st.setFetchSize(DEFAULT_FETCH_SIZE);
+            }
+        }
+    }
+}
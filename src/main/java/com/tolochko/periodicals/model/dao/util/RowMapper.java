@@ -0,0 +1,12 @@
+package com.tolochko.periodicals.model.dao.util;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+
+/**
+ * Creates an entity from the current row of a result set.
+ */
+@FunctionalInterface
+public interface RowMapper<E> {
+    E mapRow(ResultSet rs) throws SQLException;
+}
@@ -0,0 +1,12 @@
+package com.tolochko.periodicals.model.dao.util;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+
+/**
+ * Creates a {@link RowMapper} bound to one result set, e.g. with the column indexes resolved.
+ */
+@FunctionalInterface
+public interface RowMapperFactory<E> {
+    RowMapper<E> forResultSet(ResultSet rs) throws SQLException;
+}
@@ -0,0 +1,86 @@
+package com.tolochko.periodicals.model.domain;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.function.ToLongFunction;
+
+/**
+ * One page of a keyset (seek method) pagination. The cursors are ids of the boundary items:
+ * the next page starts after {@link #getNextCursor()}, the previous page ends before
+ * {@link #getPreviousCursor()}. A {@code null} cursor means there is no such page.
+ */
+public class Page<E> {
+    public static final int DEFAULT_SIZE = 20;
+    public static final int MAX_SIZE = 100;
+
+    private final List<E> items;
+    private final Long previousCursor;
+    private final Long nextCursor;
+
+    private Page(List<E> items, Long previousCursor, Long nextCursor) {
+        this.items = Collections.unmodifiableList(items);
+        this.previousCursor = previousCursor;
+        this.nextCursor = nextCursor;
+    }
+
+    /**
+     * Creates a page from rows selected after a cursor.
+     *
+     * @param rows    up to {@code size + 1} rows in ascending id order, the extra row only
+     *                shows that there is a next page
+     * @param afterId the cursor the rows were selected after, 0 for the first page
+     */
+    public static <E> Page<E> after(List<E> rows, int size, long afterId, ToLongFunction<E> idGetter) {
+        boolean hasNext = rows.size() > size;
+        List<E> items = hasNext ? rows.subList(0, size) : rows;
+
+        Long previousCursor = (afterId > 0 && !items.isEmpty()) ? idGetter.applyAsLong(items.get(0)) : null;
+        Long nextCursor = hasNext ? idGetter.applyAsLong(items.get(items.size() - 1)) : null;
+
+        return new Page<>(items, previousCursor, nextCursor);
+    }
+
+    /**
+     * Creates a page from rows selected before a cursor.
+     *
+     * @param rows up to {@code size + 1} rows in ascending id order, the extra (first) row only
+     *             shows that there is a previous page
+     */
+    public static <E> Page<E> before(List<E> rows, int size, ToLongFunction<E> idGetter) {
+        boolean hasPrevious = rows.size() > size;
+        List<E> items = hasPrevious ? rows.subList(rows.size() - size, rows.size()) : rows;
+
+        Long previousCursor = hasPrevious ? idGetter.applyAsLong(items.get(0)) : null;
+        Long nextCursor = items.isEmpty() ? null : idGetter.applyAsLong(items.get(items.size() - 1));
+
+        return new Page<>(items, previousCursor, nextCursor);
+    }
+
+    /**
+     * @return the size limited to [1, {@link #MAX_SIZE}]
+     */
+    public static int normalizeSize(int size) {
+        return Math.max(1, Math.min(size, MAX_SIZE));
+    }
+
+    public List<E> getItems() {
+        return items;
+    }
+
+    public Long getPreviousCursor() {
+        return previousCursor;
+    }
+
+    public Long getNextCursor() {
+        return nextCursor;
+    }
+
+    @Override
+    public String toString() {
+        return "Page{" +
+                "items=" + items.size() +
+                ", previousCursor=" + previousCursor +
+                ", nextCursor=" + nextCursor +
+                '}';
+    }
+}
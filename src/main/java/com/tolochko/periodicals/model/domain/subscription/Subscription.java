@@ -119,6 +119,18 @@ public class Subscription {
         return status;
     }
 
+    /**
+     * @return {@code inactive} if this subscription has expired by {@code now}, even if its
+     * stored status has not been updated yet; the stored status otherwise
+     */
+    public Status getEffectiveStatus(Instant now) {
+        if (status == Status.ACTIVE && endDate != null && endDate.isBefore(now)) {
+            return Status.INACTIVE;
+        }
+
+        return status;
+    }
+
     public void setStatus(Status status) {
         this.status = status;
     }
@@ -12,19 +12,36 @@ public interface InvoiceService {
 
     List<Invoice> findAllByUserId(long userId);
 
+    /**
+     * Retrieves the invoices of the user together with their periodicals. The periodicals
+     * of all invoices are loaded by one bulk lookup.
+     */
+    List<Invoice> findAllByUserIdWithPeriodicals(long userId);
+
     List<Invoice> findAllByPeriodicalId(long periodicalId);
 
+    /**
+     * Persists the invoice and adds it to the daily revenue rollup as one transaction.
+     */
     void createNew(Invoice newInvoice);
 
     /**
      * Updates the status of this invoice to {@code paid} and updates an existing subscription
-     * (or creates a new one) as one transaction.
+     * (or creates a new one) as one transaction. An invoice is paid at most once even if
+     * it is paid concurrently.
      *
      * @param invoiceToPay invoice id to be paid
-     * @return true if after committing this invoice in the db has status 'PAID' and
-     *      false otherwise.
+     * @return true if this invoice has been paid by this call and false if it had not been
+     *      new any more.
      */
     boolean payInvoice(Invoice invoiceToPay);
 
     FinancialStatistics getFinStatistics(Instant since, Instant until);
+
+    /**
+     * Recomputes the daily revenue rollup from all invoices, one transaction per month of days.
+     *
+     * @return the number of written rollup rows
+     */
+    int rebuildDailyRevenue();
 }
@@ -1,5 +1,7 @@
 package com.tolochko.periodicals.model.service;
 
+import com.tolochko.periodicals.model.cache.CacheStatistics;
+import com.tolochko.periodicals.model.domain.Page;
 import com.tolochko.periodicals.model.domain.PeriodicalNumberByCategory;
 import com.tolochko.periodicals.model.domain.periodical.Periodical;
 
@@ -10,16 +12,17 @@ public interface PeriodicalService {
 
     void deleteOnePeriodical(long id);
 
+    /**
+     * Is served from the catalog snapshot like {@link #findOneById(long)}.
+     */
     List<Periodical> findAllByStatus(Periodical.Status status);
 
     /**
-     * If the id of this periodical is 0, creates a new one. Otherwise tries to update
-     * an existing periodical in the db with this id.
-     * Use the returned instance for further operations as the save operation
-     * might have changed the entity instance completely.
+     * If the id of this periodical is 0, creates a new one and sets the generated id
+     * to it. Otherwise tries to update an existing periodical in the db with this id.
      *
      * @param periodical the persisted periodical
-     * @return a periodical from the db
+     * @return the persisted periodical
      */
     Periodical save(Periodical periodical);
 
@@ -46,10 +49,42 @@ public interface PeriodicalService {
 
     List<PeriodicalNumberByCategory> getQuantitativeStatistics();
 
-
+    /**
+     * Is served from an in-memory snapshot of the catalog. Changes made through this service
+     * replace the snapshot at once, other changes are seen within a minute.
+     *
+     * @return a copy of the periodical, which may be changed by the caller
+     */
     Periodical findOneById(long id);
 
+    /**
+     * Is served from the catalog snapshot like {@link #findOneById(long)}.
+     */
     Periodical findOneByName(String name);
 
+    /**
+     * Is served from the catalog snapshot like {@link #findOneById(long)}.
+     */
     List<Periodical> findAll();
+
+    /**
+     * @return the hits and misses of the catalog snapshot
+     */
+    CacheStatistics getCatalogCacheStatistics();
+
+    /**
+     * Returns the page of periodicals following the cursor.
+     *
+     * @param afterId the next cursor of the previous page, 0 for the first page
+     * @param size    the page size, limited to {@link Page#MAX_SIZE}
+     * @param status  only periodicals with this status are returned; all if null
+     */
+    Page<Periodical> findPageAfter(long afterId, int size, Periodical.Status status);
+
+    /**
+     * Returns the page of periodicals preceding the cursor.
+     *
+     * @param beforeId the previous cursor of the next page
+     */
+    Page<Periodical> findPageBefore(long beforeId, int size, Periodical.Status status);
 }
@@ -6,5 +6,16 @@ import java.util.List;
 
 public interface SubscriptionService {
 
+    /**
+     * Retrieves the subscriptions of the user. Expired subscriptions are returned with
+     * status 'inactive' even if the db has not been swept yet; nothing is written.
+     */
     List<Subscription> findAllByUserId(long id);
+
+    /**
+     * Sets status 'inactive' in the db to all active subscriptions that have expired.
+     *
+     * @return the number of deactivated subscriptions
+     */
+    int deactivateExpired();
 }
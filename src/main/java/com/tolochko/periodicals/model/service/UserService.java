@@ -1,5 +1,6 @@
 package com.tolochko.periodicals.model.service;
 
+import com.tolochko.periodicals.model.domain.Page;
 import com.tolochko.periodicals.model.domain.user.User;
 
 import java.util.List;
@@ -12,6 +13,22 @@ public interface UserService {
 
     List<User> findAll();
 
+    /**
+     * Returns the page of users following the cursor.
+     *
+     * @param afterId the next cursor of the previous page, 0 for the first page
+     * @param size    the page size, limited to {@link Page#MAX_SIZE}
+     * @param status  only users with this status are returned; all if null
+     */
+    Page<User> findPageAfter(long afterId, int size, User.Status status);
+
+    /**
+     * Returns the page of users preceding the cursor.
+     *
+     * @param beforeId the previous cursor of the next page
+     */
+    Page<User> findPageBefore(long beforeId, int size, User.Status status);
+
     boolean createNewUser(User user);
 
     boolean emailExistsInDb(String email);
@@ -4,26 +4,27 @@ import com.tolochko.periodicals.model.TransactionHelper;
 import com.tolochko.periodicals.model.dao.exception.DaoException;
 import com.tolochko.periodicals.model.dao.factory.DaoFactory;
 import com.tolochko.periodicals.model.dao.factory.impl.MySqlDaoFactory;
+import com.tolochko.periodicals.model.dao.interfaces.DailyRevenueDao;
 import com.tolochko.periodicals.model.dao.interfaces.InvoiceDao;
-import com.tolochko.periodicals.model.dao.interfaces.SubscriptionDao;
 import com.tolochko.periodicals.model.domain.FinancialStatistics;
 import com.tolochko.periodicals.model.domain.invoice.Invoice;
 import com.tolochko.periodicals.model.domain.periodical.Periodical;
-import com.tolochko.periodicals.model.domain.subscription.Subscription;
-import com.tolochko.periodicals.model.domain.user.User;
 import com.tolochko.periodicals.model.service.InvoiceService;
 import org.apache.log4j.Logger;
 
 import java.time.Instant;
-import java.time.LocalDateTime;
-import java.time.ZoneId;
-import java.time.ZoneOffset;
+import java.time.LocalDate;
+import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
 
 import static java.util.Objects.isNull;
 
 public class InvoiceServiceImpl implements InvoiceService {
     private static final Logger logger = Logger.getLogger(InvoiceServiceImpl.class);
+    private static final int REBUILD_CHUNK_DAYS = 31;
     private DaoFactory factory = MySqlDaoFactory.getFactoryInstance();
 
     @Override
@@ -36,6 +37,38 @@ public class InvoiceServiceImpl implements InvoiceService {
         return factory.getInvoiceDao().findAllByUserId(userId);
     }
 
+    @Override
+    public List<Invoice> findAllByUserIdWithPeriodicals(long userId) {
+        List<Invoice> invoices = factory.getInvoiceDao().findAllByUserId(userId);
+        setPeriodicals(invoices);
+
+        return invoices;
+    }
+
+    /**
+     * Replaces the id-only periodicals of the invoices with the ones from the db
+     * loaded by one bulk lookup.
+     */
+    private void setPeriodicals(List<Invoice> invoices) {
+        if (invoices.isEmpty()) {
+            return;
+        }
+
+        Set<Long> periodicalIds = new HashSet<>();
+        for (Invoice invoice : invoices) {
+            periodicalIds.add(invoice.getPeriodical().getId());
+        }
+
+        Map<Long, Periodical> periodicals = new HashMap<>();
+        for (Periodical periodical : factory.getPeriodicalDao().findAllByIds(periodicalIds)) {
+            periodicals.put(periodical.getId(), periodical);
+        }
+
+        for (Invoice invoice : invoices) {
+            invoice.setPeriodical(periodicals.get(invoice.getPeriodical().getId()));
+        }
+    }
+
     @Override
     public List<Invoice> findAllByPeriodicalId(long periodicalId) {
         return factory.getInvoiceDao().findAllByPeriodicalId(periodicalId);
@@ -43,93 +76,129 @@ public class InvoiceServiceImpl implements InvoiceService {
 
     @Override
     public void createNew(Invoice invoice) {
-        factory.getInvoiceDao().add(invoice);
+        if (isNull(invoice.getCreationDate())) {
+            invoice.setCreationDate(Instant.now());
+        }
+
+        try {
+            TransactionHelper.inTransaction(() -> {
+                invoice.setId(factory.getInvoiceDao().add(invoice));
+                factory.getDailyRevenueDao().addCreated(DailyRevenueDao.dayOf(invoice.getCreationDate()),
+                        invoice.getPeriodical().getId(), invoice.getTotalSum());
+
+                return invoice;
+            });
+        } catch (RuntimeException e) {
+            logger.error("Exception during creating invoice: " + e);
+            throw new DaoException(e);
+        }
     }
 
+    /**
+     * Takes three statements: the invoice is marked paid only if it is still new, which also locks
+     * its row until the commit, so a concurrent payment of the same invoice waits and then finds
+     * it paid. Then the subscription is created or prolonged by one upsert and the payment is
+     * added to the daily revenue rollup.
+     */
     @Override
     public boolean payInvoice(Invoice invoiceToPay) {
+        Instant now = Instant.now();
+        long userId = invoiceToPay.getUser().getId();
+        long periodicalId = invoiceToPay.getPeriodical().getId();
+        boolean paid;
+
         try {
-            logger.debug("paying invoice... begin transaction");
-            TransactionHelper.beginTransaction();
+            paid = TransactionHelper.inTransaction(() -> {
+                if (!factory.getInvoiceDao().markPaid(invoiceToPay.getId(), now)) {
+                    logger.debug("invoice is not new any more: " + invoiceToPay.getId());
+                    return false;
+                }
+
+                if (factory.getSubscriptionDao().addOrProlong(userId, periodicalId,
+                        invoiceToPay.getSubscriptionPeriod(), now) == 0) {
+                    throw new DaoException(String.format("There is no user with id = %d", userId));
+                }
+
+                factory.getDailyRevenueDao().addPaid(DailyRevenueDao.dayOf(now), periodicalId,
+                        invoiceToPay.getTotalSum());
+
+                return true;
+            });
+        } catch (RuntimeException e) {
+            logger.error("Exception during paying invoice: " + e);
+            throw new DaoException(e);
+        }
 
-            SubscriptionDao subscriptionDao = factory.getSubscriptionDao();
+        if (paid) {
             invoiceToPay.setStatus(Invoice.Status.PAID);
-            invoiceToPay.setPaymentDate(Instant.now());
-
-            logger.debug("1: find user: ");
-            User userFromDb = factory.getUserDao().findOneById(invoiceToPay.getUser().getId());
-            logger.debug(userFromDb);
-            Periodical periodical = invoiceToPay.getPeriodical();
-
-            Subscription existingSubscription = subscriptionDao
-                    .findOneByUserIdAndPeriodicalId(userFromDb.getId(), periodical.getId());
-            logger.debug("2: find subscription: " + existingSubscription);
-
-            factory.getInvoiceDao().updateById(invoiceToPay.getId(), invoiceToPay);
-            logger.debug("3: update invoice: " + invoiceToPay);
+            invoiceToPay.setPaymentDate(now);
+        }
 
-            int subscriptionPeriod = invoiceToPay.getSubscriptionPeriod();
+        return paid;
+    }
 
 
-            if (isNull(existingSubscription)) {
-                createAndPersistNewSubscription(userFromDb, periodical, subscriptionPeriod, subscriptionDao);
-            } else {
-                updateExistingSubscription(existingSubscription, subscriptionPeriod, subscriptionDao);
-            }
+    /**
+     * Sums the whole days of the range from the daily rollup and only the partial first
+     * and last days from the invoices.
+     */
+    @Override
+    public FinancialStatistics getFinStatistics(Instant since, Instant until) {
+        InvoiceDao invoiceDao = factory.getInvoiceDao();
+        LocalDate firstWholeDay = DailyRevenueDao.dayOf(since.minusMillis(1)).plusDays(1);
+        LocalDate lastDay = DailyRevenueDao.dayOf(until.plusMillis(1));
 
-            logger.debug("commit transaction");
-            TransactionHelper.commit();
-            return true;
-        } catch (Exception e) {
-            TransactionHelper.rollback();
-            logger.error("Exception during paying invoice: " + e);
-            throw new DaoException(e);
+        if (!firstWholeDay.isBefore(lastDay)) {
+            return new FinancialStatistics(invoiceDao.getCreatedInvoiceSumByCreationDate(since, until),
+                    invoiceDao.getPaidInvoiceSumByPaymentDate(since, until));
         }
-    }
 
-    private void updateExistingSubscription(Subscription existingSubscription,
-                                            int subscriptionPeriod, SubscriptionDao subscriptionDao) {
-        Instant newEndDate;
+        FinancialStatistics wholeDays = factory.getDailyRevenueDao().getSums(firstWholeDay, lastDay);
+        long totalInvoiceSum = wholeDays.getTotalInvoiceSum();
+        long paidInvoiceSum = wholeDays.getPaidInvoiceSum();
 
-        if (Subscription.Status.INACTIVE.equals(existingSubscription.getStatus())) {
-            newEndDate = getEndDate(Instant.now(), subscriptionPeriod);
-        } else {
-            newEndDate = getEndDate(existingSubscription.getEndDate(), subscriptionPeriod);
+        Instant firstWholeDayStart = DailyRevenueDao.startOf(firstWholeDay);
+        if (since.isBefore(firstWholeDayStart)) {
+            Instant firstDayEnd = firstWholeDayStart.minusMillis(1);
+            totalInvoiceSum += invoiceDao.getCreatedInvoiceSumByCreationDate(since, firstDayEnd);
+            paidInvoiceSum += invoiceDao.getPaidInvoiceSumByPaymentDate(since, firstDayEnd);
         }
 
-        existingSubscription.setEndDate(newEndDate);
-        existingSubscription.setStatus(Subscription.Status.ACTIVE);
-
-        subscriptionDao.updateById(existingSubscription.getId(), existingSubscription);
-    }
-
-    private void createAndPersistNewSubscription(User userFromDb, Periodical periodical,
-                                                 int subscriptionPeriod, SubscriptionDao subscriptionDao) {
-        Subscription.Builder builder = new Subscription.Builder();
-
-        builder.setUser(userFromDb)
-                .setPeriodical(periodical)
-                .setDeliveryAddress(userFromDb.getAddress())
-                .setEndDate(getEndDate(Instant.now(), subscriptionPeriod))
-                .setStatus(Subscription.Status.ACTIVE);
+        Instant lastDayStart = DailyRevenueDao.startOf(lastDay);
+        if (!until.isBefore(lastDayStart)) {
+            totalInvoiceSum += invoiceDao.getCreatedInvoiceSumByCreationDate(lastDayStart, until);
+            paidInvoiceSum += invoiceDao.getPaidInvoiceSumByPaymentDate(lastDayStart, until);
+        }
 
-        subscriptionDao.add(builder.build());
+        return new FinancialStatistics(totalInvoiceSum, paidInvoiceSum);
     }
 
-    private Instant getEndDate(Instant startInstant, int subscriptionPeriod) {
-        LocalDateTime startDate = LocalDateTime.ofInstant(startInstant, ZoneId.systemDefault());
+    @Override
+    public int rebuildDailyRevenue() {
+        DailyRevenueDao dao = factory.getDailyRevenueDao();
+        LocalDate firstDay = dao.findFirstInvoiceDay();
 
-        return startDate.plusMonths(subscriptionPeriod).toInstant(ZoneOffset.UTC);
-    }
+        if (isNull(firstDay)) {
+            return 0;
+        }
 
+        LocalDate untilDay = DailyRevenueDao.dayOf(Instant.now()).plusDays(1);
+        int rows = 0;
 
-    @Override
-    public FinancialStatistics getFinStatistics(Instant since, Instant until) {
+        for (LocalDate from = firstDay; from.isBefore(untilDay); from = from.plusDays(REBUILD_CHUNK_DAYS)) {
+            LocalDate chunkFrom = from;
+            LocalDate until = from.plusDays(REBUILD_CHUNK_DAYS);
 
-        InvoiceDao dao = factory.getInvoiceDao();
-        long totalInvoiceSum = dao.getCreatedInvoiceSumByCreationDate(since, until);
-        long paidInvoiceSum = dao.getPaidInvoiceSumByPaymentDate(since, until);
+            try {
+                rows += TransactionHelper.inTransaction(
+                        () -> dao.rebuild(chunkFrom, until.isBefore(untilDay) ? until : untilDay));
+            } catch (RuntimeException e) {
+                logger.error(String.format("Exception during rebuilding daily revenue since %s", from), e);
+                throw new DaoException(e);
+            }
+        }
 
-        return new FinancialStatistics(totalInvoiceSum, paidInvoiceSum);
+        logger.info(String.format("Rebuilt %d daily revenue rows since %s", rows, firstDay));
+        return rows;
     }
 }
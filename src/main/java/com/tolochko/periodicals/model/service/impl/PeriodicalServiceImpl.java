@@ -1,39 +1,66 @@
 package com.tolochko.periodicals.model.service.impl;
 
+import com.tolochko.periodicals.model.TransactionHelper;
+import com.tolochko.periodicals.model.cache.CacheStatistics;
+import com.tolochko.periodicals.model.cache.ExpiringValue;
+import com.tolochko.periodicals.model.cache.PeriodicalCatalog;
 import com.tolochko.periodicals.model.dao.factory.DaoFactory;
 import com.tolochko.periodicals.model.dao.factory.impl.MySqlDaoFactory;
-import com.tolochko.periodicals.model.dao.interfaces.PeriodicalDao;
+import com.tolochko.periodicals.model.domain.Page;
 import com.tolochko.periodicals.model.domain.PeriodicalNumberByCategory;
 import com.tolochko.periodicals.model.domain.periodical.Periodical;
-import com.tolochko.periodicals.model.domain.periodical.PeriodicalCategory;
 import com.tolochko.periodicals.model.domain.subscription.Subscription;
 import com.tolochko.periodicals.model.service.PeriodicalService;
 import org.apache.log4j.Logger;
 
-import java.util.ArrayList;
+import java.time.Instant;
+import java.util.Collections;
 import java.util.List;
 import java.util.NoSuchElementException;
+import java.util.concurrent.TimeUnit;
 
 public class PeriodicalServiceImpl implements PeriodicalService {
     private static final Logger logger = Logger.getLogger(PeriodicalServiceImpl.class);
+    private static final long STATISTICS_TTL_SECONDS = 30;
+    private static final long CATALOG_TTL_SECONDS = 60;
+    private static final int ARCHIVE_CHUNK_SIZE = 100;
     private DaoFactory factory = MySqlDaoFactory.getFactoryInstance();
-
+    private final ExpiringValue<List<PeriodicalNumberByCategory>> statistics =
+            new ExpiringValue<>(STATISTICS_TTL_SECONDS, TimeUnit.SECONDS, this::loadQuantitativeStatistics);
+    private final ExpiringValue<PeriodicalCatalog> catalog =
+            new ExpiringValue<>(CATALOG_TTL_SECONDS, TimeUnit.SECONDS, this::loadCatalog);
 
     @Override
     public Periodical findOneById(long id) {
         logger.debug("looking for an periodical with id:" + id);
 
-        return factory.getPeriodicalDao().findOneById(id);
+        return catalog.get().findOneById(id);
     }
 
     @Override
     public Periodical findOneByName(String name) {
-        return factory.getPeriodicalDao().findOneByName(name);
+        return catalog.get().findOneByName(name);
     }
 
     @Override
     public List<Periodical> findAll() {
-        return factory.getPeriodicalDao().findAll();
+        return catalog.get().findAll();
+    }
+
+    @Override
+    public Page<Periodical> findPageAfter(long afterId, int size, Periodical.Status status) {
+        int limit = Page.normalizeSize(size);
+        List<Periodical> rows = factory.getPeriodicalDao().findPage(afterId, limit + 1, status);
+
+        return Page.after(rows, limit, afterId, Periodical::getId);
+    }
+
+    @Override
+    public Page<Periodical> findPageBefore(long beforeId, int size, Periodical.Status status) {
+        int limit = Page.normalizeSize(size);
+        List<Periodical> rows = factory.getPeriodicalDao().findPageBefore(beforeId, limit + 1, status);
+
+        return Page.before(rows, limit, Periodical::getId);
     }
 
     @Override
@@ -41,11 +68,12 @@ public class PeriodicalServiceImpl implements PeriodicalService {
         Periodical periodical = factory.getPeriodicalDao().findOneById(id);
         factory.getPeriodicalDao().addIntoArchive(periodical);
         factory.getPeriodicalDao().delete(id);
+        invalidateCaches();
     }
 
     @Override
     public List<Periodical> findAllByStatus(Periodical.Status status) {
-        return factory.getPeriodicalDao().findAllByStatus(status);
+        return catalog.get().findAllByStatus(status);
     }
 
     @Override
@@ -56,13 +84,14 @@ public class PeriodicalServiceImpl implements PeriodicalService {
         } else {
             updatePeriodical(periodical);
         }
+        invalidateCaches();
 
-        return getPeriodicalFromDbByName(periodical.getName());
+        return periodical;
     }
 
 
     private void createNewPeriodical(Periodical periodical) {
-        factory.getPeriodicalDao().add(periodical);
+        periodical.setId(factory.getPeriodicalDao().add(periodical));
     }
 
     private void updatePeriodical(Periodical periodical) {
@@ -75,22 +104,39 @@ public class PeriodicalServiceImpl implements PeriodicalService {
         }
     }
 
-    private Periodical getPeriodicalFromDbByName(String name) {
-        return factory.getPeriodicalDao().findOneByName(name);
-    }
-
     @Override
     public int updateAndSetDiscarded(Periodical periodical) {
-        return factory.getPeriodicalDao().updateAndSetDiscarded(periodical);
+        int affectedRows = factory.getPeriodicalDao().updateAndSetDiscarded(periodical);
+        invalidateCaches();
+
+        return affectedRows;
     }
 
+    /**
+     * Archives the discarded periodicals by chunks of {@value #ARCHIVE_CHUNK_SIZE}, one transaction
+     * per chunk, so neither the periodicals nor their cascading invoices and subscriptions
+     * stay locked for long.
+     */
     @Override
     public int deleteAllDiscarded() {
-        for (Periodical periodical : findAllByStatus(Periodical.Status.DISCARDED)) {
-            factory.getPeriodicalDao().addIntoArchive(periodical);
-        }
+        Instant deleteDate = Instant.now();
+
+        try {
+            int deleted = 0;
+            int chunkArchived;
+
+            do {
+                chunkArchived = TransactionHelper.inTransaction(
+                        () -> factory.getPeriodicalDao().archiveDiscardedChunk(deleteDate, ARCHIVE_CHUNK_SIZE));
+                deleted += chunkArchived;
+            } while (chunkArchived == ARCHIVE_CHUNK_SIZE);
 
-        return factory.getPeriodicalDao().deleteAllDiscarded();
+            logger.info(String.format("Archived %d discarded periodicals", deleted));
+
+            return deleted;
+        } finally {
+            invalidateCaches();
+        }
     }
 
     @Override
@@ -100,33 +146,41 @@ public class PeriodicalServiceImpl implements PeriodicalService {
                 .isEmpty();
     }
 
+    /**
+     * The statistics are cached for {@value #STATISTICS_TTL_SECONDS} seconds; changes made
+     * through this service drop the cached value at once.
+     */
     @Override
     public List<PeriodicalNumberByCategory> getQuantitativeStatistics() {
-        List<PeriodicalNumberByCategory> statistics = new ArrayList<>();
-
-        PeriodicalDao dao = factory.getPeriodicalDao();
+        return statistics.get();
+    }
 
-        for (PeriodicalCategory category : PeriodicalCategory.values()) {
-            statistics.add(getPeriodicalNumberByCategory(dao, category));
-        }
+    private List<PeriodicalNumberByCategory> loadQuantitativeStatistics() {
+        return Collections.unmodifiableList(TransactionHelper.readFromPrimary(
+                () -> factory.getPeriodicalDao().findNumberOfPeriodicalsByCategoryAndStatus()));
+    }
 
-        return statistics;
+    @Override
+    public CacheStatistics getCatalogCacheStatistics() {
+        return catalog.getStatistics();
     }
 
-    private PeriodicalNumberByCategory getPeriodicalNumberByCategory(PeriodicalDao dao,
-                                                                     PeriodicalCategory category) {
-        int active = dao.findNumberOfPeriodicalsWithCategoryAndStatus(category,
-                Periodical.Status.ACTIVE);
-        int inActive = dao.findNumberOfPeriodicalsWithCategoryAndStatus(category,
-                Periodical.Status.INACTIVE);
-        int discarded = dao.findNumberOfPeriodicalsWithCategoryAndStatus(category,
-                Periodical.Status.DISCARDED);
+    /**
+     * The snapshots are reloaded from the primary db, so a lagging replica cannot bring back
+     * the state from before the write that invalidated them.
+     */
+    private PeriodicalCatalog loadCatalog() {
+        PeriodicalCatalog loaded = PeriodicalCatalog.of(
+                TransactionHelper.readFromPrimary(() -> factory.getPeriodicalDao().findAll()));
+        logger.info(String.format("Loaded the catalog of %d periodicals, %s", loaded.size(),
+                catalog.getStatistics()));
+
+        return loaded;
+    }
 
-        return PeriodicalNumberByCategory.newBuilder(category)
-                .setActive(active)
-                .setInActive(inActive)
-                .setDiscarded(discarded)
-                .build();
+    private void invalidateCaches() {
+        catalog.invalidate();
+        statistics.invalidate();
     }
 
 }
@@ -13,33 +13,31 @@ import java.util.List;
 public class SubscriptionServiceImpl implements SubscriptionService {
     private static final Logger logger = Logger.getLogger(SubscriptionServiceImpl.class);
 
+    private static final int SWEEP_CHUNK_SIZE = 1000;
+
     private DaoFactory factory = MySqlDaoFactory.getFactoryInstance();
 
 
     @Override
     public List<Subscription> findAllByUserId(long id) {
-
-
         User user = factory.getUserDao().findOneById(id);
 
         List<Subscription> userSubscriptions = factory.getSubscriptionDao()
                 .findAllByUser(user);
 
+        Instant now = Instant.now();
         for (Subscription subscription : userSubscriptions) {
-
-            Instant current = Instant.now();
-            logger.debug("checking subscription time with current: " + current);
-            logger.debug("checking subscription time  " + subscription.getEndDate());
-
-
-            if (current.isAfter(subscription.getEndDate())) {
-                subscription.setStatus(Subscription.Status.INACTIVE);
-                factory.getSubscriptionDao().updateById(subscription.getId(), subscription);
-            }
-
+            subscription.setStatus(subscription.getEffectiveStatus(now));
         }
 
         return userSubscriptions;
+    }
+
+    @Override
+    public int deactivateExpired() {
+        int deactivated = factory.getSubscriptionDao().deactivateExpired(Instant.now(), SWEEP_CHUNK_SIZE);
+        logger.debug(String.format("deactivated %d expired subscriptions", deactivated));
 
+        return deactivated;
     }
 }
@@ -4,14 +4,13 @@ import com.tolochko.periodicals.model.TransactionHelper;
 import com.tolochko.periodicals.model.dao.exception.DaoException;
 import com.tolochko.periodicals.model.dao.factory.DaoFactory;
 import com.tolochko.periodicals.model.dao.factory.impl.MySqlDaoFactory;
+import com.tolochko.periodicals.model.domain.Page;
 import com.tolochko.periodicals.model.domain.user.User;
 import com.tolochko.periodicals.model.service.UserService;
 import org.apache.log4j.Logger;
 
 import java.util.List;
 
-import static java.util.Objects.nonNull;
-
 public class UserServiceImpl implements UserService {
     private static final Logger logger = Logger.getLogger(UserServiceImpl.class);
 
@@ -19,74 +18,66 @@ public class UserServiceImpl implements UserService {
 
     @Override
     public User findOneById(long id) {
-
-        User user = factory.getUserDao().findOneById(id);
-
-        setUserRole(user);
-        return user;
-
-    }
-
-    private void setUserRole(User user) {
-        if (nonNull(user)) {
-            user.setRole(factory.getRoleDao().findRoleByUserName(user.getUsername()));
-        }
+        return factory.getUserDao().findOneById(id);
     }
 
+    /**
+     * Reads from the primary db: signing in right after signing up and the uniqueness
+     * checks must see a user just created, which a lagging replica may not have yet.
+     */
     @Override
     public User findOneUserByUserName(String userName) {
-
-        User user = factory.getUserDao().findOneByUserName(userName);
-
-        setUserRole(user);
-
-        return user;
-
+        return TransactionHelper.readFromPrimary(() -> factory.getUserDao().findOneByUserName(userName));
     }
 
     @Override
     public List<User> findAll() {
+        return factory.getUserDao().findAll();
+    }
 
-        List<User> allUser = factory.getUserDao().findAll();
-        allUser.forEach(user -> user.setRole(factory.getRoleDao()
-                .findRoleByUserName(user.getUsername())));
+    @Override
+    public Page<User> findPageAfter(long afterId, int size, User.Status status) {
+        int limit = Page.normalizeSize(size);
+        List<User> rows = factory.getUserDao().findPage(afterId, limit + 1, status);
 
-        return allUser;
+        return Page.after(rows, limit, afterId, User::getId);
+    }
 
+    @Override
+    public Page<User> findPageBefore(long beforeId, int size, User.Status status) {
+        int limit = Page.normalizeSize(size);
+        List<User> rows = factory.getUserDao().findPageBefore(beforeId, limit + 1, status);
 
+        return Page.before(rows, limit, User::getId);
     }
 
     @Override
     public boolean createNewUser(User user) {
 
         try {
-            TransactionHelper.beginTransaction();
+            return TransactionHelper.inTransaction(() -> {
+                long userId = factory.getUserDao().add(user);
 
-            Long userId = factory.getUserDao().add(user);
+                if (userId == 0) {
+                    return false;
+                }
 
-            if (userId == 0) {
-                TransactionHelper.rollback();
-                return false;
-            }
+                factory.getRoleDao().addRole(userId, User.Role.SUBSCRIBER);
 
-            factory.getRoleDao().addRole(userId, User.Role.SUBSCRIBER);
-
-            TransactionHelper.commit();
-
-            return true;
+                return true;
+            });
         } catch (RuntimeException e) {
-            TransactionHelper.rollback();
             logger.error("transaction failed", e);
             throw new DaoException(e);
         }
     }
 
+    /**
+     * Reads from the primary db, see {@link #findOneUserByUserName(String)}.
+     */
     @Override
     public boolean emailExistsInDb(String email) {
-
-
-        return factory.getUserDao().emailExistsInDb(email);
-
+        return TransactionHelper.readFromPrimary(() -> factory.getUserDao().emailExistsInDb(email));
     }
 
     @Override
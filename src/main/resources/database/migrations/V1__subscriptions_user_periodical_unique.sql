@@ -0,0 +1,24 @@
+-- findOneByUserIdAndPeriodicalId: one subscription per user and periodical.
+-- The old read-then-insert payment could create duplicates, so first each group of them
+-- is merged into its latest row with the latest end date, active if any of them is active,
+-- and the other rows are deleted.
+UPDATE `subscriptions` AS s
+  JOIN (SELECT user_id, periodical_id, MAX(id) AS keep_id, MAX(end_date) AS merged_end_date,
+          IF(SUM(status = 'active') > 0, 'active', 'inactive') AS merged_status
+        FROM `subscriptions`
+        GROUP BY user_id, periodical_id
+        HAVING COUNT(*) > 1) AS duplicates ON s.id = duplicates.keep_id
+  SET s.end_date = duplicates.merged_end_date, s.status = duplicates.merged_status;
+
+DELETE s FROM `subscriptions` AS s
+  JOIN (SELECT user_id, periodical_id, MAX(id) AS keep_id
+        FROM `subscriptions`
+        GROUP BY user_id, periodical_id
+        HAVING COUNT(*) > 1) AS duplicates
+    ON s.user_id = duplicates.user_id AND s.periodical_id = duplicates.periodical_id
+      AND s.id <> duplicates.keep_id;
+
+-- The unique index also serves the user_id foreign key, so userId_fk_idx is redundant.
+ALTER TABLE `subscriptions`
+  ADD UNIQUE INDEX `user_periodical_UNIQUE` (`user_id` ASC, `periodical_id` ASC),
+  DROP INDEX `userId_fk_idx`;
@@ -0,0 +1,4 @@
+-- The paid and created invoice sums by payment and creation date.
+ALTER TABLE `invoices`
+  ADD INDEX `status_payment_date_idx` (`status` ASC, `payment_date` ASC),
+  ADD INDEX `creation_date_idx` (`creation_date` ASC);
@@ -0,0 +1,3 @@
+-- The number of periodicals by category and status.
+ALTER TABLE `periodicals`
+  ADD INDEX `category_status_idx` (`category` ASC, `status` ASC);
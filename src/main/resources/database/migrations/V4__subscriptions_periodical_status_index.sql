@@ -0,0 +1,5 @@
+-- findAllByPeriodicalIdAndStatus and the active subscriptions check of updateAndSetDiscarded.
+-- The new index also serves the periodical_id foreign key, so periodicalId_fk_idx is redundant.
+ALTER TABLE `subscriptions`
+  ADD INDEX `periodical_status_idx` (`periodical_id` ASC, `status` ASC),
+  DROP INDEX `periodicalId_fk_idx`;
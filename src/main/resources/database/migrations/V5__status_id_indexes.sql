@@ -0,0 +1,6 @@
+-- Keyset pagination of periodicals and users filtered by status.
+ALTER TABLE `periodicals`
+  ADD INDEX `status_id_idx` (`status` ASC, `id` ASC);
+
+ALTER TABLE `users`
+  ADD INDEX `status_id_idx` (`status` ASC, `id` ASC);
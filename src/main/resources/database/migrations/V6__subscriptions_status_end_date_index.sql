@@ -0,0 +1,3 @@
+-- The expired subscriptions sweep.
+ALTER TABLE `subscriptions`
+  ADD INDEX `status_end_date_idx` (`status` ASC, `end_date` ASC);
@@ -0,0 +1,26 @@
+-- The created and paid invoice sums per UTC day and periodical category.
+CREATE TABLE IF NOT EXISTS `daily_revenue` (
+  `day` DATE NOT NULL,
+  `category` VARCHAR(45) NOT NULL,
+  `created_sum` BIGINT(20) NOT NULL DEFAULT 0,
+  `created_count` INT(11) NOT NULL DEFAULT 0,
+  `paid_sum` BIGINT(20) NOT NULL DEFAULT 0,
+  `paid_count` INT(11) NOT NULL DEFAULT 0,
+  PRIMARY KEY (`day`, `category`))
+ENGINE = InnoDB
+DEFAULT CHARACTER SET = utf8;
+
+-- UTC days computed from the epoch seconds do not depend on the session time zone.
+INSERT INTO `daily_revenue` (`day`, `category`, `created_sum`, `created_count`, `paid_sum`, `paid_count`)
+SELECT DATE(DATE_ADD('1970-01-01', INTERVAL UNIX_TIMESTAMP(i.`creation_date`) SECOND)),
+       COALESCE(p.`category`, ''), SUM(i.`total_sum`), COUNT(*), 0, 0
+FROM `invoices` i JOIN `periodicals` p ON (i.`periodical_id` = p.`id`)
+GROUP BY 1, 2;
+
+INSERT INTO `daily_revenue` (`day`, `category`, `created_sum`, `created_count`, `paid_sum`, `paid_count`)
+SELECT DATE(DATE_ADD('1970-01-01', INTERVAL UNIX_TIMESTAMP(i.`payment_date`) SECOND)) AS paid_day,
+       COALESCE(p.`category`, '') AS paid_category, 0, 0, SUM(i.`total_sum`), COUNT(*)
+FROM `invoices` i JOIN `periodicals` p ON (i.`periodical_id` = p.`id`)
+WHERE i.`status` = 'paid' AND i.`payment_date` IS NOT NULL
+GROUP BY paid_day, paid_category
+ON DUPLICATE KEY UPDATE `paid_sum` = VALUES(`paid_sum`), `paid_count` = VALUES(`paid_count`);
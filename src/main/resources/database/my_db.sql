@@ -1,4 +1,6 @@
 -- MySQL Workbench Forward Engineering
+-- The baseline schema. Later changes are the versioned migrations in database/migrations,
+-- the application applies them on startup.
 
 SET @OLD_UNIQUE_CHECKS=@@UNIQUE_CHECKS, UNIQUE_CHECKS=0;
 SET @OLD_FOREIGN_KEY_CHECKS=@@FOREIGN_KEY_CHECKS, FOREIGN_KEY_CHECKS=0;
@@ -65,6 +65,7 @@
                     <c:if test="${invoice.status == 'NEW'}">
                         <form method="post"
                               action="/app/users/${currentUser.id}/invoices/${invoice.id}/pay">
+                            <custom:idempotency-key/>
                             <button type="submit" class="btn btn-primary btn-block">
                                 <fmt:message key="payInvoiceBtn.label" bundle="${langInvoice}"/>
                             </button>
@@ -53,6 +53,7 @@
             </c:forEach>
             </tbody>
         </table>
+        <%@include file="/WEB-INF/includes/pager.jsp" %>
     </div>
 
     <div class="col-md-12">
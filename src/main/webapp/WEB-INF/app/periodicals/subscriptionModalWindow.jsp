@@ -3,6 +3,7 @@
         <div class="modal-content">
 
             <form method="post" action="/app/users/${currentUser.id}/invoices">
+                <custom:idempotency-key/>
 
                 <div class="modal-header">
                     <button type="button" class="close" data-dismiss="modal" aria-label="Close"><span
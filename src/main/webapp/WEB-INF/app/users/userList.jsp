@@ -53,6 +53,7 @@
             </tbody>
 
         </table>
+        <%@include file="/WEB-INF/includes/pager.jsp" %>
 
     </div>
 
@@ -0,0 +1,20 @@
+<fmt:setBundle basename="i18n.general.general" var="langPager"/>
+
+<nav>
+    <ul class="pager">
+        <c:if test="${not empty page.previousCursor}">
+            <li class="previous">
+                <a href="?before=${page.previousCursor}">
+                    <fmt:message key="previousPage.label" bundle="${langPager}"/>
+                </a>
+            </li>
+        </c:if>
+        <c:if test="${not empty page.nextCursor}">
+            <li class="next">
+                <a href="?after=${page.nextCursor}">
+                    <fmt:message key="nextPage.label" bundle="${langPager}"/>
+                </a>
+            </li>
+        </c:if>
+    </ul>
+</nav>
@@ -0,0 +1,31 @@
+package com.tolochko.periodicals.model;
+
+import com.tolochko.periodicals.model.dao.exception.DaoException;
+import org.junit.Test;
+
+import java.sql.SQLException;
+import java.sql.SQLTransactionRollbackException;
+
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+public class TransactionHelperTest {
+
+    @Test
+    public void isRetryable_Should_DetectDeadlocksAndLockWaitTimeouts_InCauses() {
+        SQLException deadlock = new SQLException("Deadlock found", "40001", 1213);
+        SQLException lockWaitTimeout = new SQLException("Lock wait timeout exceeded", "HY000", 1205);
+
+        assertTrue(TransactionHelper.isRetryable(new DaoException(new DaoException("update", deadlock))));
+        assertTrue(TransactionHelper.isRetryable(new DaoException("update", lockWaitTimeout)));
+        assertTrue(TransactionHelper.isRetryable(new DaoException(new SQLTransactionRollbackException())));
+    }
+
+    @Test
+    public void isRetryable_Should_RejectOtherFailures() {
+        SQLException duplicateKey = new SQLException("Duplicate entry", "23000", 1062);
+
+        assertFalse(TransactionHelper.isRetryable(new DaoException("insert", duplicateKey)));
+        assertFalse(TransactionHelper.isRetryable(new IllegalStateException()));
+    }
+}
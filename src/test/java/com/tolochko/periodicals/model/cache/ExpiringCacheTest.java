@@ -0,0 +1,89 @@
+package com.tolochko.periodicals.model.cache;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+public class ExpiringCacheTest {
+    private AtomicInteger loads;
+    private long now;
+    private ExpiringCache<Long, String> cache;
+
+    @Before
+    public void setUp() {
+        loads = new AtomicInteger();
+        now = 0;
+        cache = new ExpiringCache<>(10, 10, TimeUnit.NANOSECONDS, () -> now);
+    }
+
+    private String load(long key) {
+        return key + ":" + loads.incrementAndGet();
+    }
+
+    @Test
+    public void get_Should_LoadOnce_WithinTtl_AndReloadAfterInvalidate() {
+        assertEquals("1:1", cache.get(1L, this::load));
+        now = 9;
+        assertEquals("1:1", cache.get(1L, this::load));
+
+        cache.invalidate(1L);
+
+        assertEquals("1:2", cache.get(1L, this::load));
+        assertEquals(1, cache.getStatistics().getHits());
+        assertEquals(2, cache.getStatistics().getMisses());
+    }
+
+    @Test
+    public void get_Should_Reload_AfterTtl() {
+        cache.get(1L, this::load);
+        now = 10;
+
+        assertEquals("1:2", cache.get(1L, this::load));
+    }
+
+    @Test
+    public void get_Should_NotCacheNull() {
+        assertNull(cache.get(1L, key -> null));
+        assertEquals(0, cache.size());
+    }
+
+    @Test
+    public void get_Should_StayWithinMaxSize() {
+        for (long key = 0; key < 100; key++) {
+            cache.get(key, this::load);
+        }
+
+        assertTrue(cache.size() <= 10);
+    }
+
+    @Test
+    public void putIfAbsent_Should_KeepFreshValue_AndReplaceExpiredOne() {
+        assertNull(cache.putIfAbsent(1L, "first"));
+        assertEquals("first", cache.putIfAbsent(1L, "second"));
+
+        now = 10;
+
+        assertNull(cache.putIfAbsent(1L, "third"));
+        assertEquals("third", cache.get(1L, this::load));
+    }
+
+    @Test
+    public void putIfAbsent_Should_NotEvictUnevictableValues_WhenFull() {
+        ExpiringCache<Long, String> pinned = new ExpiringCache<>(10, 10, TimeUnit.NANOSECONDS, () -> now,
+                value -> !value.startsWith("pinned"));
+
+        for (long key = 0; key < 20; key++) {
+            pinned.putIfAbsent(key, (key < 5 ? "pinned:" : "") + key);
+        }
+
+        for (long key = 0; key < 5; key++) {
+            assertEquals("pinned:" + key, pinned.putIfAbsent(key, "other"));
+        }
+    }
+}
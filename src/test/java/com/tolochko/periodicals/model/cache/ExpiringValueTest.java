@@ -0,0 +1,62 @@
+package com.tolochko.periodicals.model.cache;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.Assert.assertEquals;
+
+public class ExpiringValueTest {
+    private AtomicInteger loads;
+    private long now;
+    private ExpiringValue<Integer> value;
+
+    @Before
+    public void setUp() {
+        loads = new AtomicInteger();
+        now = 0;
+        value = new ExpiringValue<>(10, TimeUnit.NANOSECONDS, loads::incrementAndGet, () -> now);
+    }
+
+    @Test
+    public void get_Should_LoadOnce_WithinTtl() {
+        assertEquals(1, (int) value.get());
+        now = 9;
+        assertEquals(1, (int) value.get());
+
+        assertEquals(1, loads.get());
+    }
+
+    @Test
+    public void get_Should_Reload_AfterTtl() {
+        value.get();
+        now = 10;
+
+        assertEquals(2, (int) value.get());
+    }
+
+    @Test
+    public void get_Should_Reload_AfterInvalidate() {
+        value.get();
+        value.invalidate();
+
+        assertEquals(2, (int) value.get());
+    }
+
+    @Test
+    public void get_Should_NotCache_ValueLoadedDuringInvalidate() {
+        ExpiringValue<Integer>[] holder = new ExpiringValue[1];
+        holder[0] = new ExpiringValue<>(10, TimeUnit.NANOSECONDS, () -> {
+            int load = loads.incrementAndGet();
+            if (load == 1) {
+                holder[0].invalidate();
+            }
+            return load;
+        }, () -> now);
+
+        assertEquals(1, (int) holder[0].get());
+        assertEquals(2, (int) holder[0].get());
+    }
+}
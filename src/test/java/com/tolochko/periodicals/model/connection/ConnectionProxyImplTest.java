@@ -0,0 +1,40 @@
+package com.tolochko.periodicals.model.connection;
+
+import org.junit.Test;
+import org.mockito.InOrder;
+
+import java.sql.Connection;
+
+import static org.mockito.Mockito.*;
+
+public class ConnectionProxyImplTest {
+    private Connection connection = mock(Connection.class);
+    private ConnectionProxyImpl proxy = new ConnectionProxyImpl(connection);
+
+    @Test
+    public void commitTransaction_Should_RestoreIsolationAndReadOnly_BeforeClosing() throws Exception {
+        when(connection.getTransactionIsolation()).thenReturn(Connection.TRANSACTION_REPEATABLE_READ);
+
+        proxy.beginTransaction(Connection.TRANSACTION_READ_COMMITTED, true);
+        proxy.commitTransaction();
+
+        InOrder inOrder = inOrder(connection);
+        inOrder.verify(connection).setTransactionIsolation(Connection.TRANSACTION_READ_COMMITTED);
+        inOrder.verify(connection).setReadOnly(true);
+        inOrder.verify(connection).setAutoCommit(false);
+        inOrder.verify(connection).commit();
+        inOrder.verify(connection).setReadOnly(false);
+        inOrder.verify(connection).setTransactionIsolation(Connection.TRANSACTION_REPEATABLE_READ);
+        inOrder.verify(connection).close();
+    }
+
+    @Test
+    public void beginTransaction_Should_KeepIsolation_ByDefault() throws Exception {
+        proxy.beginTransaction();
+        proxy.rollbackTransaction();
+
+        verify(connection, never()).setTransactionIsolation(anyInt());
+        verify(connection, never()).setReadOnly(anyBoolean());
+        verify(connection).rollback();
+    }
+}
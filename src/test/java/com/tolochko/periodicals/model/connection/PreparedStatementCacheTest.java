@@ -0,0 +1,107 @@
+package com.tolochko.periodicals.model.connection;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.Mockito.*;
+
+public class PreparedStatementCacheTest {
+    private static final String QUERY = "SELECT * FROM periodicals WHERE id = ?";
+    private static final String OTHER_QUERY = "SELECT * FROM users WHERE id = ?";
+    private Connection connection = mock(Connection.class);
+    private PreparedStatement statement = mock(PreparedStatement.class);
+    private PreparedStatement otherStatement = mock(PreparedStatement.class);
+    private PreparedStatementCache cache;
+
+    @Before
+    public void setUp() throws Exception {
+        when(connection.prepareStatement(QUERY)).thenReturn(statement, mock(PreparedStatement.class));
+        when(connection.prepareStatement(OTHER_QUERY)).thenReturn(otherStatement);
+        cache = new PreparedStatementCache(connection, 1);
+    }
+
+    @Test
+    public void prepareStatement_Should_ReuseClosedStatement() throws Exception {
+        long hits = PreparedStatementCache.getHits();
+
+        PreparedStatement first = cache.prepareStatement(QUERY, Statement.NO_GENERATED_KEYS);
+        first.setLong(1, 1);
+        first.close();
+
+        PreparedStatement second = cache.prepareStatement(QUERY, Statement.NO_GENERATED_KEYS);
+        second.setLong(1, 2);
+
+        verify(connection, times(1)).prepareStatement(QUERY);
+        verify(statement).clearParameters();
+        verify(statement, never()).close();
+        verify(statement).setLong(1, 2);
+        assertEquals(hits + 1, PreparedStatementCache.getHits());
+    }
+
+    @Test
+    public void close_Should_CloseOpenResultSet_BeforeCachingStatement() throws Exception {
+        ResultSet resultSet = mock(ResultSet.class);
+        when(statement.getResultSet()).thenReturn(resultSet);
+
+        cache.prepareStatement(QUERY, Statement.NO_GENERATED_KEYS).close();
+
+        verify(resultSet).close();
+        verify(statement, never()).close();
+    }
+
+    @Test
+    public void prepareStatement_Should_NotShareStatementInUse() throws Exception {
+        cache.prepareStatement(QUERY, Statement.NO_GENERATED_KEYS);
+        cache.prepareStatement(QUERY, Statement.NO_GENERATED_KEYS);
+
+        verify(connection, times(2)).prepareStatement(QUERY);
+    }
+
+    @Test
+    public void prepareStatement_Should_DistinguishGeneratedKeysFlag() throws Exception {
+        when(connection.prepareStatement(QUERY, Statement.RETURN_GENERATED_KEYS)).thenReturn(otherStatement);
+
+        cache.prepareStatement(QUERY, Statement.NO_GENERATED_KEYS).close();
+        cache.prepareStatement(QUERY, Statement.RETURN_GENERATED_KEYS);
+
+        verify(connection).prepareStatement(QUERY, Statement.RETURN_GENERATED_KEYS);
+    }
+
+    @Test
+    public void giveBack_Should_EvictLeastRecentlyUsedStatement() throws Exception {
+        cache.prepareStatement(QUERY, Statement.NO_GENERATED_KEYS).close();
+        cache.prepareStatement(OTHER_QUERY, Statement.NO_GENERATED_KEYS).close();
+
+        verify(statement).close();
+        verify(otherStatement, never()).close();
+    }
+
+    @Test(expected = SQLException.class)
+    public void closedStatement_Should_NotBeUsable() throws Exception {
+        PreparedStatement first = cache.prepareStatement(QUERY, Statement.NO_GENERATED_KEYS);
+        first.close();
+
+        assertTrue(first.isClosed());
+        first.executeQuery();
+    }
+
+    @Test
+    public void closeAll_Should_CloseCachedAndLaterReturnedStatements() throws Exception {
+        cache.prepareStatement(OTHER_QUERY, Statement.NO_GENERATED_KEYS).close();
+        PreparedStatement inUse = cache.prepareStatement(QUERY, Statement.NO_GENERATED_KEYS);
+
+        cache.closeAll();
+        inUse.close();
+
+        verify(otherStatement).close();
+        verify(statement).close();
+    }
+}
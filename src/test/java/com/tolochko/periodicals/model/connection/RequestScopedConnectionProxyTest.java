@@ -0,0 +1,66 @@
+package com.tolochko.periodicals.model.connection;
+
+import com.tolochko.periodicals.model.dao.pool.ConnectionPool;
+import org.junit.Before;
+import org.junit.Test;
+import org.mockito.InOrder;
+
+import static org.junit.Assert.assertEquals;
+import static org.mockito.Mockito.*;
+
+public class RequestScopedConnectionProxyTest {
+    private static final String QUERY = "SELECT * FROM periodicals WHERE id = ?";
+    private ConnectionPool pool = mock(ConnectionPool.class);
+    private ConnectionProxy conn = mock(ConnectionProxy.class);
+    private RequestScopedConnectionProxy requestConnection;
+
+    @Before
+    public void setUp() throws Exception {
+        when(pool.getConnection()).thenReturn(conn);
+        requestConnection = new RequestScopedConnectionProxy(pool);
+    }
+
+    @Test
+    public void prepareStatement_Should_BorrowConnectionOnlyOnce() throws Exception {
+        requestConnection.prepareStatement(QUERY);
+        requestConnection.close();
+        requestConnection.prepareStatement(QUERY);
+        requestConnection.close();
+
+        verify(pool, times(1)).getConnection();
+        verify(conn, times(2)).prepareStatement(QUERY);
+        verify(conn, never()).close();
+        assertEquals(1, requestConnection.getBorrows());
+    }
+
+    @Test
+    public void release_Should_ReturnConnectionToPool() throws Exception {
+        requestConnection.prepareStatement(QUERY);
+        requestConnection.release();
+
+        verify(conn, times(1)).close();
+    }
+
+    @Test
+    public void release_Should_NotBorrowConnection_IfItWasNotUsed() throws Exception {
+        requestConnection.release();
+
+        verify(pool, never()).getConnection();
+        assertEquals(0, requestConnection.getBorrows());
+    }
+
+    @Test
+    public void commitTransaction_Should_RunOnPinnedConnection_AndBorrowAgainAfterIt() throws Exception {
+        requestConnection.prepareStatement(QUERY);
+        requestConnection.beginTransaction();
+        requestConnection.prepareStatement(QUERY);
+        requestConnection.commitTransaction();
+        requestConnection.prepareStatement(QUERY);
+
+        InOrder inOrder = inOrder(conn);
+        inOrder.verify(conn).beginTransaction(ConnectionProxy.DEFAULT_ISOLATION, false);
+        inOrder.verify(conn).commitTransaction();
+        verify(pool, times(2)).getConnection();
+        assertEquals(2, requestConnection.getBorrows());
+    }
+}
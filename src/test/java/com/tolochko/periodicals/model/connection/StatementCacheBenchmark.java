@@ -0,0 +1,62 @@
+package com.tolochko.periodicals.model.connection;
+
+import com.tolochko.periodicals.model.dao.pool.ConnectionPool;
+import com.tolochko.periodicals.model.dao.pool.ConnectionPoolImpl;
+
+import java.io.InputStream;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.util.Properties;
+
+/**
+ * Measures the latency of the {@code findOneById} hot path (prepare, execute, read one row, close)
+ * on one borrowed connection with and without the prepared statement cache.
+ * Needs the test db from {@code database.properties}; run it manually, it is not a unit test.
+ */
+public class StatementCacheBenchmark {
+    private static final String SELECT_PERIODICAL_BY_ID = "SELECT * FROM periodicals WHERE id = ?";
+    private static final int WARM_UP_ITERATIONS = 2_000;
+    private static final int ITERATIONS = 20_000;
+
+    public static void main(String[] args) throws Exception {
+        Properties properties = new Properties();
+        try (InputStream input = StatementCacheBenchmark.class.getClassLoader()
+                .getResourceAsStream("database.properties")) {
+            properties.load(input);
+        }
+
+        long periodicalId = args.length > 0 ? Long.parseLong(args[0]) : 1;
+
+        for (int cacheSize : new int[]{0, 50}) {
+            ConnectionPool pool = ConnectionPoolImpl.getBuilder(properties.getProperty("database.url"))
+                    .setUserName(properties.getProperty("database.username"))
+                    .setPassword(properties.getProperty("database.password"))
+                    .setStatementCacheSize(cacheSize)
+                    .build();
+
+            try (ConnectionProxy connection = pool.getConnection()) {
+                run(connection, periodicalId, WARM_UP_ITERATIONS);
+                long start = System.nanoTime();
+                run(connection, periodicalId, ITERATIONS);
+                double micros = (System.nanoTime() - start) / 1000.0 / ITERATIONS;
+
+                System.out.printf("statementCacheSize=%d: %.1f us per findOneById%n", cacheSize, micros);
+            }
+        }
+
+        System.out.printf("cache hits=%d, misses=%d%n",
+                PreparedStatementCache.getHits(), PreparedStatementCache.getMisses());
+    }
+
+    private static void run(ConnectionProxy connection, long periodicalId, int iterations) throws Exception {
+        for (int i = 0; i < iterations; i++) {
+            try (PreparedStatement ps = connection.prepareStatement(SELECT_PERIODICAL_BY_ID)) {
+                ps.setLong(1, periodicalId);
+
+                try (ResultSet rs = ps.executeQuery()) {
+                    rs.next();
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,69 @@
+package com.tolochko.periodicals.model.controller.request;
+
+import com.tolochko.periodicals.controller.request.IdempotentRequestProcessor;
+import com.tolochko.periodicals.controller.request.RequestProcessor;
+import org.junit.Before;
+import org.junit.Test;
+
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import javax.servlet.http.HttpSession;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.fail;
+import static org.mockito.Mockito.*;
+
+public class IdempotentRequestProcessorTest {
+    private static final String VIEW_NAME = "/app/users/currentUser";
+    private static final Object MESSAGES = new Object();
+    private HttpSession session = mock(HttpSession.class);
+    private HttpServletRequest request = mock(HttpServletRequest.class);
+    private HttpServletResponse response = mock(HttpServletResponse.class);
+    private RequestProcessor processor = mock(RequestProcessor.class);
+    private IdempotentRequestProcessor idempotentProcessor;
+
+    @Before
+    public void setUp() {
+        when(request.getSession()).thenReturn(session);
+        when(session.getAttribute("messages")).thenReturn(MESSAGES);
+        when(processor.process(request, response)).thenReturn(VIEW_NAME);
+
+        idempotentProcessor = new IdempotentRequestProcessor(processor);
+    }
+
+    @Test
+    public void process_Should_ReplayOutcome_OfRequestWithSameKey() {
+        when(request.getParameter(IdempotentRequestProcessor.KEY_PARAMETER)).thenReturn("key");
+
+        assertEquals(VIEW_NAME, idempotentProcessor.process(request, response));
+        assertEquals(VIEW_NAME, idempotentProcessor.process(request, response));
+
+        verify(processor, times(1)).process(request, response);
+        verify(session, times(1)).setAttribute("messages", MESSAGES);
+    }
+
+    @Test
+    public void process_Should_ProcessEveryRequest_WithoutKey() {
+        idempotentProcessor.process(request, response);
+        idempotentProcessor.process(request, response);
+
+        verify(processor, times(2)).process(request, response);
+    }
+
+    @Test
+    public void process_Should_ProcessRetry_OfFailedRequest() {
+        when(request.getHeader(IdempotentRequestProcessor.KEY_HEADER)).thenReturn("key");
+        when(processor.process(request, response))
+                .thenThrow(new IllegalStateException())
+                .thenReturn(VIEW_NAME);
+
+        try {
+            idempotentProcessor.process(request, response);
+            fail();
+        } catch (IllegalStateException expected) {
+        }
+
+        assertEquals(VIEW_NAME, idempotentProcessor.process(request, response));
+        verify(processor, times(2)).process(request, response);
+    }
+}
@@ -0,0 +1,121 @@
+package com.tolochko.periodicals.model.controller.security;
+
+import com.tolochko.periodicals.controller.request.provider.impl.RequestProviderImpl;
+import com.tolochko.periodicals.controller.security.Authorization;
+import com.tolochko.periodicals.model.domain.user.User;
+import org.junit.Test;
+
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpSession;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Optional;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import static org.junit.Assert.assertEquals;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * Checks that the compiled authorization table decides like the regex permission mappings
+ * it replaced.
+ */
+public class AuthorizationParityTest {
+    private static final long USER_ID = 7;
+    private static final Map<String, User.Role> LEGACY_MAPPING = new HashMap<>();
+
+    static {
+        User.Role admin = User.Role.ADMIN;
+
+        LEGACY_MAPPING.put("GET:/app/users/?", admin);
+        LEGACY_MAPPING.put("GET:/app/periodicals/createNew/?", admin);
+        LEGACY_MAPPING.put("GET:/app/periodicals/\\d+/update/?", admin);
+        LEGACY_MAPPING.put("POST:/app/periodicals/?", admin);
+        LEGACY_MAPPING.put("POST:/app/periodicals/discarded/?", admin);
+        LEGACY_MAPPING.put("GET:/app/adminPanel/?", admin);
+        LEGACY_MAPPING.put("POST:/app/users/changeStatus/\\d+/?", admin);
+    }
+
+    private static final List<String> URIS = Arrays.asList(
+            "/app", "/app/", "/app/signIn", "/app/signOut", "/app/signUp", "/app/users", "/app/users/",
+            "/app/users//", "/app/users/currentUser", "/app/users/7/update", "/app/users/8/update/",
+            "/app/users/changeStatus/7", "/app/users/changeStatus/8/", "/app/users/changeStatus/x",
+            "/app/periodicals", "/app/periodicals/", "/app/periodicals/5", "/app/periodicals/createNew",
+            "/app/periodicals/createNew/", "/app/periodicals/5/update", "/app/periodicals/5/update/",
+            "/app/periodicals/x/update", "/app/periodicals/5/delete", "/app/periodicals/discarded",
+            "/app/periodicals/discarded/", "/app/users/7/invoices", "/app/users/8/invoices/",
+            "/app/users/7/invoices/9/pay", "/app/users/8/invoices/9/pay", "/app/validation",
+            "/app/adminPanel", "/app/adminPanel/", "/app/adminPanel/x", "/app/unknown");
+
+    private static boolean checkLegacy(String method, String uri, User user) {
+        Matcher matcher = Pattern.compile("/app/users/\\d+").matcher(uri);
+
+        if (matcher.find()) {
+            Matcher id = Pattern.compile("\\d+").matcher(uri);
+            id.find();
+
+            if (Long.parseLong(id.group()) != user.getId()) {
+                return false;
+            }
+        }
+
+        Optional<Map.Entry<String, User.Role>> restriction = LEGACY_MAPPING.entrySet().stream()
+                .filter(entry -> Arrays.asList(entry.getKey().split(":")[0].split("\\|"))
+                        .contains(method.toUpperCase()))
+                .filter(entry -> Pattern.matches(entry.getKey().split(":")[1], uri))
+                .findFirst();
+
+        return !restriction.isPresent() || user.getRole().equals(restriction.get().getValue());
+    }
+
+    private static HttpServletRequest mockRequest(String method, String uri, User user) {
+        HttpSession session = mock(HttpSession.class);
+        when(session.getAttribute("currentUser")).thenReturn(user);
+
+        HttpServletRequest request = mock(HttpServletRequest.class);
+        when(request.getMethod()).thenReturn(method);
+        when(request.getRequestURI()).thenReturn(uri);
+        when(request.getSession()).thenReturn(session);
+
+        return request;
+    }
+
+    private static boolean isMapped(HttpServletRequest request) {
+        try {
+            RequestProviderImpl.getInstance().getRequestProcessor(request);
+            return true;
+        } catch (NoSuchElementException e) {
+            return false;
+        }
+    }
+
+    /**
+     * The user id in the uri is checked only for mapped requests now, an unmapped one gets
+     * the 404 page anyway. Such requests are compared without the user id check.
+     */
+    @Test
+    public void checkPermissions_Should_DecideLikeRegexMappings() {
+        for (User.Role role : User.Role.values()) {
+            User user = new User.Builder().setId(USER_ID).setRole(role).build();
+
+            for (String method : Arrays.asList("GET", "POST", "post", "PUT")) {
+                for (String uri : URIS) {
+                    HttpServletRequest request = mockRequest(method, uri, user);
+                    boolean expected = checkLegacy(method, uri, user);
+
+                    if (!isMapped(request)) {
+                        expected = checkLegacy(method, uri.replaceFirst("/app/users/\\d+", "/app/users/" + USER_ID),
+                                user);
+                    }
+
+                    assertEquals(role + " " + method + " " + uri, expected,
+                            Authorization.getInstance().checkPermissions(request));
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,77 @@
+package com.tolochko.periodicals.model.controller.util;
+
+import com.tolochko.periodicals.controller.util.Router;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.regex.Pattern;
+
+/**
+ * Compares finding a request mapping by matching the regex of every mapping, as the request
+ * provider did, with the {@link Router} trie. Run it manually, it is not a unit test.
+ */
+public class RouterBenchmark {
+    private static final int WARM_UP_ITERATIONS = 20_000;
+    private static final int ITERATIONS = 200_000;
+
+    public static void main(String[] args) {
+        Map<String, String> regexMapping = new HashMap<>();
+        Router<String> router = new Router<>();
+
+        for (String mapping : RouterTest.MAPPINGS) {
+            regexMapping.put(mapping, mapping);
+            router.add(mapping, mapping);
+        }
+
+        List<String> uris = RouterTest.URIS;
+
+        runRegex(regexMapping, uris, WARM_UP_ITERATIONS);
+        long start = System.nanoTime();
+        int found = runRegex(regexMapping, uris, ITERATIONS);
+        System.out.printf("regex:  %.0f ns per request (%d found)%n",
+                (double) (System.nanoTime() - start) / ITERATIONS, found);
+
+        runRouter(router, uris, WARM_UP_ITERATIONS);
+        start = System.nanoTime();
+        found = runRouter(router, uris, ITERATIONS);
+        System.out.printf("router: %.0f ns per request (%d found)%n",
+                (double) (System.nanoTime() - start) / ITERATIONS, found);
+    }
+
+    private static int runRegex(Map<String, String> mapping, List<String> uris, int iterations) {
+        int found = 0;
+
+        for (int i = 0; i < iterations; i++) {
+            String uri = uris.get(i % uris.size());
+            String method = (i % 2 == 0) ? "GET" : "POST";
+
+            Optional<Map.Entry<String, String>> entry = mapping.entrySet().stream()
+                    .filter(e -> e.getKey().split(":")[0].contains(method))
+                    .filter(e -> Pattern.matches(e.getKey().split(":")[1], uri))
+                    .findFirst();
+
+            if (entry.isPresent()) {
+                found++;
+            }
+        }
+
+        return found;
+    }
+
+    private static int runRouter(Router<String> router, List<String> uris, int iterations) {
+        int found = 0;
+
+        for (int i = 0; i < iterations; i++) {
+            String uri = uris.get(i % uris.size());
+            String method = (i % 2 == 0) ? "GET" : "POST";
+
+            if (router.find(method, uri) != null) {
+                found++;
+            }
+        }
+
+        return found;
+    }
+}
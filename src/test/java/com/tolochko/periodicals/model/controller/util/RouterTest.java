@@ -0,0 +1,123 @@
+package com.tolochko.periodicals.model.controller.util;
+
+import com.tolochko.periodicals.controller.util.PathVariables;
+import com.tolochko.periodicals.controller.util.Router;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.regex.Pattern;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+
+public class RouterTest {
+    /**
+     * The mappings of the request provider.
+     */
+    static final List<String> MAPPINGS = Arrays.asList(
+            "GET:/app/?", "POST:/app/signIn/?", "GET:/app/signOut/?", "GET:/app/signUp/?",
+            "POST:/app/signUp/?", "GET:/app/users/currentUser/?", "GET:/app/users/?",
+            "GET:/app/users/\\d+/update/?", "POST:/app/users/?", "POST:/app/users/changeStatus/\\d+/?",
+            "POST:/app/periodicals/\\d+/delete/?", "GET:/app/adminPanel/?", "GET:/app/periodicals/?",
+            "GET:/app/periodicals/\\d+", "GET:/app/periodicals/createNew/?",
+            "GET:/app/periodicals/\\d+/update/?", "POST:/app/periodicals/?",
+            "POST:/app/periodicals/discarded/?", "POST:/app/users/\\d+/invoices/?",
+            "POST:/app/users/\\d+/invoices/\\d+/pay/?", "POST:/app/validation");
+
+    static final List<String> URIS = Arrays.asList(
+            "/app", "/app/", "/app//", "/", "", "app", "/app/signIn", "/app/signIn/", "/app/signOut",
+            "/app/signUp/", "/app/users", "/app/users/", "/app/users/currentUser", "/app/users/12/update",
+            "/app/users/12/update/", "/app/users/x/update", "/app/users//update", "/app/users/changeStatus/3",
+            "/app/periodicals", "/app/periodicals/5", "/app/periodicals/5/", "/app/periodicals/05",
+            "/app/periodicals/-5", "/app/periodicals/createNew", "/app/periodicals/createNew/",
+            "/app/periodicals/5/update", "/app/periodicals/5/delete", "/app/periodicals/discarded",
+            "/app/users/7/invoices", "/app/users/7/invoices/9/pay", "/app/users/7/invoices/9/pay/",
+            "/app/users/7/invoices/9", "/app/validation", "/app/validation/", "/app/adminPanel",
+            "/app/unknown", "/app/periodicals/5/update/extra", "/App/users");
+
+    private Router<String> router;
+
+    @Before
+    public void setUp() {
+        router = new Router<>();
+        MAPPINGS.forEach(mapping -> router.add(mapping, mapping));
+    }
+
+    private String find(Router<String> router, String method, String uri) {
+        Router.Match<String> match = router.find(method, uri);
+
+        return (match == null) ? null : match.getHandler();
+    }
+
+    /**
+     * The mapping found by the regexes of the mappings, as matched before the router.
+     */
+    private static String findByRegex(String method, String uri) {
+        return MAPPINGS.stream()
+                .filter(mapping -> mapping.split(":")[0].equals(method))
+                .filter(mapping -> Pattern.matches(mapping.split(":")[1], uri))
+                .findFirst()
+                .orElse(null);
+    }
+
+    @Test
+    public void find_Should_MatchLikeRegexes() {
+        for (String method : Arrays.asList("GET", "POST", "PUT")) {
+            for (String uri : URIS) {
+                assertEquals(method + " " + uri, findByRegex(method, uri), find(router, method, uri));
+            }
+        }
+    }
+
+    @Test
+    public void find_Should_PreferLiteralSegments_OverNumbers() {
+        Router<String> router = new Router<String>()
+                .add("GET:/a/\\d+/b", "number")
+                .add("GET:/a/1/b", "literal")
+                .add("GET:/a/1/c", "literal c");
+
+        assertEquals("literal", find(router, "GET", "/a/1/b"));
+        assertEquals("number", find(router, "GET", "/a/2/b"));
+        assertNull(router.find("GET", "/a/2/c"));
+    }
+
+    @Test
+    public void add_Should_AcceptSeveralMethods() {
+        Router<String> router = new Router<String>().add("GET|POST:/a/?", "a");
+
+        assertEquals("a", find(router, "POST", "/a/"));
+        assertEquals("a", find(router, "GET", "/a"));
+    }
+
+    @Test
+    public void find_Should_CaptureNamedVariables() {
+        Router<String> router = new Router<String>()
+                .add("POST:/users/{userId:long}/invoices/{invoiceId:long}/pay/?", "pay")
+                .add("GET:/users/\\d+/update", "update");
+
+        PathVariables variables = router.find("POST", "/users/7/invoices/9000000000/pay/").getVariables();
+
+        assertEquals(7, variables.getLong("userId"));
+        assertEquals(9_000_000_000L, variables.getLong("invoiceId"));
+        assertSame(PathVariables.EMPTY, router.find("GET", "/users/7/update").getVariables());
+        assertNull(router.find("POST", "/users/99999999999999999999/invoices/1/pay"));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void add_Should_RejectRepeatedVariableNames() {
+        new Router<String>().add("GET:/a/{id:long}/{id:long}", "a");
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void add_Should_RejectUnsupportedPatterns() {
+        new Router<String>().add("GET:/a/.*", "a");
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void add_Should_RejectDuplicates() {
+        new Router<String>().add("GET:/a/?", "a").add("GET:/a", "b");
+    }
+}
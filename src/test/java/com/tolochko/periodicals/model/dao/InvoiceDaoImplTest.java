@@ -1,5 +1,6 @@
 package com.tolochko.periodicals.model.dao;
 
+import com.tolochko.periodicals.model.TransactionHelper;
 import com.tolochko.periodicals.model.connection.ConnectionProxy;
 import com.tolochko.periodicals.model.dao.factory.DaoFactory;
 import com.tolochko.periodicals.model.dao.factory.impl.MySqlDaoFactory;
@@ -8,14 +9,21 @@ import com.tolochko.periodicals.model.domain.invoice.Invoice;
 import org.junit.AfterClass;
 import org.junit.BeforeClass;
 import org.junit.Ignore;
+import org.junit.Test;
 
 import java.sql.SQLException;
 import java.time.Instant;
 import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
 import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 
 import static java.util.Objects.nonNull;
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
 
 public class InvoiceDaoImplTest {
     private static InvoiceDao invoiceDao;
@@ -53,6 +61,53 @@ public class InvoiceDaoImplTest {
     }
 
 
+    /**
+     * Needs the test db with a new invoice with id 1.
+     */
+    @Ignore
+    @Test
+    public void markPaid_Should_PayInvoiceOnce_WhenCalledConcurrently() throws Exception {
+        int threads = 16;
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<Boolean>> results = new ArrayList<>();
+
+        for (int i = 0; i < threads; i++) {
+            results.add(executor.submit(() -> {
+                start.await();
+                TransactionHelper.beginTransaction();
+                boolean paid = invoiceDao.markPaid(1L, Instant.now());
+                TransactionHelper.commit();
+                return paid;
+            }));
+        }
+
+        start.countDown();
+        int paidCount = 0;
+        for (Future<Boolean> result : results) {
+            paidCount += result.get() ? 1 : 0;
+        }
+        executor.shutdown();
+
+        assertEquals(1, paidCount);
+        assertEquals(Invoice.Status.PAID, invoiceDao.findOneById(1L).getStatus());
+    }
+
+    /**
+     * Needs the test db with a new invoice with id 2.
+     */
+    @Ignore
+    @Test
+    public void markPaid_Should_KeepCreationDate() {
+        Instant creationDate = invoiceDao.findOneById(2L).getCreationDate();
+
+        assertTrue(invoiceDao.markPaid(2L, Instant.now().plus(1, ChronoUnit.DAYS)));
+
+        Invoice paid = invoiceDao.findOneById(2L);
+        assertEquals(Invoice.Status.PAID, paid.getStatus());
+        assertEquals(creationDate, paid.getCreationDate());
+    }
+
     @AfterClass
     public static void tearDown() throws SQLException {
         if (nonNull(conn)) {
@@ -4,6 +4,7 @@ import com.tolochko.periodicals.model.connection.ConnectionProxy;
 import com.tolochko.periodicals.model.dao.factory.DaoFactory;
 import com.tolochko.periodicals.model.dao.factory.impl.MySqlDaoFactory;
 import com.tolochko.periodicals.model.dao.interfaces.PeriodicalDao;
+import com.tolochko.periodicals.model.domain.PeriodicalNumberByCategory;
 import com.tolochko.periodicals.model.domain.periodical.Periodical;
 import com.tolochko.periodicals.model.domain.periodical.PeriodicalCategory;
 import org.junit.AfterClass;
@@ -12,6 +13,7 @@ import org.junit.Ignore;
 import org.junit.Test;
 
 import java.sql.SQLException;
+import java.util.List;
 
 import static java.util.Objects.nonNull;
 import static org.junit.Assert.assertEquals;
@@ -98,6 +100,17 @@ public class PeriodicalDaoImplTest {
         assertEquals("discardedNews periodicals", discardedNewsExpectedNumber, discardedNewsActualNumber);
     }
 
+    @Ignore
+    public void findNumberOfPeriodicalsByCategoryAndStatus_Should_ReturnAllCategories() throws Exception {
+        List<PeriodicalNumberByCategory> statistics = periodicalDao.findNumberOfPeriodicalsByCategoryAndStatus();
+        PeriodicalNumberByCategory news = statistics.get(PeriodicalCategory.NEWS.ordinal());
+
+        assertEquals("categories", PeriodicalCategory.values().length, statistics.size());
+        assertEquals("activeNews periodicals", 0, news.getActive());
+        assertEquals("inActiveNews periodicals", 1, news.getInActive());
+        assertEquals("discardedNews periodicals", 0, news.getDiscarded());
+    }
+
     @AfterClass
     public static void tearDown() throws SQLException {
         if (nonNull(conn)) {
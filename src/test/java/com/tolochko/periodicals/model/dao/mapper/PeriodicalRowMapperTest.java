@@ -0,0 +1,86 @@
+package com.tolochko.periodicals.model.dao.mapper;
+
+import com.tolochko.periodicals.model.domain.periodical.Periodical;
+import com.tolochko.periodicals.model.domain.periodical.PeriodicalCategory;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.sql.ResultSet;
+import java.sql.ResultSetMetaData;
+import java.sql.SQLException;
+
+import static org.junit.Assert.*;
+import static org.mockito.Mockito.*;
+
+public class PeriodicalRowMapperTest {
+    private static final String[][] COLUMNS = {
+            {"subscriptions", "id"}, {"subscriptions", "status"},
+            {"periodicals", "id"}, {"periodicals", "name"}, {"periodicals", "category"},
+            {"periodicals", "publisher"}, {"periodicals", "description"},
+            {"periodicals", "one_month_cost"}, {"periodicals", "status"}
+    };
+
+    private ResultSet rs;
+    private ResultSetMetaData metaData;
+
+    @Before
+    public void setUp() throws Exception {
+        rs = mock(ResultSet.class);
+        metaData = mock(ResultSetMetaData.class);
+
+        when(rs.getMetaData()).thenReturn(metaData);
+        when(metaData.getColumnCount()).thenReturn(COLUMNS.length);
+
+        for (int i = 0; i < COLUMNS.length; i++) {
+            when(metaData.getTableName(i + 1)).thenReturn(COLUMNS[i][0]);
+            when(metaData.getColumnLabel(i + 1)).thenReturn(COLUMNS[i][1]);
+        }
+    }
+
+    @Test
+    public void mapRow_Should_UseColumnsOfPeriodicalsTable() throws Exception {
+        when(rs.getLong(1)).thenReturn(100L);
+        when(rs.getString(2)).thenReturn("active");
+        when(rs.getLong(3)).thenReturn(7L);
+        when(rs.getString(4)).thenReturn("Name");
+        when(rs.getString(5)).thenReturn("sports");
+        when(rs.getLong(8)).thenReturn(50L);
+        when(rs.getString(9)).thenReturn("discarded");
+
+        Periodical periodical = new PeriodicalRowMapper(rs).mapRow(rs);
+
+        assertEquals(7, periodical.getId());
+        assertEquals("Name", periodical.getName());
+        assertEquals(PeriodicalCategory.SPORTS, periodical.getCategory());
+        assertEquals(50, periodical.getOneMonthCost());
+        assertEquals(Periodical.Status.DISCARDED, periodical.getStatus());
+    }
+
+    @Test
+    public void constructor_Should_ResolveColumnsOnce() throws Exception {
+        PeriodicalRowMapper mapper = new PeriodicalRowMapper(rs);
+        when(rs.getString(anyInt())).thenReturn("active");
+        when(rs.getString(5)).thenReturn("sports");
+
+        mapper.mapRow(rs);
+        mapper.mapRow(rs);
+
+        verify(rs, times(1)).getMetaData();
+        verify(metaData, times(COLUMNS.length)).getColumnLabel(anyInt());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void mapRow_Should_RejectUnknownStatus() throws Exception {
+        when(rs.getString(5)).thenReturn("sports");
+        when(rs.getString(9)).thenReturn("unknown");
+
+        new PeriodicalRowMapper(rs).mapRow(rs);
+    }
+
+    @Test(expected = SQLException.class)
+    public void constructor_Should_Fail_IfColumnIsMissing() throws Exception {
+        when(metaData.getColumnCount()).thenReturn(3);
+
+        new PeriodicalRowMapper(rs);
+    }
+}
@@ -0,0 +1,106 @@
+package com.tolochko.periodicals.model.dao.mapper;
+
+import com.tolochko.periodicals.model.domain.periodical.Periodical;
+import com.tolochko.periodicals.model.domain.periodical.PeriodicalCategory;
+
+import java.io.InputStream;
+import java.lang.management.ManagementFactory;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.Properties;
+
+/**
+ * Compares the per-row CPU time and allocation of the label based periodical mapping
+ * (as it was in {@code DaoUtil}) with {@link PeriodicalRowMapper}. Only the mapping loop over
+ * an already fetched result set is measured. Needs the test db from {@code database.properties};
+ * run it manually, it is not a unit test.
+ */
+public class RowMapperBenchmark {
+    private static final String SELECT_ALL_PERIODICAL = "SELECT * FROM periodicals";
+    private static final int WARM_UP_ITERATIONS = 2_000;
+    private static final int ITERATIONS = 20_000;
+
+    private interface Mapping {
+        Periodical map(ResultSet rs) throws SQLException;
+    }
+
+    public static void main(String[] args) throws Exception {
+        Properties properties = new Properties();
+        try (InputStream input = RowMapperBenchmark.class.getClassLoader()
+                .getResourceAsStream("database.properties")) {
+            properties.load(input);
+        }
+
+        try (Connection connection = DriverManager.getConnection(properties.getProperty("database.url"),
+                properties.getProperty("database.username"), properties.getProperty("database.password"));
+             PreparedStatement st = connection.prepareStatement(SELECT_ALL_PERIODICAL)) {
+
+            // the same query always has the same columns, so one mapper fits all its result sets
+            PeriodicalRowMapper mapper;
+            try (ResultSet rs = st.executeQuery()) {
+                mapper = new PeriodicalRowMapper(rs);
+            }
+
+            for (int i = 0; i < 2; i++) {
+                run("label lookups", st, null);
+                run("PeriodicalRowMapper", st, mapper);
+            }
+        }
+    }
+
+    private static void run(String name, PreparedStatement st, PeriodicalRowMapper mapper) throws SQLException {
+        Mapping mapping = (mapper == null) ? RowMapperBenchmark::mapByLabels : mapper::mapRow;
+        com.sun.management.ThreadMXBean threadBean =
+                (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+        long threadId = Thread.currentThread().getId();
+
+        mapAll(st, mapping, WARM_UP_ITERATIONS);
+
+        long rows = 0;
+        long nanos = 0;
+        long allocatedBytes = 0;
+
+        for (int i = 0; i < ITERATIONS; i++) {
+            try (ResultSet rs = st.executeQuery()) {
+                long allocatedBefore = threadBean.getThreadAllocatedBytes(threadId);
+                long start = System.nanoTime();
+
+                while (rs.next()) {
+                    mapping.map(rs);
+                    rows++;
+                }
+
+                nanos += System.nanoTime() - start;
+                allocatedBytes += threadBean.getThreadAllocatedBytes(threadId) - allocatedBefore;
+            }
+        }
+
+        System.out.printf("%s: %.1f ns and %d bytes allocated per row%n", name,
+                (double) nanos / rows, allocatedBytes / rows);
+    }
+
+    private static void mapAll(PreparedStatement st, Mapping mapping, int iterations) throws SQLException {
+        for (int i = 0; i < iterations; i++) {
+            try (ResultSet rs = st.executeQuery()) {
+                while (rs.next()) {
+                    mapping.map(rs);
+                }
+            }
+        }
+    }
+
+    private static Periodical mapByLabels(ResultSet rs) throws SQLException {
+        return new Periodical.Builder()
+                .setId(rs.getLong("periodicals.id"))
+                .setName(rs.getString("periodicals.name"))
+                .setCategory(PeriodicalCategory.valueOf(rs.getString("periodicals.category").toUpperCase()))
+                .setPublisher(rs.getString("periodicals.publisher"))
+                .setDescription(rs.getString("periodicals.description"))
+                .setOneMonthCost(rs.getLong("periodicals.one_month_cost"))
+                .setStatus(Periodical.Status.valueOf(rs.getString("periodicals.status").toUpperCase()))
+                .build();
+    }
+}
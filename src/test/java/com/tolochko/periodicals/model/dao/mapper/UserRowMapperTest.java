@@ -0,0 +1,60 @@
+package com.tolochko.periodicals.model.dao.mapper;
+
+import com.tolochko.periodicals.model.domain.user.User;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.sql.ResultSet;
+import java.sql.ResultSetMetaData;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+public class UserRowMapperTest {
+    private static final String[][] COLUMNS = {
+            {"users", "id"}, {"users", "username"}, {"users", "first_name"}, {"users", "last_name"},
+            {"users", "email"}, {"users", "address"}, {"users", "password"}, {"users", "status"},
+            {"user_roles", "name"}
+    };
+
+    private ResultSet rs;
+
+    @Before
+    public void setUp() throws Exception {
+        rs = mock(ResultSet.class);
+        ResultSetMetaData metaData = mock(ResultSetMetaData.class);
+
+        when(rs.getMetaData()).thenReturn(metaData);
+        when(metaData.getColumnCount()).thenReturn(COLUMNS.length);
+
+        for (int i = 0; i < COLUMNS.length; i++) {
+            when(metaData.getTableName(i + 1)).thenReturn(COLUMNS[i][0]);
+            when(metaData.getColumnLabel(i + 1)).thenReturn(COLUMNS[i][1]);
+        }
+
+        when(rs.getLong(1)).thenReturn(3L);
+        when(rs.getString(2)).thenReturn("admin");
+        when(rs.getString(8)).thenReturn("active");
+    }
+
+    @Test
+    public void mapRow_Should_SetRoleFromJoinedTable() throws Exception {
+        when(rs.getString(9)).thenReturn("admin");
+
+        User user = new UserRowMapper(rs).mapRow(rs);
+
+        assertEquals(3, user.getId());
+        assertEquals("admin", user.getUsername());
+        assertEquals(User.Status.ACTIVE, user.getStatus());
+        assertEquals(User.Role.ADMIN, user.getRole());
+    }
+
+    @Test
+    public void mapRow_Should_SetNullRole_IfUserHasNoRoleRow() throws Exception {
+        User user = new UserRowMapper(rs).mapRow(rs);
+
+        assertNull(user.getRole());
+    }
+}
@@ -0,0 +1,47 @@
+package com.tolochko.periodicals.model.dao.migration;
+
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+public class MigrationTest {
+
+    @Test
+    public void parse_Should_SplitStatements_SkippingComments() {
+        Migration migration = Migration.parse("V12__add_some_index.sql",
+                "-- a comment\nALTER TABLE a\n  ADD INDEX i (x);\n\nDROP TABLE b;\n");
+
+        assertEquals(12, migration.getVersion());
+        assertEquals("add some index", migration.getDescription());
+        assertEquals(Arrays.asList("ALTER TABLE a\n  ADD INDEX i (x)", "DROP TABLE b"),
+                migration.getStatements());
+    }
+
+    @Test
+    public void checksum_Should_NotDependOnLineEnds() {
+        Migration unix = Migration.parse("V1__a.sql", "DROP TABLE b;\n");
+        Migration windows = Migration.parse("V1__a.sql", "DROP TABLE b;\r\n");
+
+        assertEquals(unix.getChecksum(), windows.getChecksum());
+        assertEquals(64, unix.getChecksum().length());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void parse_Should_RejectInvalidName() {
+        Migration.parse("add_some_index.sql", "DROP TABLE b;");
+    }
+
+    @Test
+    public void loadMigrations_Should_ReturnIncreasingVersions() {
+        List<Migration> migrations = MigrationRunner.loadMigrations();
+
+        assertTrue(migrations.size() > 0);
+        for (int i = 1; i < migrations.size(); i++) {
+            assertTrue(migrations.get(i).getVersion() > migrations.get(i - 1).getVersion());
+        }
+    }
+}
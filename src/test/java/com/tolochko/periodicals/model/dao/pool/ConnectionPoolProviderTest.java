@@ -0,0 +1,58 @@
+package com.tolochko.periodicals.model.dao.pool;
+
+import com.tolochko.periodicals.model.dao.exception.DaoException;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.Properties;
+
+import static org.junit.Assert.assertNotNull;
+
+public class ConnectionPoolProviderTest {
+    private Properties properties;
+
+    @Before
+    public void setUp() throws Exception {
+        properties = new Properties();
+        properties.setProperty("database.url", "jdbc:mysql://localhost:3306/periodicals_test_db");
+        properties.setProperty("database.username", "root");
+        properties.setProperty("database.password", "root");
+        properties.setProperty("database.maxconnections", "5");
+    }
+
+    @Test
+    public void createPool_Should_UseDefaults_IfOptionalPropertiesAreAbsent() throws Exception {
+        assertNotNull(ConnectionPoolProvider.createPool(properties, "database"));
+    }
+
+    @Test
+    public void createPool_Should_AcceptTuningAndDriverProperties() throws Exception {
+        properties.setProperty("database.minidle", "1");
+        properties.setProperty("database.maxwaitmillis", "2000");
+        properties.setProperty("database.testwhileidle", "false");
+        properties.setProperty("database.driver.cachePrepStmts", "true");
+
+        assertNotNull(ConnectionPoolProvider.createPool(properties, "database"));
+    }
+
+    @Test(expected = DaoException.class)
+    public void createPool_Should_ThrowException_IfValueIsNotNumber() throws Exception {
+        properties.setProperty("database.maxwaitmillis", "forever");
+
+        ConnectionPoolProvider.createPool(properties, "database");
+    }
+
+    @Test(expected = DaoException.class)
+    public void createPool_Should_ThrowException_IfBooleanIsInvalid() throws Exception {
+        properties.setProperty("database.testonborrow", "yes");
+
+        ConnectionPoolProvider.createPool(properties, "database");
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void createPool_Should_ThrowException_IfMinIdleIsGreaterThanMaxConnections() throws Exception {
+        properties.setProperty("database.minidle", "6");
+
+        ConnectionPoolProvider.createPool(properties, "database");
+    }
+}
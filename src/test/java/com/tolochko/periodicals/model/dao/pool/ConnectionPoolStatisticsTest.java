@@ -0,0 +1,69 @@
+package com.tolochko.periodicals.model.dao.pool;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.Assert.*;
+
+public class ConnectionPoolStatisticsTest {
+    private ConnectionPoolStatistics statistics;
+
+    @Before
+    public void setUp() throws Exception {
+        statistics = new ConnectionPoolStatistics(true, () -> 3);
+    }
+
+    @Test
+    public void onBorrow_Should_TrackActiveConnectionsAndHighWaterMark() throws Exception {
+        ConnectionPoolStatistics.Lease first = statistics.onBorrow(TimeUnit.MILLISECONDS.toNanos(2));
+        ConnectionPoolStatistics.Lease second = statistics.onBorrow(TimeUnit.MILLISECONDS.toNanos(20));
+        statistics.onReturn(first);
+
+        assertEquals(1, statistics.getActive());
+        assertEquals(2, statistics.getHighWaterMark());
+        assertEquals(3, statistics.getIdle());
+        assertEquals(2, statistics.getBorrowLatency().getCount());
+        assertEquals(1, statistics.getInUseDuration().getCount());
+
+        statistics.onReturn(second);
+        statistics.onReturn(second);
+
+        assertEquals(0, statistics.getActive());
+        assertEquals(2, statistics.getInUseDuration().getCount());
+    }
+
+    @Test
+    public void detectLeaks_Should_ReportEachLeakedConnectionOnce() throws Exception {
+        ConnectionPoolStatistics.Lease lease = statistics.onBorrow(0);
+
+        assertEquals(1, statistics.detectLeaks(0));
+        assertEquals(0, statistics.detectLeaks(0));
+        assertEquals(1, statistics.getLeaked());
+        assertNotNull(lease.getBorrowerStackTrace());
+    }
+
+    @Test
+    public void detectLeaks_Should_IgnoreConnectionsHeldLessThanThreshold() throws Exception {
+        statistics.onBorrow(0);
+
+        assertEquals(0, statistics.detectLeaks(TimeUnit.MINUTES.toMillis(1)));
+        assertEquals(0, statistics.getLeaked());
+    }
+
+    @Test
+    public void histogram_Should_PutValuesIntoBuckets() throws Exception {
+        LatencyHistogram histogram = new LatencyHistogram();
+        histogram.record(TimeUnit.MICROSECONDS.toNanos(100));
+        histogram.record(TimeUnit.MILLISECONDS.toNanos(7));
+        histogram.record(TimeUnit.SECONDS.toNanos(10));
+
+        long[] buckets = histogram.getBucketCounts();
+
+        assertEquals(1, buckets[0]);
+        assertEquals(1, buckets[2]);
+        assertEquals(1, buckets[buckets.length - 1]);
+        assertEquals(10_000, histogram.getMaxMillis(), 0.1);
+    }
+}
@@ -0,0 +1,113 @@
+package com.tolochko.periodicals.model.dao.pool;
+
+import com.tolochko.periodicals.model.connection.ConnectionProxy;
+import com.tolochko.periodicals.model.dao.exception.DaoException;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.ResultSetMetaData;
+import java.util.Arrays;
+
+import static org.junit.Assert.*;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.*;
+
+public class RoutingConnectionPoolTest {
+    private static final String LAG_QUERY = "SHOW SLAVE STATUS";
+
+    private ConnectionPool primary;
+    private ConnectionPool replica1;
+    private ConnectionPool replica2;
+    private ConnectionProxy primaryConnection;
+    private ConnectionProxy replicaConnection1;
+    private ConnectionProxy replicaConnection2;
+    private RoutingConnectionPool routingPool;
+
+    @Before
+    public void setUp() throws Exception {
+        primary = mock(ConnectionPool.class);
+        replica1 = mock(ConnectionPool.class);
+        replica2 = mock(ConnectionPool.class);
+        primaryConnection = mock(ConnectionProxy.class);
+        replicaConnection1 = mockReplicaConnection(1L);
+        replicaConnection2 = mockReplicaConnection(1L);
+
+        when(primary.getConnection()).thenReturn(primaryConnection);
+        when(replica1.getConnection()).thenReturn(replicaConnection1);
+        when(replica2.getConnection()).thenReturn(replicaConnection2);
+
+        routingPool = new RoutingConnectionPool(primary, Arrays.asList(replica1, replica2), 5, LAG_QUERY);
+    }
+
+    private ConnectionProxy mockReplicaConnection(Long lagSeconds) throws Exception {
+        ConnectionProxy connection = mock(ConnectionProxy.class);
+        PreparedStatement st = mock(PreparedStatement.class);
+        ResultSet rs = mock(ResultSet.class);
+        ResultSetMetaData metaData = mock(ResultSetMetaData.class);
+
+        when(connection.prepareStatement(anyString())).thenReturn(st);
+        when(st.executeQuery()).thenReturn(rs);
+        when(rs.next()).thenReturn(true);
+        when(rs.getMetaData()).thenReturn(metaData);
+        when(metaData.getColumnCount()).thenReturn(2);
+        when(metaData.getColumnLabel(1)).thenReturn("Slave_IO_State");
+        when(metaData.getColumnLabel(2)).thenReturn("Seconds_Behind_Master");
+        when(rs.getLong(2)).thenReturn(lagSeconds == null ? 0 : lagSeconds);
+        when(rs.wasNull()).thenReturn(lagSeconds == null);
+
+        return connection;
+    }
+
+    @Test
+    public void getConnection_Should_AlwaysUsePrimary() throws Exception {
+        routingPool.checkReplicas();
+
+        assertSame(primaryConnection, routingPool.getConnection());
+    }
+
+    @Test
+    public void getReadOnlyConnection_Should_UsePrimary_BeforeReplicasAreChecked() throws Exception {
+        assertSame(primaryConnection, routingPool.getReadOnlyConnection());
+        assertEquals(1, routingPool.getPrimaryReads());
+    }
+
+    @Test
+    public void getReadOnlyConnection_Should_AlternateReplicas() throws Exception {
+        routingPool.checkReplicas();
+
+        ConnectionProxy first = routingPool.getReadOnlyConnection();
+        ConnectionProxy second = routingPool.getReadOnlyConnection();
+
+        assertNotSame(first, second);
+        assertTrue(Arrays.asList(replicaConnection1, replicaConnection2).containsAll(Arrays.asList(first, second)));
+        assertEquals(2, routingPool.getReplicaReads());
+        assertEquals(2, routingPool.getAvailableReplicas());
+    }
+
+    @Test
+    public void checkReplicas_Should_ExcludeLaggingAndStoppedReplicas() throws Exception {
+        ConnectionProxy laggingConnection = mockReplicaConnection(60L);
+        ConnectionProxy stoppedConnection = mockReplicaConnection(null);
+        when(replica1.getConnection()).thenReturn(laggingConnection);
+        when(replica2.getConnection()).thenReturn(stoppedConnection);
+
+        routingPool.checkReplicas();
+
+        assertEquals(0, routingPool.getAvailableReplicas());
+        assertSame(primaryConnection, routingPool.getReadOnlyConnection());
+    }
+
+    @Test
+    public void getReadOnlyConnection_Should_FallBackToAnotherReplica_IfReplicaFails() throws Exception {
+        routingPool.checkReplicas();
+        when(replica1.getConnection()).thenThrow(new DaoException("replica is down"));
+
+        for (int i = 0; i < 4; i++) {
+            assertSame(replicaConnection2, routingPool.getReadOnlyConnection());
+        }
+
+        assertEquals(1, routingPool.getAvailableReplicas());
+    }
+}
@@ -0,0 +1,33 @@
+package com.tolochko.periodicals.model.dao.util;
+
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+
+public class InClauseTest {
+
+    @Test
+    public void chunks_Should_SplitDistinctIds() {
+        List<List<Long>> chunks = InClause.chunks(Arrays.asList(1L, 2L, 2L, 3L, 4L, 5L), 2);
+
+        assertEquals(3, chunks.size());
+        assertEquals(Arrays.asList(1L, 2L), chunks.get(0));
+        assertEquals(Arrays.asList(5L), chunks.get(2));
+    }
+
+    @Test
+    public void placeholderCount_Should_RoundUpToPowerOfTwo_WithinChunkSize() {
+        assertEquals(8, InClause.placeholderCount(1, 500));
+        assertEquals(16, InClause.placeholderCount(9, 500));
+        assertEquals(500, InClause.placeholderCount(300, 500));
+        assertEquals(3, InClause.placeholderCount(3, 3));
+    }
+
+    @Test
+    public void placeholders_Should_BeCommaSeparated() {
+        assertEquals("?,?,?", InClause.placeholders(3));
+    }
+}
@@ -0,0 +1,78 @@
+package com.tolochko.periodicals.model.dao.util;
+
+import com.tolochko.periodicals.model.connection.ConnectionProxy;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.Statement;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import static org.junit.Assert.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+public class JdbcBatchTest {
+    private static final String QUERY = "INSERT INTO t (name) VALUES (?)";
+
+    private ConnectionProxy connection;
+    private PreparedStatement st;
+
+    @Before
+    public void setUp() throws Exception {
+        connection = mock(ConnectionProxy.class);
+        st = mock(PreparedStatement.class);
+
+        when(connection.prepareStatement(anyString())).thenReturn(st);
+        when(connection.prepareStatement(anyString(), anyInt())).thenReturn(st);
+    }
+
+    @Test
+    public void insert_Should_ExecuteOneBatchPerBatchSizeRows_AndCollectIds() throws Exception {
+        ResultSet firstKeys = mock(ResultSet.class);
+        ResultSet secondKeys = mock(ResultSet.class);
+        when(st.getGeneratedKeys()).thenReturn(firstKeys, secondKeys);
+        when(firstKeys.next()).thenReturn(true, true, false);
+        when(firstKeys.getLong(1)).thenReturn(1L, 2L);
+        when(secondKeys.next()).thenReturn(true, false);
+        when(secondKeys.getLong(1)).thenReturn(3L);
+
+        List<Long> ids = JdbcBatch.insert(connection, QUERY, Arrays.asList("a", "b", "c"),
+                (statement, name) -> statement.setString(1, name), 2);
+
+        assertEquals(Arrays.asList(1L, 2L, 3L), ids);
+        verify(connection).prepareStatement(QUERY, Statement.RETURN_GENERATED_KEYS);
+        verify(st, times(3)).addBatch();
+        verify(st, times(2)).executeBatch();
+        verify(st).close();
+    }
+
+    @Test
+    public void execute_Should_SumUpdateCounts() throws Exception {
+        when(st.executeBatch()).thenReturn(new int[]{1, 0}, new int[]{Statement.SUCCESS_NO_INFO});
+
+        int affectedRows = JdbcBatch.execute(connection, QUERY, Arrays.asList("a", "b", "c"),
+                (statement, name) -> statement.setString(1, name), 2);
+
+        assertEquals(2, affectedRows);
+        verify(st, times(2)).executeBatch();
+    }
+
+    @Test
+    public void execute_Should_NotTouchConnection_ForEmptyCollection() throws Exception {
+        int affectedRows = JdbcBatch.execute(connection, QUERY, Collections.<String>emptyList(),
+                (statement, name) -> statement.setString(1, name), 2);
+
+        assertEquals(0, affectedRows);
+        verifyZeroInteractions(connection);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void insert_Should_RejectNonPositiveBatchSize() throws Exception {
+        JdbcBatch.insert(connection, QUERY, Collections.singletonList("a"),
+                (statement, name) -> statement.setString(1, name), 0);
+    }
+}
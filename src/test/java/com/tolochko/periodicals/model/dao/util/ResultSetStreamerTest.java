@@ -0,0 +1,67 @@
+package com.tolochko.periodicals.model.dao.util;
+
+import com.tolochko.periodicals.model.connection.ConnectionProxy;
+import org.junit.Before;
+import org.junit.Test;
+import org.mockito.InOrder;
+
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.Assert.*;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.*;
+
+public class ResultSetStreamerTest {
+    private static final String QUERY = "SELECT * FROM t";
+
+    private ConnectionProxy connection;
+    private PreparedStatement st;
+    private ResultSet rs;
+
+    @Before
+    public void setUp() throws Exception {
+        connection = mock(ConnectionProxy.class);
+        st = mock(PreparedStatement.class);
+        rs = mock(ResultSet.class);
+
+        when(connection.prepareStatement(anyString())).thenReturn(st);
+        when(st.executeQuery()).thenReturn(rs);
+        when(rs.next()).thenReturn(true, true, false);
+        when(rs.getString(1)).thenReturn("a", "b");
+    }
+
+    @Test
+    public void forEach_Should_StreamRows_AndResetFetchSize() throws Exception {
+        List<String> rows = new ArrayList<>();
+
+        long count = ResultSetStreamer.forEach(connection, QUERY, resultSet -> row -> row.getString(1), rows::add);
+
+        assertEquals(2, count);
+        assertEquals(Arrays.asList("a", "b"), rows);
+
+        InOrder inOrder = inOrder(st, rs);
+        inOrder.verify(st).setFetchSize(Integer.MIN_VALUE);
+        inOrder.verify(st).executeQuery();
+        inOrder.verify(rs).close();
+        inOrder.verify(st).setFetchSize(0);
+        inOrder.verify(st).close();
+    }
+
+    @Test
+    public void forEach_Should_CloseResources_IfActionFails() throws Exception {
+        try {
+            ResultSetStreamer.forEach(connection, QUERY, resultSet -> row -> row.getString(1), row -> {
+                throw new IllegalStateException();
+            });
+            fail();
+        } catch (IllegalStateException e) {
+            verify(rs).close();
+            verify(st).setFetchSize(0);
+            verify(st).close();
+        }
+    }
+}
@@ -0,0 +1,53 @@
+package com.tolochko.periodicals.model.domain;
+
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.Collections;
+
+import static org.junit.Assert.*;
+
+public class PageTest {
+
+    @Test
+    public void after_Should_SetNextCursor_IfThereIsAnExtraRow() throws Exception {
+        Page<Long> page = Page.after(Arrays.asList(1L, 2L, 3L), 2, 0, Long::longValue);
+
+        assertEquals(Arrays.asList(1L, 2L), page.getItems());
+        assertNull(page.getPreviousCursor());
+        assertEquals(Long.valueOf(2), page.getNextCursor());
+    }
+
+    @Test
+    public void after_Should_SetPreviousCursor_ForNotFirstPage() throws Exception {
+        Page<Long> page = Page.after(Arrays.asList(5L, 6L), 2, 4, Long::longValue);
+
+        assertEquals(Long.valueOf(5), page.getPreviousCursor());
+        assertNull(page.getNextCursor());
+    }
+
+    @Test
+    public void before_Should_DropTheExtraFirstRow() throws Exception {
+        Page<Long> page = Page.before(Arrays.asList(3L, 4L, 5L), 2, Long::longValue);
+
+        assertEquals(Arrays.asList(4L, 5L), page.getItems());
+        assertEquals(Long.valueOf(4), page.getPreviousCursor());
+        assertEquals(Long.valueOf(5), page.getNextCursor());
+    }
+
+    @Test
+    public void before_Should_NotHaveCursors_ForEmptyPage() throws Exception {
+        Page<Long> page = Page.before(Collections.emptyList(), 2, Long::longValue);
+
+        assertTrue(page.getItems().isEmpty());
+        assertNull(page.getPreviousCursor());
+        assertNull(page.getNextCursor());
+    }
+
+    @Test
+    public void normalizeSize_Should_LimitSize() throws Exception {
+        assertEquals(1, Page.normalizeSize(-5));
+        assertEquals(Page.MAX_SIZE, Page.normalizeSize(Integer.MAX_VALUE));
+        assertEquals(Page.DEFAULT_SIZE, Page.normalizeSize(Page.DEFAULT_SIZE));
+    }
+}
@@ -4,18 +4,19 @@ import com.tolochko.periodicals.model.connection.ConnectionProxy;
 import com.tolochko.periodicals.model.dao.exception.DaoException;
 import com.tolochko.periodicals.model.dao.exception.TransactionException;
 import com.tolochko.periodicals.model.dao.factory.DaoFactory;
+import com.tolochko.periodicals.model.dao.interfaces.DailyRevenueDao;
 import com.tolochko.periodicals.model.dao.interfaces.InvoiceDao;
+import com.tolochko.periodicals.model.dao.interfaces.PeriodicalDao;
 import com.tolochko.periodicals.model.dao.interfaces.SubscriptionDao;
 import com.tolochko.periodicals.model.dao.interfaces.UserDao;
 import com.tolochko.periodicals.model.dao.pool.ConnectionPool;
+import com.tolochko.periodicals.model.domain.FinancialStatistics;
 import com.tolochko.periodicals.model.domain.invoice.Invoice;
 import com.tolochko.periodicals.model.domain.periodical.Periodical;
-import com.tolochko.periodicals.model.domain.subscription.Subscription;
 import com.tolochko.periodicals.model.domain.user.User;
 import com.tolochko.periodicals.model.service.impl.InvoiceServiceImpl;
 import com.tolochko.periodicals.model.service.impl.ServiceFactoryImpl;
 import org.junit.Before;
-import org.junit.Ignore;
 import org.junit.Test;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
@@ -24,16 +25,26 @@ import org.mockito.MockitoAnnotations;
 import java.sql.Connection;
 import java.sql.SQLException;
 import java.time.Instant;
-
+import java.time.LocalDate;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertSame;
 import static org.junit.Assert.assertTrue;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.*;
 
 public class InvoiceServiceImplTest {
     private static final long USER_ID = 2L;
     private static final long PERIODICAL_ID = 5L;
     private static final long INVOICE_ID = 10L;
-    private static final long SUBSCRIPTION_ID = 77L;
     @Mock
     private DaoFactory factory;
     @Mock
@@ -43,6 +54,10 @@ public class InvoiceServiceImplTest {
     @Mock
     private InvoiceDao invoiceDao;
     @Mock
+    private PeriodicalDao periodicalDao;
+    @Mock
+    private DailyRevenueDao dailyRevenueDao;
+    @Mock
     private ConnectionProxy conn;
     @Mock
     private User user;
@@ -50,7 +65,6 @@ public class InvoiceServiceImplTest {
     private ConnectionPool connectionPool;
 
     private Invoice invoice;
-    private Subscription subscription = mock(Subscription.class);
     private Periodical periodical = new Periodical();
 
     @InjectMocks
@@ -73,17 +87,13 @@ public class InvoiceServiceImplTest {
                 .setSubscriptionPeriod(1);
         invoice = invoiceBuilder.build();
 
-        when(subscription.getId()).thenReturn(SUBSCRIPTION_ID);
-        when(subscription.getStatus()).thenReturn(Subscription.Status.INACTIVE);
-
         when(connectionPool.getConnection()).thenReturn(conn);
 
-        when(subscriptionDao.findOneByUserIdAndPeriodicalId(USER_ID, PERIODICAL_ID))
-                .thenReturn(subscription);
-
         when(factory.getUserDao()).thenReturn(userDao);
         when(factory.getSubscriptionDao()).thenReturn(subscriptionDao);
         when(factory.getInvoiceDao()).thenReturn(invoiceDao);
+        when(factory.getPeriodicalDao()).thenReturn(periodicalDao);
+        when(factory.getDailyRevenueDao()).thenReturn(dailyRevenueDao);
 
         when(userDao.findOneById(USER_ID)).thenReturn(user);
 
@@ -91,52 +101,86 @@ public class InvoiceServiceImplTest {
 
     @Test
     public void payInvoice_Should_UpdateInvoiceAndSubscription() throws Exception {
-        assertTrue(invoiceService.payInvoice(invoice));
-
-
-        verify(invoiceDao, times(1)).updateById(invoice.getId(),invoice);
-
-        verify(subscription, times(0)).getEndDate();
-        verify(subscription, times(1)).setEndDate(any());
-        verify(subscription, times(1)).setStatus(Subscription.Status.ACTIVE);
-
-        verify(subscriptionDao, times(1)).updateById(subscription.getId(), subscription);
-
-    }
-
-    @Test
-    public void payInvoice_Should_GetEndDateIfSubscriptionIsActive() throws Exception {
-        when(subscription.getStatus()).thenReturn(Subscription.Status.ACTIVE);
-        when(subscription.getEndDate()).thenReturn(Instant.now());
+        when(invoiceDao.markPaid(eq(INVOICE_ID), any())).thenReturn(true);
+        when(subscriptionDao.addOrProlong(eq(USER_ID), eq(PERIODICAL_ID), eq(1), any())).thenReturn(2);
 
         assertTrue(invoiceService.payInvoice(invoice));
 
-        verify(subscription, times(1)).getEndDate();
-
+        verify(invoiceDao, times(1)).markPaid(eq(INVOICE_ID), any());
+        verify(subscriptionDao, times(1)).addOrProlong(eq(USER_ID), eq(PERIODICAL_ID), eq(1), any());
+        verify(dailyRevenueDao, times(1)).addPaid(any(), eq(PERIODICAL_ID), anyLong());
+        assertEquals(Invoice.Status.PAID, invoice.getStatus());
     }
 
-    @Ignore
-    public void payInvoice_Should_CreateNewSubscriptionIfItDoesNotExist() {
-        when(subscriptionDao.findOneByUserIdAndPeriodicalId(USER_ID, PERIODICAL_ID))
-                .thenReturn(null);
-
-        assertTrue(invoiceService.payInvoice(invoice));
+    @Test
+    public void payInvoice_Should_NotTouchSubscriptionIfInvoiceIsNotNew() throws Exception {
+        when(invoiceDao.markPaid(eq(INVOICE_ID), any())).thenReturn(false);
 
-        verify(user, times(2)).getId();
-        verify(user, times(1)).getAddress();
-        verify(subscriptionDao, times(1)).add(any());
+        assertFalse(invoiceService.payInvoice(invoice));
 
-        verify(conn).beginTransaction();
-        verify(conn).commitTransaction();
+        verify(subscriptionDao, never()).addOrProlong(anyLong(), anyLong(), anyInt(), any());
+        verify(dailyRevenueDao, never()).addPaid(any(), anyLong(), anyLong());
     }
 
     @Test(expected = DaoException.class)
     public void payInvoice_Should_CallRollbackIfExceptionIsThrown() throws SQLException {
-        when(subscriptionDao.updateById(any(), any())).thenThrow(DaoException.class);
+        when(invoiceDao.markPaid(eq(INVOICE_ID), any())).thenReturn(true);
+        when(subscriptionDao.addOrProlong(anyLong(), anyLong(), anyInt(), any())).thenThrow(DaoException.class);
 
         invoiceService.payInvoice(invoice);
 
         verify(conn).beginTransaction();
         verify(conn).rollbackTransaction();
     }
+
+    @Test
+    public void findAllByUserIdWithPeriodicals_Should_LoadPeriodicalsWithOneLookup() {
+        Periodical stub = new Periodical();
+        stub.setId(PERIODICAL_ID);
+        Invoice second = new Invoice.Builder().setId(INVOICE_ID + 1).setPeriodical(stub).build();
+        Periodical fromDb = new Periodical();
+        fromDb.setId(PERIODICAL_ID);
+
+        when(invoiceDao.findAllByUserId(USER_ID)).thenReturn(Arrays.asList(invoice, second));
+        when(periodicalDao.findAllByIds(new HashSet<>(Collections.singletonList(PERIODICAL_ID))))
+                .thenReturn(Collections.singletonList(fromDb));
+
+        List<Invoice> invoices = invoiceService.findAllByUserIdWithPeriodicals(USER_ID);
+
+        assertEquals(2, invoices.size());
+        assertSame(fromDb, invoices.get(0).getPeriodical());
+        assertSame(fromDb, invoices.get(1).getPeriodical());
+        verify(periodicalDao, times(1)).findAllByIds(any());
+        verify(periodicalDao, never()).findOneById(any());
+    }
+
+    @Test
+    public void getFinStatistics_Should_SumWholeDaysFromRollup_AndPartialDaysFromInvoices() {
+        Instant since = Instant.parse("2026-09-18T10:00:00Z");
+        Instant until = Instant.parse("2026-10-18T10:00:00Z");
+        Instant firstDayEnd = Instant.parse("2026-09-18T23:59:59.999Z");
+        Instant lastDayStart = Instant.parse("2026-10-18T00:00:00Z");
+
+        when(dailyRevenueDao.getSums(LocalDate.of(2026, 9, 19), LocalDate.of(2026, 10, 18)))
+                .thenReturn(new FinancialStatistics(100, 50));
+        when(invoiceDao.getCreatedInvoiceSumByCreationDate(since, firstDayEnd)).thenReturn(1L);
+        when(invoiceDao.getPaidInvoiceSumByPaymentDate(since, firstDayEnd)).thenReturn(2L);
+        when(invoiceDao.getCreatedInvoiceSumByCreationDate(lastDayStart, until)).thenReturn(3L);
+        when(invoiceDao.getPaidInvoiceSumByPaymentDate(lastDayStart, until)).thenReturn(4L);
+
+        FinancialStatistics statistics = invoiceService.getFinStatistics(since, until);
+
+        assertEquals(104, statistics.getTotalInvoiceSum());
+        assertEquals(56, statistics.getPaidInvoiceSum());
+    }
+
+    @Test
+    public void getFinStatistics_Should_NotUseRollup_ForRangeWithoutWholeDays() {
+        Instant since = Instant.parse("2026-10-18T01:00:00Z");
+        Instant until = Instant.parse("2026-10-18T10:00:00Z");
+        when(invoiceDao.getCreatedInvoiceSumByCreationDate(since, until)).thenReturn(7L);
+
+        assertEquals(7, invoiceService.getFinStatistics(since, until).getTotalInvoiceSum());
+        verify(dailyRevenueDao, never()).getSums(any(), any());
+    }
 }
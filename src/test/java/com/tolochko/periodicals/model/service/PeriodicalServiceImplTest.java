@@ -5,6 +5,8 @@ import com.tolochko.periodicals.model.dao.factory.DaoFactory;
 import com.tolochko.periodicals.model.dao.interfaces.PeriodicalDao;
 import com.tolochko.periodicals.model.dao.interfaces.SubscriptionDao;
 import com.tolochko.periodicals.model.dao.pool.ConnectionPool;
+import com.tolochko.periodicals.model.domain.Page;
+import com.tolochko.periodicals.model.domain.PeriodicalNumberByCategory;
 import com.tolochko.periodicals.model.domain.periodical.Periodical;
 import com.tolochko.periodicals.model.domain.subscription.Subscription;
 import com.tolochko.periodicals.model.service.impl.PeriodicalServiceImpl;
@@ -17,6 +19,8 @@ import org.mockito.MockitoAnnotations;
 
 import java.sql.Connection;
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
 import java.util.List;
 import java.util.NoSuchElementException;
 
@@ -64,12 +68,12 @@ public class PeriodicalServiceImplTest {
     @Test
     public void save_Should_CreateNewPeriodical_IfIdIsZero() throws Exception {
         periodical.setId(0);
-        when(periodicalDao.findOneByName(TEST_NAME)).thenReturn(newPeriodical);
+        when(periodicalDao.add(periodical)).thenReturn((long) NEW_PERIODICAL_ID);
 
         assertEquals(NEW_PERIODICAL_ID, periodicalService.save(periodical).getId(), 0.1);
 
         verify(periodicalDao, times(1)).add(periodical);
-        verify(periodicalDao, times(1)).findOneByName(TEST_NAME);
+        verify(periodicalDao, never()).findOneByName(any());
 
     }
 
@@ -92,7 +96,50 @@ public class PeriodicalServiceImplTest {
     public void deleteAllDiscarded() throws Exception {
         periodicalService.deleteAllDiscarded();
 
-        verify(periodicalDao).deleteAllDiscarded();
+        verify(periodicalDao).archiveDiscardedChunk(any(), anyInt());
+    }
+
+    @Test
+    public void findPageAfter_Should_RequestOneExtraRow() throws Exception {
+        when(periodicalDao.findPage(0, 2, Periodical.Status.ACTIVE))
+                .thenReturn(Arrays.asList(periodical, newPeriodical));
+
+        Page<Periodical> page = periodicalService.findPageAfter(0, 1, Periodical.Status.ACTIVE);
+
+        assertEquals(1, page.getItems().size());
+        assertEquals(Long.valueOf(periodical.getId()), page.getNextCursor());
+    }
+
+    @Test
+    public void getQuantitativeStatistics_Should_BeCached_UntilPeriodicalsChange() throws Exception {
+        List<PeriodicalNumberByCategory> statistics = Collections.emptyList();
+        when(periodicalDao.findNumberOfPeriodicalsByCategoryAndStatus()).thenReturn(statistics);
+        periodicalService.updateAndSetDiscarded(periodical);
+
+        periodicalService.getQuantitativeStatistics();
+        periodicalService.getQuantitativeStatistics();
+        verify(periodicalDao, times(1)).findNumberOfPeriodicalsByCategoryAndStatus();
+
+        periodicalService.updateAndSetDiscarded(periodical);
+        periodicalService.getQuantitativeStatistics();
+        verify(periodicalDao, times(2)).findNumberOfPeriodicalsByCategoryAndStatus();
+    }
+
+    @Test
+    public void findOneById_Should_BeServedFromCatalog_UntilPeriodicalsChange() throws Exception {
+        periodical.setId(PERIODICAL_ID);
+        when(periodicalDao.findAll()).thenReturn(Arrays.asList(periodical, newPeriodical));
+        periodicalService.updateAndSetDiscarded(periodical);
+
+        assertEquals(TEST_NAME, periodicalService.findOneById(PERIODICAL_ID).getName());
+        assertEquals(NEW_PERIODICAL_ID, periodicalService.findOneById(NEW_PERIODICAL_ID).getId());
+        assertEquals(PERIODICAL_ID, periodicalService.findOneByName(TEST_NAME.toUpperCase()).getId());
+        verify(periodicalDao, times(1)).findAll();
+        verify(periodicalDao, never()).findOneById(anyLong());
+
+        periodicalService.updateAndSetDiscarded(periodical);
+        periodicalService.findAll();
+        verify(periodicalDao, times(2)).findAll();
     }
 
     @Test
@@ -21,7 +21,10 @@ import java.util.ArrayList;
 import java.util.List;
 
 import static org.junit.Assert.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
 import static org.mockito.Mockito.atLeastOnce;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
@@ -74,4 +77,22 @@ public class SubscriptionServiceImplTest {
 
         verify(subscriptionDao).findAllByUser(user);
     }
+
+    @Test
+    public void findAllByUserId_Should_ReturnExpiredSubscriptionAsInactive_WithoutUpdate() throws Exception {
+        subscription.setStatus(Subscription.Status.ACTIVE);
+        subscription.setEndDate(Instant.now().minusSeconds(60));
+
+        subscriptionService.findAllByUserId(USER_ID);
+
+        assertEquals(Subscription.Status.INACTIVE, subscription.getStatus());
+        verify(subscriptionDao, never()).updateById(any(), any());
+    }
+
+    @Test
+    public void deactivateExpired_Should_ReturnNumberOfDeactivatedSubscriptions() throws Exception {
+        when(subscriptionDao.deactivateExpired(any(), anyInt())).thenReturn(2);
+
+        assertEquals(2, subscriptionService.deactivateExpired());
+    }
 }
@@ -55,17 +55,17 @@ public class UserServiceImplTest {
     }
 
     @Test
-    public void findOneUserByUserName_Should_SetRolesAndReturnCorrectUser() throws Exception {
+    public void findOneUserByUserName_Should_ReturnUserWithRole_WithoutRoleQuery() throws Exception {
         User user = mock(User.class);
         when(userDao.findOneByUserName(TEST_USERNAME)).thenReturn(user);
 
         assertEquals(user, userService.findOneUserByUserName(TEST_USERNAME));
 
-        verify(user).setRole(any());
+        verify(roleDao, never()).findRoleByUserName(any());
     }
 
     @Test
-    public void findOneUserById_Should_SetRolesAndReturnCorrectUser() throws Exception{
+    public void findOneUserById_Should_ReturnUserWithRole_WithoutRoleQuery() throws Exception{
         User user = mock(User.class);
         long id = 1;
 
@@ -73,11 +73,11 @@ public class UserServiceImplTest {
 
         assertEquals(user, userService.findOneById(id));
 
-        verify(user).setRole(any());
+        verify(roleDao, never()).findRoleByUserName(any());
     }
 
     @Test
-    public void findAllUsers_Should_SetRolesAndReturnCorrectUser() throws Exception {
+    public void findAllUsers_Should_ReturnUsersWithRoles_WithOneQuery() throws Exception {
         List<User> users = new ArrayList<>();
 
         User user = mock(User.class);
@@ -92,9 +92,8 @@ public class UserServiceImplTest {
 
         assertEquals(users, userService.findAll());
 
-        verify(user, atLeastOnce()).setRole(any());
-        verify(user2, atLeastOnce()).setRole(any());
-        verify(user3, atLeastOnce()).setRole(any());
+        verify(userDao, times(1)).findAll();
+        verify(roleDao, never()).findRoleByUserName(any());
     }
 
     @Test
@@ -38,6 +38,10 @@ CREATE TABLE IF NOT EXISTS `periodicals_test_db`.`periodicals` (
 
 CREATE UNIQUE INDEX `name_UNIQUE` ON `periodicals_test_db`.`periodicals` (`name` ASC);
 
+CREATE INDEX `status_id_idx` ON `periodicals_test_db`.`periodicals` (`status` ASC, `id` ASC);
+
+CREATE INDEX `category_status_idx` ON `periodicals_test_db`.`periodicals` (`category` ASC, `status` ASC);
+
 
 -- -----------------------------------------------------
 -- Table `periodicals_test_db`.`users`
@@ -62,6 +66,8 @@ CREATE UNIQUE INDEX `email` ON `periodicals_test_db`.`users` (`email` ASC);
 
 CREATE UNIQUE INDEX `username_UNIQUE` ON `periodicals_test_db`.`users` (`username` ASC);
 
+CREATE INDEX `status_id_idx` ON `periodicals_test_db`.`users` (`status` ASC, `id` ASC);
+
 
 -- -----------------------------------------------------
 -- Table `periodicals_test_db`.`invoices`
@@ -96,6 +102,10 @@ CREATE INDEX `u_invoice_fk_idx` ON `periodicals_test_db`.`invoices` (`user_id` A
 
 CREATE INDEX `p_invoice_fk_idx` ON `periodicals_test_db`.`invoices` (`periodical_id` ASC);
 
+CREATE INDEX `status_payment_date_idx` ON `periodicals_test_db`.`invoices` (`status` ASC, `payment_date` ASC);
+
+CREATE INDEX `creation_date_idx` ON `periodicals_test_db`.`invoices` (`creation_date` ASC);
+
 
 -- -----------------------------------------------------
 -- Table `periodicals_test_db`.`subscriptions`
@@ -124,9 +134,11 @@ CREATE TABLE IF NOT EXISTS `periodicals_test_db`.`subscriptions` (
   AUTO_INCREMENT = 5
   DEFAULT CHARACTER SET = utf8;
 
-CREATE INDEX `periodicalId_fk_idx` ON `periodicals_test_db`.`subscriptions` (`periodical_id` ASC);
+CREATE INDEX `periodical_status_idx` ON `periodicals_test_db`.`subscriptions` (`periodical_id` ASC, `status` ASC);
+
+CREATE UNIQUE INDEX `user_periodical_UNIQUE` ON `periodicals_test_db`.`subscriptions` (`user_id` ASC, `periodical_id` ASC);
 
-CREATE INDEX `userId_fk_idx` ON `periodicals_test_db`.`subscriptions` (`user_id` ASC);
+CREATE INDEX `status_end_date_idx` ON `periodicals_test_db`.`subscriptions` (`status` ASC, `end_date` ASC);
 
 
 -- -----------------------------------------------------
@@ -149,6 +161,23 @@ CREATE TABLE IF NOT EXISTS `periodicals_test_db`.`user_roles` (
 CREATE INDEX `user_id_idx` ON `periodicals_test_db`.`user_roles` (`user_id` ASC);
 
 
+-- -----------------------------------------------------
+-- Table `periodicals_test_db`.`daily_revenue`
+-- -----------------------------------------------------
+DROP TABLE IF EXISTS `periodicals_test_db`.`daily_revenue` ;
+
+CREATE TABLE IF NOT EXISTS `periodicals_test_db`.`daily_revenue` (
+  `day` DATE NOT NULL,
+  `category` VARCHAR(45) NOT NULL,
+  `created_sum` BIGINT(20) NOT NULL DEFAULT 0,
+  `created_count` INT(11) NOT NULL DEFAULT 0,
+  `paid_sum` BIGINT(20) NOT NULL DEFAULT 0,
+  `paid_count` INT(11) NOT NULL DEFAULT 0,
+  PRIMARY KEY (`day`, `category`))
+  ENGINE = InnoDB
+  DEFAULT CHARACTER SET = utf8;
+
+
 SET SQL_MODE=@OLD_SQL_MODE;
 SET FOREIGN_KEY_CHECKS=@OLD_FOREIGN_KEY_CHECKS;
 SET UNIQUE_CHECKS=@OLD_UNIQUE_CHECKS;